@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2015 Erik Torres
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.github.etorres.codexposed.benchmarks;
+
+import static com.google.common.collect.Lists.newArrayListWithCapacity;
+import static com.google.common.collect.Maps.newHashMapWithExpectedSize;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.github.etorres.codexposed.ArgValidator;
+
+/**
+ * Compares the strategies used by {@link ArgValidator} to defensively copy the collections passed as arguments: unmodifiable views,
+ * Guava immutable copies and standard mutable copies. Each benchmark is measured in throughput and in sample time mode, which reports
+ * the latency percentiles. Run the main method of this class (or pass <code>-prof gc</code> to the benchmarks jar) to include the
+ * allocation rate measured by the GC profiler.
+ * @author Erik Torres <etserrano@gmail.com>
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ArgValidatorBenchmark {
+
+	@Param({ "0", "10", "1000", "100000" })
+	public int size;
+
+	private final ArgValidator validator = new ArgValidator();
+
+	private List<String> required;
+	private List<String> optional;
+	private Map<String, String> requiredMap;
+	private Map<String, String> optionalMap;
+
+	@Setup
+	public void setup() {
+		required = newArrayListWithCapacity(size);
+		optional = newArrayListWithCapacity(size);
+		requiredMap = newHashMapWithExpectedSize(size);
+		optionalMap = newHashMapWithExpectedSize(size);
+		for (int i = 0; i < size; i++) {
+			required.add("required" + i);
+			optional.add("optional" + i);
+			requiredMap.put("required" + i, "value" + i);
+			optionalMap.put("optional" + i, "value" + i);
+		}
+	}
+
+	@Benchmark
+	public List<String> listParams() {
+		return validator.listParams(required, optional);
+	}
+
+	@Benchmark
+	public List<String> immutableListParams() {
+		return validator.immutableListParams(required, optional);
+	}
+
+	@Benchmark
+	public List<String> mutableListParams() {
+		return validator.mutableListParams(required, optional);
+	}
+
+	@Benchmark
+	public List<String> lazyListParams() {
+		return validator.lazyListParams(required, optional);
+	}
+
+	@Benchmark
+	public Map<String, String> mapParams() {
+		return validator.mapParams(requiredMap, optionalMap);
+	}
+
+	@Benchmark
+	public String lazyMapParams() {
+		return validator.lazyMapParams(requiredMap, optionalMap).get("required0");
+	}
+
+	@Benchmark
+	public Map<String, String> immutableMapParams() {
+		return validator.immutableMapParams(requiredMap, optionalMap);
+	}
+
+	@Benchmark
+	public Map<String, String> mutableMapParams() {
+		return validator.mutableMapParams(requiredMap, optionalMap);
+	}
+
+	/**
+	 * Runs this benchmark with the GC profiler enabled.
+	 * @param args - arguments are ignored
+	 * @throws RunnerException When the benchmark fails to run.
+	 */
+	public static void main(final String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder()
+			.include(ArgValidatorBenchmark.class.getSimpleName())
+			.addProfiler(GCProfiler.class)
+			.build()).run();
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2015 Erik Torres
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.etorres.codexposed.benchmarks;
+
+import static com.google.common.collect.Lists.newArrayListWithCapacity;
+import static com.google.common.collect.Maps.newHashMapWithExpectedSize;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.github.etorres.codexposed.ArgValidator;
+
+/**
+ * Measures how the bulk methods of {@link ArgValidator} scale with the number of threads of the fork-join pool. A parallelism of 0 runs
+ * the methods in the calling thread, which is the baseline of the comparison.
+ * @author Erik Torres <etserrano@gmail.com>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class ArgValidatorParallelBenchmark {
+
+	@Param({ "0", "1", "2", "4", "8" })
+	public int parallelism;
+
+	@Param({ "100000", "1000000" })
+	public int size;
+
+	private ForkJoinPool pool;
+	private ArgValidator validator;
+
+	private List<String> required;
+	private List<String> optional;
+	private Map<String, String> requiredMap;
+	private Map<String, String> optionalMap;
+
+	@Setup
+	public void setup() {
+		pool = parallelism > 0 ? new ForkJoinPool(parallelism) : null;
+		validator = new ArgValidator(pool, parallelism > 0 ? 0 : Integer.MAX_VALUE);
+		required = newArrayListWithCapacity(size);
+		optional = newArrayListWithCapacity(size);
+		requiredMap = newHashMapWithExpectedSize(size);
+		optionalMap = newHashMapWithExpectedSize(size);
+		for (int i = 0; i < size; i++) {
+			required.add(" required" + i + " ");
+			optional.add(" optional" + i + " ");
+			requiredMap.put("required" + i, " value" + i + " ");
+			optionalMap.put("optional" + i, " value" + i + " ");
+		}
+	}
+
+	@TearDown
+	public void tearDown() {
+		if (pool != null) {
+			pool.shutdown();
+		}
+	}
+
+	@Benchmark
+	public List<String> bulkListParams() {
+		return validator.bulkListParams(required, optional);
+	}
+
+	@Benchmark
+	public Map<String, String> bulkMapParams() {
+		return validator.bulkMapParams(requiredMap, optionalMap);
+	}
+
+}
\ No newline at end of file
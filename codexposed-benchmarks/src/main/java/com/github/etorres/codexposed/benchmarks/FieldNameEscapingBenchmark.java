@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2015 Erik Torres
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.etorres.codexposed.benchmarks;
+
+import static com.github.etorres.codexposed.MongoDBSafeKey.escapeFieldName;
+import static com.github.etorres.codexposed.MongoDBSafeKey.unescapeFieldName;
+import static com.github.etorres.codexposed.benchmarks.FieldNames.fieldNames;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the average time needed to escape and unescape a field name with {@link com.github.etorres.codexposed.MongoDBSafeKey}.
+ * @author Erik Torres <etserrano@gmail.com>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FieldNameEscapingBenchmark {
+
+	private static final int NAME_COUNT = 1024;
+	private static final int MASK = NAME_COUNT - 1;
+
+	@Param({ "8", "32", "256" })
+	public int keyLength;
+
+	@Param({ "0.0", "0.1", "0.5" })
+	public double specialRatio;
+
+	private String[] names;
+	private String[] escapedNames;
+	private int index;
+
+	@Setup
+	public void setup() {
+		names = fieldNames(NAME_COUNT, keyLength, specialRatio);
+		escapedNames = new String[NAME_COUNT];
+		for (int i = 0; i < NAME_COUNT; i++) {
+			escapedNames[i] = escapeFieldName(names[i]);
+		}
+	}
+
+	@Benchmark
+	public String escape() {
+		return escapeFieldName(names[index++ & MASK]);
+	}
+
+	@Benchmark
+	public String unescape() {
+		return unescapeFieldName(escapedNames[index++ & MASK]);
+	}
+
+	@Benchmark
+	public void roundTrip(final Blackhole blackhole) {
+		blackhole.consume(unescapeFieldName(escapeFieldName(names[index++ & MASK])));
+	}
+
+}
\ No newline at end of file
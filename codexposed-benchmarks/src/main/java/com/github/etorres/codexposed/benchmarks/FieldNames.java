@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2015 Erik Torres
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.etorres.codexposed.benchmarks;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.util.Random;
+
+/**
+ * Generates the field names that are used as input of the benchmarks. Names are generated from a fixed seed, so that every run of a
+ * benchmark measures the same input.
+ * @author Erik Torres <etserrano@gmail.com>
+ */
+final class FieldNames {
+
+	private static final long SEED = 20150425L;
+
+	private static final char[] SPECIAL_CHARS = { '$', '.' };
+	private static final char[] REGULAR_CHARS = "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789_-".toCharArray();
+
+	private FieldNames() {
+	}
+
+	/**
+	 * Creates a set of distinct, non-blank field names.
+	 * @param count - number of names to be created
+	 * @param length - length of each name
+	 * @param specialRatio - share of the characters of each name that are restricted in mongoDB field names (i.e. '$' and '.'), from 0.0
+	 *        to 1.0
+	 * @return An array with the generated names.
+	 */
+	static String[] fieldNames(final int count, final int length, final double specialRatio) {
+		checkArgument(count >= 0, "Uninitialized or invalid count");
+		checkArgument(length >= 8, "Length should be at least 8 characters long, so that names are distinct and non-blank");
+		checkArgument(specialRatio >= 0.0d && specialRatio <= 1.0d, "Ratio should be between 0.0 and 1.0");
+		final Random random = new Random(SEED);
+		final String[] names = new String[count];
+		final char[] chars = new char[length];
+		for (int i = 0; i < count; i++) {
+			// the first characters hold a unique suffix, which prevents collisions between generated names
+			final String suffix = Integer.toString(i, Character.MAX_RADIX);
+			final int prefixLength = length - suffix.length() - 1;
+			chars[0] = REGULAR_CHARS[random.nextInt(26)];
+			for (int j = 1; j < prefixLength; j++) {
+				chars[j] = random.nextDouble() < specialRatio ? SPECIAL_CHARS[random.nextInt(SPECIAL_CHARS.length)]
+						: REGULAR_CHARS[random.nextInt(REGULAR_CHARS.length)];
+			}
+			chars[prefixLength] = '_';
+			suffix.getChars(0, suffix.length(), chars, prefixLength + 1);
+			names[i] = new String(chars);
+		}
+		return names;
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2015 Erik Torres
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.etorres.codexposed.benchmarks;
+
+import static com.github.etorres.codexposed.MongoDBSafeKey.escapeMapKey;
+import static com.github.etorres.codexposed.benchmarks.FieldNames.fieldNames;
+import static com.github.etorres.codexposed.jackson.MongoDBJsonMapper.JSON_MAPPER;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.github.etorres.codexposed.MongoDBSafeKey;
+import com.github.etorres.codexposed.MongoDBSafeMap;
+
+/**
+ * Measures the average time needed to serialize and deserialize a {@link MongoDBSafeMap} with the JSON mapper of this module.
+ * @author Erik Torres <etserrano@gmail.com>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonMapperBenchmark {
+
+	@Param({ "8", "64" })
+	public int keyLength;
+
+	@Param({ "0.0", "0.1", "0.5" })
+	public double specialRatio;
+
+	@Param({ "16", "1024" })
+	public int mapSize;
+
+	private MongoDBSafeMap<MongoDBSafeKey, String> safeMap;
+	private String payload;
+
+	@Setup
+	public void setup() throws IOException {
+		final String[] names = fieldNames(mapSize, keyLength, specialRatio);
+		safeMap = new MongoDBSafeMap<>();
+		for (int i = 0; i < mapSize; i++) {
+			safeMap.put(escapeMapKey(names[i]), names[i]);
+		}
+		payload = JSON_MAPPER.writeValueAsString(safeMap);
+	}
+
+	@Benchmark
+	public String serialize() throws IOException {
+		return JSON_MAPPER.writeValueAsString(safeMap);
+	}
+
+	@Benchmark
+	public MongoDBSafeMap<?, ?> deserialize() throws IOException {
+		return JSON_MAPPER.readValue(payload, MongoDBSafeMap.class);
+	}
+
+	@Benchmark
+	public MongoDBSafeMap<?, ?> roundTrip() throws IOException {
+		return JSON_MAPPER.readValue(JSON_MAPPER.writeValueAsString(safeMap), MongoDBSafeMap.class);
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2015 Erik Torres
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.etorres.codexposed.benchmarks;
+
+import static com.github.etorres.codexposed.MongoDBSafeKey.escapeMapKey;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.github.etorres.codexposed.MongoDBSafeKey;
+import com.github.etorres.codexposed.MongoDBSafeMap;
+import com.github.etorres.codexposed.MongoDBSafeMap.Backing;
+
+/**
+ * Compares the throughput of the {@link MongoDBSafeMap} operations with the different implementations of the wrapped map.
+ * @author Erik Torres <etserrano@gmail.com>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MongoDBSafeMapBackingBenchmark {
+
+	@Param({ "HASHTABLE", "HASH_MAP", "CONCURRENT", "OPEN_ADDRESSING", "COMPACT" })
+	public Backing backing;
+
+	@Param({ "16", "1024" })
+	public int mapSize;
+
+	private MongoDBSafeKey[] keys;
+	private MongoDBSafeMap<MongoDBSafeKey, String> safeMap;
+
+	@Setup
+	public void setup() {
+		keys = new MongoDBSafeKey[mapSize];
+		safeMap = new MongoDBSafeMap<>(backing);
+		for (int i = 0; i < mapSize; i++) {
+			keys[i] = escapeMapKey("$field." + i);
+			safeMap.put(keys[i], "value" + i);
+		}
+	}
+
+	@Benchmark
+	public MongoDBSafeMap<MongoDBSafeKey, String> put() {
+		final MongoDBSafeMap<MongoDBSafeKey, String> safeMap2 = new MongoDBSafeMap<>(backing);
+		for (int i = 0; i < keys.length; i++) {
+			safeMap2.put(keys[i], "value");
+		}
+		return safeMap2;
+	}
+
+	@Benchmark
+	public void get(final Blackhole blackhole) {
+		for (int i = 0; i < keys.length; i++) {
+			blackhole.consume(safeMap.get(keys[i]));
+		}
+	}
+
+	@Benchmark
+	@Threads(4)
+	public void getContended(final Blackhole blackhole) {
+		for (int i = 0; i < keys.length; i++) {
+			blackhole.consume(safeMap.get(keys[i]));
+		}
+	}
+
+}
\ No newline at end of file
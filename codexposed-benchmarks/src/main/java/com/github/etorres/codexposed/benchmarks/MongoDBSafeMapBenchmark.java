@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2015 Erik Torres
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.etorres.codexposed.benchmarks;
+
+import static com.github.etorres.codexposed.MongoDBSafeKey.escapeMapKey;
+import static com.github.etorres.codexposed.benchmarks.FieldNames.fieldNames;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.github.etorres.codexposed.MongoDBSafeKey;
+import com.github.etorres.codexposed.MongoDBSafeMap;
+
+/**
+ * Measures the average time needed to complete the most frequent operations of {@link MongoDBSafeMap} with the default backing. Every
+ * operation visits all the keys of the map, so results should be compared between runs with the same map size.
+ * @author Erik Torres <etserrano@gmail.com>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MongoDBSafeMapBenchmark {
+
+	@Param({ "8", "64" })
+	public int keyLength;
+
+	@Param({ "0.0", "0.1", "0.5" })
+	public double specialRatio;
+
+	@Param({ "16", "1024" })
+	public int mapSize;
+
+	private String[] names;
+	private MongoDBSafeKey[] keys;
+	private MongoDBSafeMap<MongoDBSafeKey, String> safeMap;
+
+	@Setup
+	public void setup() {
+		names = fieldNames(mapSize, keyLength, specialRatio);
+		keys = new MongoDBSafeKey[mapSize];
+		safeMap = new MongoDBSafeMap<>();
+		for (int i = 0; i < mapSize; i++) {
+			keys[i] = escapeMapKey(names[i]);
+			safeMap.put(keys[i], names[i]);
+		}
+	}
+
+	@Benchmark
+	public MongoDBSafeMap<MongoDBSafeKey, String> put() {
+		final MongoDBSafeMap<MongoDBSafeKey, String> safeMap2 = new MongoDBSafeMap<>();
+		for (int i = 0; i < names.length; i++) {
+			safeMap2.put(escapeMapKey(names[i]), names[i]);
+		}
+		return safeMap2;
+	}
+
+	@Benchmark
+	public void get(final Blackhole blackhole) {
+		for (int i = 0; i < keys.length; i++) {
+			blackhole.consume(safeMap.get(keys[i]));
+		}
+	}
+
+	@Benchmark
+	public void getUnescaped(final Blackhole blackhole) {
+		for (int i = 0; i < names.length; i++) {
+			blackhole.consume(safeMap.getUnescaped(names[i]));
+		}
+	}
+
+	@Benchmark
+	public Map<String, Object> toMap() {
+		return safeMap.toMap();
+	}
+
+	@Benchmark
+	public void asMap(final Blackhole blackhole) {
+		for (final Map.Entry<String, Object> entry : safeMap.asMap().entrySet()) {
+			blackhole.consume(entry);
+		}
+	}
+
+}
\ No newline at end of file
@@ -16,13 +16,12 @@
 
 package com.github.etorres.codexposed;
 
-import static com.google.common.base.Joiner.on;
 import static com.google.common.base.Optional.fromNullable;
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 import static com.google.common.collect.Iterables.concat;
 import static com.google.common.collect.Lists.newArrayList;
-import static com.google.common.collect.Ordering.natural;
+import static java.util.Arrays.sort;
 import static java.util.Collections.unmodifiableList;
 import static java.util.Collections.unmodifiableMap;
 import static org.apache.commons.lang3.StringUtils.trim;
@@ -32,21 +31,81 @@ import java.util.Collections;
 import java.util.Hashtable;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
 
 import javax.annotation.Nullable;
 
+import com.github.etorres.codexposed.ValidationPlan.ElementConstraint;
+import com.github.etorres.codexposed.ValidationPlan.Type;
+import com.github.etorres.codexposed.collect.ConcatenatedList;
+import com.github.etorres.codexposed.collect.OverlayMap;
+import com.github.etorres.codexposed.collect.ParallelMerge;
+import com.github.etorres.codexposed.metrics.Metrics;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Lists;
 
 /**
- * Sample class demonstrating the validation of input parameters to class methods.
+ * Sample class demonstrating the validation of input parameters to class methods. When the {@link Metrics metrics are enabled}, calls,
+ * rejections and latency of the methods are recorded in {@link ValidationMetrics}.
  * @author Erik Torres <etserrano@gmail.com>
  */
 public class ArgValidator {
 
 	public static final String DEFAULT_VALUE = "default";
 
+	/**
+	 * Validates the same parameters as {@link #stringParams2(String, String)}. Use {@link ValidationPlan#validateAll(Object[][])} to
+	 * validate large batches of records without throwing exceptions.
+	 */
+	public static final ValidationPlan STRING_PARAMS2_PLAN = ValidationPlan.builder()
+			.required("required", Type.STRING).trim().allowEmpty(false)
+			.optional("optional", Type.STRING).trim().allowEmpty(false).defaultValue(DEFAULT_VALUE)
+			.build();
+
+	/**
+	 * Validates the same parameters as {@link #listParams2(List, List)}. Use {@link ValidationPlan#validateAll(Object[][])} to 
+	 * validate large batches of records without throwing exceptions.
+	 */
+	public static final ValidationPlan LIST_PARAMS2_PLAN = ValidationPlan.builder()
+			.required("required", Type.LIST).allowEmpty(false)
+			.optional("optional", Type.LIST)
+			.build();
+
+	/**
+	 * Validates the same parameters as {@link #mapParams2(Map, Map)}. Use {@link ValidationPlan#validateAll(Object[][])} to validate 
+	 * large batches of records without throwing exceptions.
+	 */
+	public static final ValidationPlan MAP_PARAMS2_PLAN = ValidationPlan.builder()
+			.required("required", Type.MAP).allowEmpty(false).elements(ElementConstraint.NOT_NULL)
+			.optional("optional", Type.MAP).elements(ElementConstraint.NOT_NULL)
+			.build();
+
+	/**
+	 * Minimum number of elements that triggers the parallel execution of the bulk methods, unless otherwise specified.
+	 */
+	public static final int DEFAULT_PARALLEL_THRESHOLD = 100000;
+
+	private final ParallelMerge merger;
+
+	/**
+	 * Creates a new validator where the bulk methods run in the shared fork-join pool when the parameters contain at least
+	 * {@link #DEFAULT_PARALLEL_THRESHOLD} elements.
+	 */
+	public ArgValidator() {
+		this(null, DEFAULT_PARALLEL_THRESHOLD);
+	}
+
+	/**
+	 * Creates a new validator with the specified configuration of the bulk methods.
+	 * @param pool - (optional) pool where the bulk methods run in parallel, the shared pool is used when no pool is specified
+	 * @param parallelThreshold - minimum number of elements that triggers the parallel execution of the bulk methods
+	 * @see ParallelMerge#sharedPool()
+	 */
+	public ArgValidator(final @Nullable ForkJoinPool pool, final int parallelThreshold) {
+		this.merger = new ParallelMerge(pool, parallelThreshold);
+	}
+
 	/**
 	 * Example: set valid values to method parameters.
 	 * @param required - required parameter, empty string is allowed
@@ -55,10 +114,15 @@ public class ArgValidator {
 	 * @throws NullPointerException When a required parameter has <code>null</code> value.
 	 */
 	public String stringParams(final String required, final @Nullable String optional) {		
-		final String required2 = checkNotNull(trim(required), "Uninitialized or invalid value");
-		final String optional2 = fromNullable(trimToNull(optional)).or(DEFAULT_VALUE);
-		// operate on the canonicalized version of the parameters
-		return on(',').skipNulls().join(natural().nullsFirst().sortedCopy(newArrayList(required2, optional2)));
+		final long start = Metrics.ENABLED ? System.nanoTime() : 0L;
+		try {
+			final String required2 = checkNotNull(trim(required), "Uninitialized or invalid value");
+			final String optional2 = fromNullable(trimToNull(optional)).or(DEFAULT_VALUE);
+			// operate on the canonicalized version of the parameters
+			return accepted(joinSorted(required2, optional2), start);
+		} catch (RuntimeException e) {
+			throw rejected(e, start);
+		}
 	}
 
 	/**
@@ -70,11 +134,47 @@ public class ArgValidator {
 	 * @throws IllegalArgumentException When a required parameter is blank or empty.
 	 */
 	public String stringParams2(final String required, final @Nullable String optional) {		
-		final String required2 = checkNotNull(trim(required), "Uninitialized value");
-		checkArgument(!required2.isEmpty(), "Empty string is not allowed");
-		final String optional2 = fromNullable(trimToNull(optional)).or(DEFAULT_VALUE);
-		// operate on the canonicalized version of the parameters
-		return on(',').skipNulls().join(natural().nullsFirst().sortedCopy(newArrayList(required2, optional2)));
+		final long start = Metrics.ENABLED ? System.nanoTime() : 0L;
+		try {
+			final String required2 = checkNotNull(trim(required), "Uninitialized value");
+			checkArgument(!required2.isEmpty(), "Empty string is not allowed");
+			final String optional2 = fromNullable(trimToNull(optional)).or(DEFAULT_VALUE);
+			// operate on the canonicalized version of the parameters
+			return accepted(joinSorted(required2, optional2), start);
+		} catch (RuntimeException e) {
+			throw rejected(e, start);
+		}
+	}
+
+	/**
+	 * Example: set valid values to method parameters. Generalizes {@link #stringParams(String, String)} to any number of optional
+	 * parameters.
+	 * @param required - required parameter, empty string is allowed
+	 * @param optional - optional parameters, each <code>null</code> or blank value is replaced with the default value
+	 * @return A string combining all input parameters in lexicographical order.
+	 * @throws NullPointerException When a required parameter has <code>null</code> value.
+	 */
+	public String multiStringParams(final String required, final @Nullable String... optional) {
+		final long start = Metrics.ENABLED ? System.nanoTime() : 0L;
+		try {
+			final int count = optional != null ? optional.length : 0;
+			final String[] params = new String[count + 1];
+			params[0] = checkNotNull(trim(required), "Uninitialized or invalid value");
+			int length = params[0].length() + count;
+			for (int i = 0; i < count; i++) {
+				params[i + 1] = fromNullable(trimToNull(optional[i])).or(DEFAULT_VALUE);
+				length += params[i + 1].length();
+			}
+			// operate on the canonicalized version of the parameters
+			sort(params);
+			final StringBuilder builder = new StringBuilder(length).append(params[0]);
+			for (int i = 1; i < params.length; i++) {
+				builder.append(',').append(params[i]);
+			}
+			return accepted(builder.toString(), start);
+		} catch (RuntimeException e) {
+			throw rejected(e, start);
+		}
 	}
 
 	/**
@@ -85,10 +185,15 @@ public class ArgValidator {
 	 * @throws NullPointerException When a required parameter has <code>null</code> value.
 	 */
 	public List<String> listParams(final List<String> required, final @Nullable List<String> optional) {
-		final List<String> required2 = unmodifiableList(checkNotNull(required, "Uninitialized list"));
-		final List<String> optional2 = (optional != null ? unmodifiableList(optional) : Collections.<String>emptyList());
-		// operate on the canonicalized version of the parameters
-		return newArrayList(concat(required2, optional2));
+		final long start = Metrics.ENABLED ? System.nanoTime() : 0L;
+		try {
+			final List<String> required2 = unmodifiableList(checkNotNull(required, "Uninitialized list"));
+			final List<String> optional2 = (optional != null ? unmodifiableList(optional) : Collections.<String>emptyList());
+			// operate on the canonicalized version of the parameters
+			return accepted(newArrayList(concat(required2, optional2)), start);
+		} catch (RuntimeException e) {
+			throw rejected(e, start);
+		}
 	}
 
 	/**
@@ -100,11 +205,16 @@ public class ArgValidator {
 	 * @throws IllegalArgumentException When a required parameter is empty.
 	 */
 	public List<String> listParams2(final List<String> required, final @Nullable List<String> optional) {
-		final List<String> required2 = unmodifiableList(checkNotNull(required, "Uninitialized list"));
-		checkArgument(!required2.isEmpty(), "Empty list is not allowed");
-		final List<String> optional2 = (optional != null ? unmodifiableList(optional) : Collections.<String>emptyList());
-		// operate on the canonicalized version of the parameters
-		return newArrayList(concat(required2, optional2));
+		final long start = Metrics.ENABLED ? System.nanoTime() : 0L;
+		try {
+			final List<String> required2 = unmodifiableList(checkNotNull(required, "Uninitialized list"));
+			checkArgument(!required2.isEmpty(), "Empty list is not allowed");
+			final List<String> optional2 = (optional != null ? unmodifiableList(optional) : Collections.<String>emptyList());
+			// operate on the canonicalized version of the parameters
+			return accepted(newArrayList(concat(required2, optional2)), start);
+		} catch (RuntimeException e) {
+			throw rejected(e, start);
+		}
 	}
 
 	/**
@@ -115,10 +225,15 @@ public class ArgValidator {
 	 * @throws NullPointerException When a required parameter has <code>null</code> value.
 	 */
 	public List<String> immutableListParams(final List<String> required, final @Nullable List<String> optional) {
-		final ImmutableList<String> required2 = ImmutableList.copyOf(checkNotNull(required, "Uninitialized list"));
-		final ImmutableList<String> optional2 = (optional != null ? ImmutableList.copyOf(optional) : ImmutableList.<String>of());
-		// operate on the canonicalized version of the parameters
-		return newArrayList(concat(required2, optional2));
+		final long start = Metrics.ENABLED ? System.nanoTime() : 0L;
+		try {
+			final ImmutableList<String> required2 = ImmutableList.copyOf(checkNotNull(required, "Uninitialized list"));
+			final ImmutableList<String> optional2 = (optional != null ? ImmutableList.copyOf(optional) : ImmutableList.<String>of());
+			// operate on the canonicalized version of the parameters
+			return accepted(newArrayList(concat(required2, optional2)), start);
+		} catch (RuntimeException e) {
+			throw rejected(e, start);
+		}
 	}
 
 	/**
@@ -129,10 +244,80 @@ public class ArgValidator {
 	 * @throws NullPointerException When a required parameter has <code>null</code> value.
 	 */
 	public List<String> mutableListParams(final List<String> required, final @Nullable List<String> optional) {
-		final List<String> required2 = newArrayList(checkNotNull(required, "Uninitialized list"));
-		final List<String> optional2 = (optional != null ? newArrayList(optional) : Lists.<String>newArrayList());
-		// operate on the canonicalized version of the parameters
-		return newArrayList(concat(required2, optional2));
+		final long start = Metrics.ENABLED ? System.nanoTime() : 0L;
+		try {
+			final List<String> required2 = newArrayList(checkNotNull(required, "Uninitialized list"));
+			final List<String> optional2 = (optional != null ? newArrayList(optional) : Lists.<String>newArrayList());
+			// operate on the canonicalized version of the parameters
+			return accepted(newArrayList(concat(required2, optional2)), start);
+		} catch (RuntimeException e) {
+			throw rejected(e, start);
+		}
+	}
+
+	/**
+	 * Example: set valid values to method parameters. Internally uses Java unmodifiable lists and returns a view instead of a copy, which
+	 * is created in constant time regardless of the size of the parameters. The elements are copied only when the returned list is
+	 * modified for the first time, and until then later changes to the parameters are visible through the returned list.
+	 * @param required - required parameter, empty list is allowed
+	 * @param optional - optional parameter
+	 * @return A list combining both input parameters.
+	 * @throws NullPointerException When a required parameter has <code>null</code> value.
+	 */
+	public List<String> lazyListParams(final List<String> required, final @Nullable List<String> optional) {
+		final long start = Metrics.ENABLED ? System.nanoTime() : 0L;
+		try {
+			final List<String> required2 = unmodifiableList(checkNotNull(required, "Uninitialized list"));
+			final List<String> optional2 = (optional != null ? unmodifiableList(optional) : Collections.<String>emptyList());
+			// operate on the canonicalized version of the parameters
+			return accepted(new ConcatenatedList<>(required2, optional2), start);
+		} catch (RuntimeException e) {
+			throw rejected(e, start);
+		}
+	}
+
+	/**
+	 * Example: set valid values to method parameters. Internally uses Java unmodifiable lists and returns a view instead of a copy.
+	 * @param required - required parameter, empty list is not allowed
+	 * @param optional - optional parameter
+	 * @return A list combining both input parameters.
+	 * @throws NullPointerException When a required parameter has <code>null</code> value.
+	 * @throws IllegalArgumentException When a required parameter is empty.
+	 * @see #lazyListParams(List, List)
+	 */
+	public List<String> lazyListParams2(final List<String> required, final @Nullable List<String> optional) {
+		final long start = Metrics.ENABLED ? System.nanoTime() : 0L;
+		try {
+			final List<String> required2 = unmodifiableList(checkNotNull(required, "Uninitialized list"));
+			checkArgument(!required2.isEmpty(), "Empty list is not allowed");
+			final List<String> optional2 = (optional != null ? unmodifiableList(optional) : Collections.<String>emptyList());
+			// operate on the canonicalized version of the parameters
+			return accepted(new ConcatenatedList<>(required2, optional2), start);
+		} catch (RuntimeException e) {
+			throw rejected(e, start);
+		}
+	}
+
+	/**
+	 * Example: set valid values to method parameters, where the parameters can contain millions of elements. Elements are trimmed and
+	 * checked for <code>null</code> values. When the parameters contain enough elements, the work is split between the threads of a 
+	 * fork-join pool.
+	 * @param required - required parameter, empty list is allowed
+	 * @param optional - optional parameter
+	 * @return A new list combining both input parameters.
+	 * @throws NullPointerException When a required parameter has <code>null</code> value, or when any of the parameters contains a 
+	 *         <code>null</code> element.
+	 */
+	public List<String> bulkListParams(final List<String> required, final @Nullable List<String> optional) {
+		final long start = Metrics.ENABLED ? System.nanoTime() : 0L;
+		try {
+			final List<String> required2 = checkNotNull(required, "Uninitialized list");
+			final List<String> optional2 = (optional != null ? optional : Collections.<String>emptyList());
+			// operate on the canonicalized version of the parameters
+			return accepted(merger.mergeLists(required2, optional2), start);
+		} catch (RuntimeException e) {
+			throw rejected(e, start);
+		}
 	}
 
 	/**
@@ -143,12 +328,17 @@ public class ArgValidator {
 	 * @throws NullPointerException When a required parameter has <code>null</code> value.
 	 */
 	public Map<String, String> mapParams(final Map<String, String> required, final @Nullable Map<String, String> optional) {
-		final Map<String, String> required2 = unmodifiableMap(checkNotNull(required, "Uninitialized map"));
-		final Map<String, String> optional2 = (optional != null ? unmodifiableMap(optional) : Collections.<String, String>emptyMap());
-		// operate on the canonicalized version of the parameters
-		final Map<String, String> response = new Hashtable<>(required2);
-		response.putAll(optional2);
-		return response;
+		final long start = Metrics.ENABLED ? System.nanoTime() : 0L;
+		try {
+			final Map<String, String> required2 = unmodifiableMap(checkNotNull(required, "Uninitialized map"));
+			final Map<String, String> optional2 = (optional != null ? unmodifiableMap(optional) : Collections.<String, String>emptyMap());
+			// operate on the canonicalized version of the parameters
+			final Map<String, String> response = new Hashtable<>(required2);
+			response.putAll(optional2);
+			return accepted(response, start);
+		} catch (RuntimeException e) {
+			throw rejected(e, start);
+		}
 	}
 
 	/**
@@ -160,13 +350,18 @@ public class ArgValidator {
 	 * @throws IllegalArgumentException When a required parameter is empty.
 	 */
 	public Map<String, String> mapParams2(final Map<String, String> required, final @Nullable Map<String, String> optional) {
-		final Map<String, String> required2 = unmodifiableMap(checkNotNull(required, "Uninitialized map"));
-		checkArgument(!required2.isEmpty(), "Empty map is not allowed");
-		final Map<String, String> optional2 = (optional != null ? unmodifiableMap(optional) : Collections.<String, String>emptyMap());
-		// operate on the canonicalized version of the parameters
-		final Map<String, String> response = new Hashtable<>(required2);
-		response.putAll(optional2);
-		return response;
+		final long start = Metrics.ENABLED ? System.nanoTime() : 0L;
+		try {
+			final Map<String, String> required2 = unmodifiableMap(checkNotNull(required, "Uninitialized map"));
+			checkArgument(!required2.isEmpty(), "Empty map is not allowed");
+			final Map<String, String> optional2 = (optional != null ? unmodifiableMap(optional) : Collections.<String, String>emptyMap());
+			// operate on the canonicalized version of the parameters
+			final Map<String, String> response = new Hashtable<>(required2);
+			response.putAll(optional2);
+			return accepted(response, start);
+		} catch (RuntimeException e) {
+			throw rejected(e, start);
+		}
 	}
 
 	/**
@@ -177,12 +372,17 @@ public class ArgValidator {
 	 * @throws NullPointerException When a required parameter has <code>null</code> value.
 	 */
 	public Map<String, String> immutableMapParams(final Map<String, String> required, final @Nullable Map<String, String> optional) {
-		final ImmutableMap<String, String> required2 = ImmutableMap.copyOf(checkNotNull(required, "Uninitialized list"));
-		final ImmutableMap<String, String> optional2 = (optional != null ? ImmutableMap.copyOf(optional) : ImmutableMap.<String, String>of());
-		// operate on the canonicalized version of the parameters
-		final Map<String, String> response = new Hashtable<>(required2);
-		response.putAll(optional2);
-		return response;		
+		final long start = Metrics.ENABLED ? System.nanoTime() : 0L;
+		try {
+			final ImmutableMap<String, String> required2 = ImmutableMap.copyOf(checkNotNull(required, "Uninitialized list"));
+			final ImmutableMap<String, String> optional2 = (optional != null ? ImmutableMap.copyOf(optional) : ImmutableMap.<String, String>of());
+			// operate on the canonicalized version of the parameters
+			final Map<String, String> response = new Hashtable<>(required2);
+			response.putAll(optional2);
+			return accepted(response, start);
+		} catch (RuntimeException e) {
+			throw rejected(e, start);
+		}
 	}
 
 	/**
@@ -193,12 +393,177 @@ public class ArgValidator {
 	 * @throws NullPointerException When a required parameter has <code>null</code> value.
 	 */
 	public Map<String, String> mutableMapParams(final Map<String, String> required, final @Nullable Map<String, String> optional) {
-		final Map<String, String> required2 = new Hashtable<>(checkNotNull(required, "Uninitialized list"));
-		final Map<String, String> optional2 = (optional != null ? new Hashtable<>(optional) : new Hashtable<String, String>());
+		final long start = Metrics.ENABLED ? System.nanoTime() : 0L;
+		try {
+			final Map<String, String> required2 = new Hashtable<>(checkNotNull(required, "Uninitialized list"));
+			final Map<String, String> optional2 = (optional != null ? new Hashtable<>(optional) : new Hashtable<String, String>());
+			// operate on the canonicalized version of the parameters
+			final Map<String, String> response = new Hashtable<>(required2);
+			response.putAll(optional2);
+			return accepted(response, start);
+		} catch (RuntimeException e) {
+			throw rejected(e, start);
+		}
+	}
+
+	/**
+	 * Example: set valid values to method parameters. Internally uses Java unmodifiable maps and returns an overlay of both parameters
+	 * instead of a copy, where the optional parameter shadows the required one. Lookups don't copy any mapping. The parameters are merged
+	 * only when the returned map is iterated or modified for the first time, and until then later changes to the parameters are visible
+	 * through the returned map. Unlike {@link #mapParams(Map, Map)}, the mappings are not copied to a {@link Hashtable}, therefore 
+	 * <code>null</code> keys and values are not rejected and are visible through the returned map.
+	 * @param required - required parameter, empty map is allowed
+	 * @param optional - optional parameter
+	 * @return A map combining both input parameters.
+	 * @throws NullPointerException When a required parameter has <code>null</code> value. <code>null</code> keys and values in the 
+	 *         parameters are accepted.
+	 */
+	public Map<String, String> lazyMapParams(final Map<String, String> required, final @Nullable Map<String, String> optional) {
+		final long start = Metrics.ENABLED ? System.nanoTime() : 0L;
+		try {
+			final Map<String, String> required2 = unmodifiableMap(checkNotNull(required, "Uninitialized map"));
+			final Map<String, String> optional2 = (optional != null ? unmodifiableMap(optional) : Collections.<String, String>emptyMap());
+			// operate on the canonicalized version of the parameters
+			return accepted(new OverlayMap<>(required2, optional2), start);
+		} catch (RuntimeException e) {
+			throw rejected(e, start);
+		}
+	}
+
+	/**
+	 * Example: set valid values to method parameters. Internally uses Java unmodifiable maps and returns an overlay of both parameters
+	 * instead of a copy. Unlike {@link #mapParams2(Map, Map)}, <code>null</code> keys and values are not rejected.
+	 * @param required - required parameter, empty map is not allowed
+	 * @param optional - optional parameter
+	 * @return A map combining both input parameters.
+	 * @throws NullPointerException When a required parameter has <code>null</code> value. <code>null</code> keys and values in the 
+	 *         parameters are accepted.
+	 * @throws IllegalArgumentException When a required parameter is empty.
+	 * @see #lazyMapParams(Map, Map)
+	 */
+	public Map<String, String> lazyMapParams2(final Map<String, String> required, final @Nullable Map<String, String> optional) {
+		final long start = Metrics.ENABLED ? System.nanoTime() : 0L;
+		try {
+			final Map<String, String> required2 = unmodifiableMap(checkNotNull(required, "Uninitialized map"));
+			checkArgument(!required2.isEmpty(), "Empty map is not allowed");
+			final Map<String, String> optional2 = (optional != null ? unmodifiableMap(optional) : Collections.<String, String>emptyMap());
+			// operate on the canonicalized version of the parameters
+			return accepted(new OverlayMap<>(required2, optional2), start);
+		} catch (RuntimeException e) {
+			throw rejected(e, start);
+		}
+	}
+
+	/**
+	 * Example: set valid values to method parameters, where the parameters can contain millions of mappings. Values are trimmed and 
+	 * checked for <code>null</code> values. When the parameters contain enough mappings, the work is split between the threads of a 
+	 * fork-join pool.
+	 * @param required - required parameter, empty map is allowed
+	 * @param optional - optional parameter
+	 * @return A new, thread-safe map combining both input parameters.
+	 * @throws NullPointerException When a required parameter has <code>null</code> value, or when any of the parameters contains a 
+	 *         <code>null</code> key or value.
+	 */
+	public Map<String, String> bulkMapParams(final Map<String, String> required, final @Nullable Map<String, String> optional) {
+		final long start = Metrics.ENABLED ? System.nanoTime() : 0L;
+		try {
+			final Map<String, String> required2 = checkNotNull(required, "Uninitialized map");
+			final Map<String, String> optional2 = (optional != null ? optional : Collections.<String, String>emptyMap());
+			// operate on the canonicalized version of the parameters
+			return accepted(merger.mergeMaps(required2, optional2), start);
+		} catch (RuntimeException e) {
+			throw rejected(e, start);
+		}
+	}
+
+	/**
+	 * Example: validate method parameters without throwing exceptions. Produces the same value as 
+	 * {@link #stringParams2(String, String)} when the parameters are valid.
+	 * @param required - required parameter, empty string is not allowed
+	 * @param optional - optional parameter
+	 * @return A result holding a string combining both input parameters in lexicographical order, or the error found in the parameters.
+	 */
+	public ValidationResult<String> tryStringParams2(final @Nullable String required, final @Nullable String optional) {
+		final ValidationResult<Object[]> result = STRING_PARAMS2_PLAN.tryValidate(required, optional);
+		if (!result.isValid()) {
+			return result.asError();
+		}
 		// operate on the canonicalized version of the parameters
-		final Map<String, String> response = new Hashtable<>(required2);
-		response.putAll(optional2);
-		return response;
-	}	
+		final Object[] params = result.value();
+		return ValidationResult.valid(joinSorted((String)params[0], (String)params[1]));
+	}
+
+	/**
+	 * Example: validate method parameters without throwing exceptions. Produces the same value as {@link #listParams2(List, List)}
+	 * when the parameters are valid.
+	 * @param required - required parameter, empty list is not allowed
+	 * @param optional - optional parameter
+	 * @return A result holding a new list combining both input parameters, or the error found in the parameters.
+	 */
+	@SuppressWarnings("unchecked")
+	public ValidationResult<List<String>> tryListParams2(final @Nullable List<String> required, final @Nullable List<String> optional) {
+		final ValidationResult<Object[]> result = LIST_PARAMS2_PLAN.tryValidate(required, optional);
+		if (!result.isValid()) {
+			return result.asError();
+		}
+		// operate on the canonicalized version of the parameters
+		final Object[] params = result.value();
+		return ValidationResult.<List<String>>valid(newArrayList(concat((List<String>)params[0], (List<String>)params[1])));
+	}
+
+	/**
+	 * Example: validate method parameters without throwing exceptions. Produces the same value as {@link #mapParams2(Map, Map)} when
+	 * the parameters are valid.
+	 * @param required - required parameter, empty map is not allowed
+	 * @param optional - optional parameter
+	 * @return A result holding a new map combining both input parameters, or the error found in the parameters. <code>null</code> keys 
+	 *         and values are reported as {@link ValidationError#INVALID_ELEMENT}.
+	 */
+	@SuppressWarnings("unchecked")
+	public ValidationResult<Map<String, String>> tryMapParams2(final @Nullable Map<String, String> required, 
+			final @Nullable Map<String, String> optional) {
+		final ValidationResult<Object[]> result = MAP_PARAMS2_PLAN.tryValidate(required, optional);
+		if (!result.isValid()) {
+			return result.asError();
+		}
+		// operate on the canonicalized version of the parameters
+		final Object[] params = result.value();
+		final Map<String, String> response = new Hashtable<>((Map<String, String>)params[0]);
+		response.putAll((Map<String, String>)params[1]);
+		return ValidationResult.valid(response);
+	}
+
+	/**
+	 * Joins two non-null strings in lexicographical order, separated by a comma. Produces the same output as sorting the strings in a
+	 * list and joining the list, but writes the result directly to a builder with the exact capacity.
+	 */
+	private static String joinSorted(final String str1, final String str2) {
+		final boolean ordered = str1.compareTo(str2) <= 0;
+		return new StringBuilder(str1.length() + str2.length() + 1)
+				.append(ordered ? str1 : str2)
+				.append(',')
+				.append(ordered ? str2 : str1)
+				.toString();
+	}
+
+	/**
+	 * Records an accepted call in the {@link ValidationMetrics validation metrics} when the metrics are enabled.
+	 */
+	private static <T> T accepted(final T value, final long startNanos) {
+		if (Metrics.ENABLED) {
+			ValidationMetrics.INSTANCE.record(null, startNanos);
+		}
+		return value;
+	}
+
+	/**
+	 * Records a rejected call in the {@link ValidationMetrics validation metrics} when the metrics are enabled.
+	 */
+	private static RuntimeException rejected(final RuntimeException e, final long startNanos) {
+		if (Metrics.ENABLED) {
+			ValidationMetrics.INSTANCE.recordRejection(e, startNanos);
+		}
+		return e;
+	}
 
 }
\ No newline at end of file
@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2015 Erik Torres
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.etorres.codexposed;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+import static com.google.common.base.Preconditions.checkElementIndex;
+
+import java.util.BitSet;
+
+/**
+ * Results of validating a batch of records with {@link ValidationPlan#validateAll(Object[][])}. Stores one bit per record, which is set
+ * when the record is valid, and the code of the error found in each invalid record (one byte per record).
+ * @author Erik Torres <etserrano@gmail.com>
+ */
+public final class BatchValidationResult {
+
+	private final int size;
+	private final BitSet valid;
+	private final byte[] errors;
+
+	BatchValidationResult(final int size, final BitSet valid, final byte[] errors) {
+		this.size = size;
+		this.valid = valid;
+		this.errors = errors;
+	}
+
+	/**
+	 * Gets the number of records validated in the batch.
+	 * @return The number of records.
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Checks whether a record of the batch is valid.
+	 * @param index - position of the record in the batch
+	 * @return <code>true</code> if the record is valid, otherwise <code>false</code>.
+	 */
+	public boolean isValid(final int index) {
+		checkElementIndex(index, size);
+		return valid.get(index);
+	}
+
+	/**
+	 * Gets the code of the error found in a record of the batch.
+	 * @param index - position of the record in the batch
+	 * @return The code of the error, or {@link ValidationError#NO_ERROR} when the record is valid.
+	 */
+	public byte errorCode(final int index) {
+		checkElementIndex(index, size);
+		return errors[index];
+	}
+
+	/**
+	 * Gets the error found in a record of the batch.
+	 * @param index - position of the record in the batch
+	 * @return The error, or <code>null</code> when the record is valid.
+	 */
+	public ValidationError error(final int index) {
+		return ValidationError.fromCode(errorCode(index));
+	}
+
+	/**
+	 * Gets the number of valid records in the batch.
+	 * @return The number of valid records.
+	 */
+	public int validCount() {
+		return valid.cardinality();
+	}
+
+	/**
+	 * Checks whether all the records of the batch are valid.
+	 * @return <code>true</code> if all the records are valid, otherwise <code>false</code>.
+	 */
+	public boolean allValid() {
+		return valid.cardinality() == size;
+	}
+
+	/**
+	 * Finds the next invalid record of the batch, starting from the specified position.
+	 * @param fromIndex - position where the search starts (inclusive)
+	 * @return The position of the next invalid record, or <code>-1</code> when there are no more invalid records.
+	 */
+	public int nextInvalid(final int fromIndex) {
+		final int index = valid.nextClearBit(fromIndex);
+		return index < size ? index : -1;
+	}
+
+	/**
+	 * Gets a copy of the bitmap where the valid records are set.
+	 * @return A new bitmap with one bit per record.
+	 */
+	public BitSet validRecords() {
+		return (BitSet)valid.clone();
+	}
+
+	@Override
+	public String toString() {
+		return toStringHelper(this)
+				.add("size", size)
+				.add("valid", valid.cardinality())
+				.toString();
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,294 @@
+/*
+ * Copyright (c) 2015 Erik Torres
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.etorres.codexposed;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import javax.annotation.Nullable;
+
+import com.github.etorres.codexposed.collect.LongKeyMap;
+import com.github.etorres.codexposed.metrics.Metrics;
+
+/**
+ * Sample class demonstrating the validation of numeric input parameters to class methods. Counterpart of {@link ArgValidator} that uses
+ * arrays of primitive values and maps with primitive keys instead of collections of boxed values, so no number is boxed while the
+ * parameters are validated and merged. Metrics are recorded in the same way as in {@link ArgValidator}.
+ * @author Erik Torres <etserrano@gmail.com>
+ */
+public class PrimitiveArgValidator {
+
+	private static final int[] EMPTY_INTS = new int[0];
+	private static final long[] EMPTY_LONGS = new long[0];
+	private static final double[] EMPTY_DOUBLES = new double[0];
+
+	/**
+	 * Example: set valid values to method parameters.
+	 * @param required - required parameter, empty array is allowed
+	 * @param optional - optional parameter
+	 * @return A new array combining both input parameters.
+	 * @throws NullPointerException When a required parameter has <code>null</code> value.
+	 */
+	public int[] intListParams(final int[] required, final @Nullable int[] optional) {
+		final long start = Metrics.ENABLED ? System.nanoTime() : 0L;
+		try {
+			final int[] required2 = checkNotNull(required, "Uninitialized list");
+			final int[] optional2 = (optional != null ? optional : EMPTY_INTS);
+			// operate on the canonicalized version of the parameters
+			return accepted(concat(required2, optional2), start);
+		} catch (RuntimeException e) {
+			throw rejected(e, start);
+		}
+	}
+
+	/**
+	 * Example: set valid values to method parameters.
+	 * @param required - required parameter, empty array is not allowed
+	 * @param optional - optional parameter
+	 * @param min - minimum value allowed in the parameters (inclusive)
+	 * @param max - maximum value allowed in the parameters (inclusive)
+	 * @return A new array combining both input parameters.
+	 * @throws NullPointerException When a required parameter has <code>null</code> value.
+	 * @throws IllegalArgumentException When a required parameter is empty, or when any of the parameters contains a value out of range.
+	 */
+	public int[] intListParams2(final int[] required, final @Nullable int[] optional, final int min, final int max) {
+		final long start = Metrics.ENABLED ? System.nanoTime() : 0L;
+		try {
+			final int[] required2 = checkNotNull(required, "Uninitialized list");
+			checkArgument(required2.length > 0, "Empty list is not allowed");
+			final int[] optional2 = (optional != null ? optional : EMPTY_INTS);
+			checkRange(required2, min, max);
+			checkRange(optional2, min, max);
+			// operate on the canonicalized version of the parameters
+			return accepted(concat(required2, optional2), start);
+		} catch (RuntimeException e) {
+			throw rejected(e, start);
+		}
+	}
+
+	/**
+	 * Example: set valid values to method parameters.
+	 * @param required - required parameter, empty array is allowed
+	 * @param optional - optional parameter
+	 * @return A new array combining both input parameters.
+	 * @throws NullPointerException When a required parameter has <code>null</code> value.
+	 */
+	public long[] longListParams(final long[] required, final @Nullable long[] optional) {
+		final long start = Metrics.ENABLED ? System.nanoTime() : 0L;
+		try {
+			final long[] required2 = checkNotNull(required, "Uninitialized list");
+			final long[] optional2 = (optional != null ? optional : EMPTY_LONGS);
+			// operate on the canonicalized version of the parameters
+			return accepted(concat(required2, optional2), start);
+		} catch (RuntimeException e) {
+			throw rejected(e, start);
+		}
+	}
+
+	/**
+	 * Example: set valid values to method parameters.
+	 * @param required - required parameter, empty array is not allowed
+	 * @param optional - optional parameter
+	 * @param min - minimum value allowed in the parameters (inclusive)
+	 * @param max - maximum value allowed in the parameters (inclusive)
+	 * @return A new array combining both input parameters.
+	 * @throws NullPointerException When a required parameter has <code>null</code> value.
+	 * @throws IllegalArgumentException When a required parameter is empty, or when any of the parameters contains a value out of range.
+	 */
+	public long[] longListParams2(final long[] required, final @Nullable long[] optional, final long min, final long max) {
+		final long start = Metrics.ENABLED ? System.nanoTime() : 0L;
+		try {
+			final long[] required2 = checkNotNull(required, "Uninitialized list");
+			checkArgument(required2.length > 0, "Empty list is not allowed");
+			final long[] optional2 = (optional != null ? optional : EMPTY_LONGS);
+			checkRange(required2, min, max);
+			checkRange(optional2, min, max);
+			// operate on the canonicalized version of the parameters
+			return accepted(concat(required2, optional2), start);
+		} catch (RuntimeException e) {
+			throw rejected(e, start);
+		}
+	}
+
+	/**
+	 * Example: set valid values to method parameters.
+	 * @param required - required parameter, empty array is allowed
+	 * @param optional - optional parameter
+	 * @return A new array combining both input parameters.
+	 * @throws NullPointerException When a required parameter has <code>null</code> value.
+	 */
+	public double[] doubleListParams(final double[] required, final @Nullable double[] optional) {
+		final long start = Metrics.ENABLED ? System.nanoTime() : 0L;
+		try {
+			final double[] required2 = checkNotNull(required, "Uninitialized list");
+			final double[] optional2 = (optional != null ? optional : EMPTY_DOUBLES);
+			// operate on the canonicalized version of the parameters
+			return accepted(concat(required2, optional2), start);
+		} catch (RuntimeException e) {
+			throw rejected(e, start);
+		}
+	}
+
+	/**
+	 * Example: set valid values to method parameters.
+	 * @param required - required parameter, empty array is not allowed
+	 * @param optional - optional parameter
+	 * @param min - minimum value allowed in the parameters (inclusive)
+	 * @param max - maximum value allowed in the parameters (inclusive)
+	 * @return A new array combining both input parameters.
+	 * @throws NullPointerException When a required parameter has <code>null</code> value.
+	 * @throws IllegalArgumentException When a required parameter is empty, or when any of the parameters contains a value out of range
+	 *         or <code>NaN</code>.
+	 */
+	public double[] doubleListParams2(final double[] required, final @Nullable double[] optional, final double min, final double max) {
+		final long start = Metrics.ENABLED ? System.nanoTime() : 0L;
+		try {
+			final double[] required2 = checkNotNull(required, "Uninitialized list");
+			checkArgument(required2.length > 0, "Empty list is not allowed");
+			final double[] optional2 = (optional != null ? optional : EMPTY_DOUBLES);
+			checkRange(required2, min, max);
+			checkRange(optional2, min, max);
+			// operate on the canonicalized version of the parameters
+			return accepted(concat(required2, optional2), start);
+		} catch (RuntimeException e) {
+			throw rejected(e, start);
+		}
+	}
+
+	/**
+	 * Example: set valid values to method parameters.
+	 * @param required - required parameter, empty map is allowed
+	 * @param optional - optional parameter
+	 * @return A new map combining both input parameters, where the mappings of the optional parameter replace the mappings of the
+	 *         required parameter with the same key.
+	 * @throws NullPointerException When a required parameter has <code>null</code> value.
+	 */
+	public LongKeyMap<String> longMapParams(final LongKeyMap<String> required, final @Nullable LongKeyMap<String> optional) {
+		final long start = Metrics.ENABLED ? System.nanoTime() : 0L;
+		try {
+			final LongKeyMap<String> required2 = checkNotNull(required, "Uninitialized map");
+			// operate on the canonicalized version of the parameters
+			return accepted(merge(required2, optional), start);
+		} catch (RuntimeException e) {
+			throw rejected(e, start);
+		}
+	}
+
+	/**
+	 * Example: set valid values to method parameters.
+	 * @param required - required parameter, empty map is not allowed
+	 * @param optional - optional parameter
+	 * @param min - minimum key allowed in the parameters (inclusive)
+	 * @param max - maximum key allowed in the parameters (inclusive)
+	 * @return A new map combining both input parameters, where the mappings of the optional parameter replace the mappings of the
+	 *         required parameter with the same key.
+	 * @throws NullPointerException When a required parameter has <code>null</code> value.
+	 * @throws IllegalArgumentException When a required parameter is empty, or when any of the parameters contains a key out of range.
+	 */
+	public LongKeyMap<String> longMapParams2(final LongKeyMap<String> required, final @Nullable LongKeyMap<String> optional, 
+			final long min, final long max) {
+		final long start = Metrics.ENABLED ? System.nanoTime() : 0L;
+		try {
+			final LongKeyMap<String> required2 = checkNotNull(required, "Uninitialized map");
+			checkArgument(!required2.isEmpty(), "Empty map is not allowed");
+			checkRange(required2.keys(), min, max);
+			if (optional != null) {
+				checkRange(optional.keys(), min, max);
+			}
+			// operate on the canonicalized version of the parameters
+			return accepted(merge(required2, optional), start);
+		} catch (RuntimeException e) {
+			throw rejected(e, start);
+		}
+	}
+
+	private static int[] concat(final int[] first, final int[] second) {
+		final int[] merged = new int[first.length + second.length];
+		System.arraycopy(first, 0, merged, 0, first.length);
+		System.arraycopy(second, 0, merged, first.length, second.length);
+		return merged;
+	}
+
+	private static long[] concat(final long[] first, final long[] second) {
+		final long[] merged = new long[first.length + second.length];
+		System.arraycopy(first, 0, merged, 0, first.length);
+		System.arraycopy(second, 0, merged, first.length, second.length);
+		return merged;
+	}
+
+	private static double[] concat(final double[] first, final double[] second) {
+		final double[] merged = new double[first.length + second.length];
+		System.arraycopy(first, 0, merged, 0, first.length);
+		System.arraycopy(second, 0, merged, first.length, second.length);
+		return merged;
+	}
+
+	private static LongKeyMap<String> merge(final LongKeyMap<String> first, final @Nullable LongKeyMap<String> second) {
+		final LongKeyMap<String> merged = new LongKeyMap<>(first.size() + (second != null ? second.size() : 0));
+		merged.putAll(first);
+		if (second != null) {
+			merged.putAll(second);
+		}
+		return merged;
+	}
+
+	private static void checkRange(final int[] values, final int min, final int max) {
+		for (int i = 0; i < values.length; i++) {
+			if (values[i] < min || values[i] > max) {
+				throw new IllegalArgumentException("Value out of range [" + min + ", " + max + "]: " + values[i]);
+			}
+		}
+	}
+
+	private static void checkRange(final long[] values, final long min, final long max) {
+		for (int i = 0; i < values.length; i++) {
+			if (values[i] < min || values[i] > max) {
+				throw new IllegalArgumentException("Value out of range [" + min + ", " + max + "]: " + values[i]);
+			}
+		}
+	}
+
+	private static void checkRange(final double[] values, final double min, final double max) {
+		for (int i = 0; i < values.length; i++) {
+			// negated comparison also rejects NaN
+			if (!(values[i] >= min && values[i] <= max)) {
+				throw new IllegalArgumentException("Value out of range [" + min + ", " + max + "]: " + values[i]);
+			}
+		}
+	}
+
+	/**
+	 * Records an accepted call in the {@link ValidationMetrics validation metrics} when the metrics are enabled.
+	 */
+	private static <T> T accepted(final T value, final long startNanos) {
+		if (Metrics.ENABLED) {
+			ValidationMetrics.INSTANCE.record(null, startNanos);
+		}
+		return value;
+	}
+
+	/**
+	 * Records a rejected call in the {@link ValidationMetrics validation metrics} when the metrics are enabled.
+	 */
+	private static RuntimeException rejected(final RuntimeException e, final long startNanos) {
+		if (Metrics.ENABLED) {
+			ValidationMetrics.INSTANCE.recordRejection(e, startNanos);
+		}
+		return e;
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2015 Erik Torres
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.etorres.codexposed;
+
+/**
+ * Errors found when an argument is validated. Each error is identified by a numeric code that fits in one byte, where the code
+ * <code>0</code> is reserved to indicate that no error was found.
+ * @author Erik Torres <etserrano@gmail.com>
+ */
+public enum ValidationError {
+
+	/** Required argument has <code>null</code> value. */
+	NULL_VALUE((byte)1, "Uninitialized parameter"),
+	/** Argument is empty and the parameter doesn't allow empty values. */
+	EMPTY_VALUE((byte)2, "Empty value is not allowed in parameter"),
+	/** Argument type doesn't match the type of the parameter. */
+	INVALID_TYPE((byte)3, "Invalid type of parameter"),
+	/** Length or size of the argument exceeds the maximum allowed by the parameter. */
+	MAX_SIZE_EXCEEDED((byte)4, "Maximum size exceeded in parameter"),
+	/** Argument contains an element that violates the element constraint of the parameter. */
+	INVALID_ELEMENT((byte)5, "Invalid element found in parameter"),
+	/** Number of arguments doesn't match the number of parameters. */
+	WRONG_NUMBER_OF_ARGUMENTS((byte)6, "Wrong number of arguments");
+
+	public static final byte NO_ERROR = 0;
+
+	private static final ValidationError[] BY_CODE;
+	static {
+		final ValidationError[] errors = values();
+		BY_CODE = new ValidationError[errors.length + 1];
+		for (final ValidationError error : errors) {
+			BY_CODE[error.code] = error;
+		}
+	}
+
+	private final byte code;
+	private final String description;
+
+	private ValidationError(final byte code, final String description) {
+		this.code = code;
+		this.description = description;
+	}
+
+	/**
+	 * Gets the numeric code of this error.
+	 * @return The code of this error.
+	 */
+	public byte code() {
+		return code;
+	}
+
+	/**
+	 * Gets a short description of this error.
+	 * @return The description of this error.
+	 */
+	public String description() {
+		return description;
+	}
+
+	/**
+	 * Gets the error identified by the specified code.
+	 * @param code - numeric code of the error
+	 * @return The error identified by the code, or <code>null</code> when the code is {@link #NO_ERROR}.
+	 * @throws IllegalArgumentException When the code doesn't identify any error.
+	 */
+	public static ValidationError fromCode(final byte code) {
+		if (code < 0 || code >= BY_CODE.length) {
+			throw new IllegalArgumentException("Unknown error code: " + code);
+		}
+		return BY_CODE[code];
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) 2015 Erik Torres
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.etorres.codexposed;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import javax.annotation.Nullable;
+
+/**
+ * Exception thrown by the validation plans that are configured to use stackless exceptions. These exceptions don't record the stack
+ * trace nor the suppressed exceptions, which makes them cheap to create and allows plans to create each exception once and throw the
+ * same instance every time that the same error is found in the same parameter.
+ * @author Erik Torres <etserrano@gmail.com>
+ * @see ValidationPlan.Builder#stacklessExceptions(boolean)
+ */
+public class ValidationException extends RuntimeException {
+
+	private static final long serialVersionUID = -6405512953460227311L;
+
+	private final ValidationError error;
+	private final String parameter;
+
+	public ValidationException(final ValidationError error, final @Nullable String parameter) {
+		super(parameter != null ? checkNotNull(error, "Uninitialized error").description() + ": " + parameter 
+				: checkNotNull(error, "Uninitialized error").description(), null, false, false);
+		this.error = error;
+		this.parameter = parameter;
+	}
+
+	public ValidationError getError() {
+		return error;
+	}
+
+	public @Nullable String getParameter() {
+		return parameter;
+	}
+
+}
\ No newline at end of file
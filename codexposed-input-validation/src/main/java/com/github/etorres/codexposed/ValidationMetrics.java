@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2015 Erik Torres
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.etorres.codexposed;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import javax.annotation.Nullable;
+
+import com.github.etorres.codexposed.metrics.AbstractLatencyMetrics;
+import com.github.etorres.codexposed.metrics.Metrics;
+
+/**
+ * Collects the number of calls, the rejections and the latency of the {@link ValidationPlan validation plans} and of the methods of 
+ * {@link ArgValidator} and {@link PrimitiveArgValidator}. The metrics are shared by all the validators and are exposed in the platform MBean server as <code>com.github.etorres.codexposed:type=ValidationMetrics</code> when
+ * the {@link Metrics metrics are enabled}. Callers must check {@link Metrics#ENABLED} before recording. Latency is only recorded for 
+ * records validated individually, since the latency of a batch is not comparable with the latency of a single record.
+ * @author Erik Torres <etserrano@gmail.com>
+ */
+public final class ValidationMetrics extends AbstractLatencyMetrics implements ValidationMetricsMXBean {
+
+	public static final String TYPE = "ValidationMetrics";
+
+	/**
+	 * Name used in {@link #getRejectionsByReason()} for the rejections that don't correspond to any {@link ValidationError}.
+	 */
+	public static final String OTHER_REASON = "OTHER";
+
+	public static final ValidationMetrics INSTANCE = new ValidationMetrics();
+
+	static {
+		if (Metrics.ENABLED) {
+			Metrics.register(TYPE, INSTANCE);
+		}
+	}
+
+	private final AtomicLong calls = new AtomicLong();
+	private final AtomicLongArray rejections = new AtomicLongArray(ValidationError.values().length + 1);
+
+	private ValidationMetrics() {
+	}
+
+	/**
+	 * Records the validation of a single record.
+	 * @param error - error found in the record, or <code>null</code> when the record is valid
+	 * @param startNanos - instant when the validation started, as returned by {@link System#nanoTime()}
+	 */
+	public void record(final @Nullable ValidationError error, final long startNanos) {
+		recordLatency(startNanos);
+		calls.incrementAndGet();
+		if (error != null) {
+			rejections.incrementAndGet(error.code());
+		}
+	}
+
+	/**
+	 * Records a record rejected with an exception. {@link ValidationException validation exceptions} are counted by their error and 
+	 * {@link NullPointerException null pointer exceptions} are counted as {@link ValidationError#NULL_VALUE}. Any other exception is 
+	 * counted as {@link #OTHER_REASON}.
+	 * @param e - exception thrown when the record was rejected
+	 * @param startNanos - instant when the validation started, as returned by {@link System#nanoTime()}
+	 */
+	public void recordRejection(final RuntimeException e, final long startNanos) {
+		recordLatency(startNanos);
+		calls.incrementAndGet();
+		if (e instanceof ValidationException) {
+			rejections.incrementAndGet(((ValidationException)e).getError().code());
+		} else if (e instanceof NullPointerException) {
+			rejections.incrementAndGet(ValidationError.NULL_VALUE.code());
+		} else {
+			rejections.incrementAndGet(ValidationError.NO_ERROR);
+		}
+	}
+
+	/**
+	 * Records the validation of a batch of records.
+	 * @param result - result of the validation of the batch
+	 */
+	public void record(final BatchValidationResult result) {
+		calls.addAndGet(result.size());
+		for (int i = result.nextInvalid(0); i >= 0; i = result.nextInvalid(i + 1)) {
+			rejections.incrementAndGet(result.errorCode(i));
+		}
+	}
+
+	@Override
+	public long getCalls() {
+		return calls.get();
+	}
+
+	@Override
+	public long getRejections() {
+		long total = 0L;
+		for (int i = 0; i < rejections.length(); i++) {
+			total += rejections.get(i);
+		}
+		return total;
+	}
+
+	@Override
+	public Map<String, Long> getRejectionsByReason() {
+		final Map<String, Long> reasons = new TreeMap<>();
+		for (final ValidationError error : ValidationError.values()) {
+			reasons.put(error.name(), rejections.get(error.code()));
+		}
+		reasons.put(OTHER_REASON, rejections.get(ValidationError.NO_ERROR));
+		return reasons;
+	}
+
+	@Override
+	public void reset() {
+		super.reset();
+		calls.set(0L);
+		for (int i = 0; i < rejections.length(); i++) {
+			rejections.set(i, 0L);
+		}
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) 2015 Erik Torres
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.etorres.codexposed;
+
+import java.util.Map;
+
+import com.github.etorres.codexposed.metrics.LatencyMXBean;
+
+/**
+ * Management interface of the metrics collected from the {@link ValidationPlan validation plans} and the argument validators.
+ * @author Erik Torres <etserrano@gmail.com>
+ */
+public interface ValidationMetricsMXBean extends LatencyMXBean {
+
+	/**
+	 * Gets the number of records validated, including the records validated in batches.
+	 * @return The number of records validated since the last reset.
+	 */
+	long getCalls();
+
+	/**
+	 * Gets the number of records rejected.
+	 * @return The number of records rejected since the last reset.
+	 */
+	long getRejections();
+
+	/**
+	 * Gets the number of records rejected, grouped by the {@link ValidationError reason} of the rejection.
+	 * @return A map where the keys are the names of the validation errors and the values are the number of rejections. Rejections that
+	 *         don't correspond to any validation error are counted under {@link ValidationMetrics#OTHER_REASON}.
+	 */
+	Map<String, Long> getRejectionsByReason();
+
+}
\ No newline at end of file
@@ -0,0 +1,619 @@
+/*
+ * Copyright (c) 2015 Erik Torres
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.etorres.codexposed;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+import static com.google.common.collect.Lists.newArrayList;
+import static java.util.Collections.unmodifiableList;
+import static java.util.Collections.unmodifiableMap;
+import static org.apache.commons.lang3.StringUtils.isBlank;
+import static org.apache.commons.lang3.StringUtils.isNotBlank;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import javax.annotation.Nullable;
+
+import com.github.etorres.codexposed.metrics.Metrics;
+
+/**
+ * Validates method arguments against a list of rules that are declared once with a {@link Builder} and compiled into this object. For
+ * example, the checks performed by {@link ArgValidator#stringParams2(String, String)} can be declared as:
+ * <pre>
+ * final ValidationPlan plan = ValidationPlan.builder()
+ *     .required("required", Type.STRING).trim().allowEmpty(false)
+ *     .optional("optional", Type.STRING).trim().allowEmpty(false).defaultValue(ArgValidator.DEFAULT_VALUE)
+ *     .build();
+ * final Object[] params = plan.validate(required, optional);
+ * </pre>
+ * Large batches of records can be validated with {@link #validateAll(Object[][])}, which reports the {@link ValidationError} found in
+ * each record instead of throwing an exception. {@link #tryValidate(Object...)} validates a single record
+ * without throwing exceptions, and plans built with {@link Builder#stacklessExceptions(boolean)} throw preallocated exceptions without
+ * stack trace.
+ * Plans are immutable and can be shared between threads. Validating the arguments allocates no object other than the array with the
+ * canonicalized values and the unmodifiable views of the list and map parameters, and the messages of the exceptions are created when
+ * the plan is built.
+ * When the {@link Metrics metrics are enabled}, calls, rejections and latency are recorded in {@link ValidationMetrics}.
+ * @author Erik Torres <etserrano@gmail.com>
+ */
+public final class ValidationPlan {
+
+	/**
+	 * Types of parameter supported by the plans.
+	 */
+	public static enum Type {
+		STRING,
+		LIST,
+		MAP
+	}
+
+	/**
+	 * Constraints applied to the elements of the list parameters and to the values of the map parameters. Any constraint other than 
+	 * {@link #ANY} also rejects the <code>null</code> keys of the map parameters.
+	 */
+	public static enum ElementConstraint {
+		/** Any element is allowed. */
+		ANY,
+		/** <code>null</code> elements are not allowed. */
+		NOT_NULL,
+		/** <code>null</code>, empty and blank elements are not allowed. */
+		NOT_BLANK
+	}
+
+	private static final int DEFAULT_BATCH_SIZE = 64;
+
+	private final Param[] params;
+	private final boolean stackless;
+
+	private final ValidationResult<Object[]> wrongNumberOfArgumentsResult = ValidationResult.invalid(ValidationError.WRONG_NUMBER_OF_ARGUMENTS, 
+			null);
+	private final ValidationException wrongNumberOfArgumentsException = new ValidationException(ValidationError.WRONG_NUMBER_OF_ARGUMENTS, 
+			null);
+
+	private ValidationPlan(final Param[] params, final boolean stackless) {
+		this.params = params;
+		this.stackless = stackless;
+	}
+
+	/**
+	 * Creates a new builder of validation plans.
+	 * @return A new builder with no parameters.
+	 */
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	/**
+	 * Gets the number of parameters validated with this plan.
+	 * @return The number of parameters.
+	 */
+	public int size() {
+		return params.length;
+	}
+
+	/**
+	 * Gets the name of a parameter.
+	 * @param index - position of the parameter in the plan
+	 * @return The name of the parameter.
+	 */
+	public String name(final int index) {
+		return params[index].name;
+	}
+
+	/**
+	 * Validates the specified arguments, which must be passed in the same order that the parameters were declared in the plan.
+	 * @param args - arguments to be validated
+	 * @return A new array containing the canonicalized version of the arguments: trimmed strings, default values in place of the missing 
+	 *         optional arguments and unmodifiable views of the lists and maps.
+	 * @throws NullPointerException When a required parameter has <code>null</code> value.
+	 * @throws IllegalArgumentException When the number of arguments doesn't match the plan, or when an argument has an invalid type or
+	 *         violates the constraints of its parameter.
+	 * @throws ValidationException Instead of the above exceptions, when the plan uses stackless exceptions.
+	 */
+	public Object[] validate(final Object... args) {
+		final long start = Metrics.ENABLED ? System.nanoTime() : 0L;
+		if (args == null || args.length != params.length) {
+			if (Metrics.ENABLED) {
+				ValidationMetrics.INSTANCE.record(ValidationError.WRONG_NUMBER_OF_ARGUMENTS, start);
+			}
+			if (stackless) {
+				throw wrongNumberOfArgumentsException;
+			}
+			checkNotNull(args, "Uninitialized arguments");
+			checkArgument(false, "Wrong number of arguments");
+		}
+		final Object[] values = new Object[params.length];
+		for (int i = 0; i < params.length; i++) {
+			final ValidationError error = params[i].check(args[i], values, i);
+			if (error != null) {
+				if (Metrics.ENABLED) {
+					ValidationMetrics.INSTANCE.record(error, start);
+				}
+				throw stackless ? params[i].exceptions[error.code()] : params[i].exception(error);
+			}
+		}
+		if (Metrics.ENABLED) {
+			ValidationMetrics.INSTANCE.record(null, start);
+		}
+		return values;
+	}
+
+	/**
+	 * Validates the specified arguments without throwing exceptions. The arguments must be passed in the same order that the parameters
+	 * were declared in the plan.
+	 * @param args - arguments to be validated
+	 * @return A result holding the canonicalized version of the arguments (see {@link #validate(Object...)}) or describing the first 
+	 *         error found in the arguments. Results describing errors are created with the plan and shared between calls.
+	 */
+	public ValidationResult<Object[]> tryValidate(final Object... args) {
+		final long start = Metrics.ENABLED ? System.nanoTime() : 0L;
+		if (args == null || args.length != params.length) {
+			if (Metrics.ENABLED) {
+				ValidationMetrics.INSTANCE.record(ValidationError.WRONG_NUMBER_OF_ARGUMENTS, start);
+			}
+			return wrongNumberOfArgumentsResult;
+		}
+		final Object[] values = new Object[params.length];
+		for (int i = 0; i < params.length; i++) {
+			final ValidationError error = params[i].check(args[i], values, i);
+			if (error != null) {
+				if (Metrics.ENABLED) {
+					ValidationMetrics.INSTANCE.record(error, start);
+				}
+				return params[i].result(error);
+			}
+		}
+		if (Metrics.ENABLED) {
+			ValidationMetrics.INSTANCE.record(null, start);
+		}
+		return ValidationResult.valid(values);
+	}
+
+	/**
+	 * Validates a batch of records, where each record contains the arguments passed in the same order that the parameters were declared
+	 * in the plan. Invalid records are reported in the result instead of throwing an exception, and the canonicalized version of the
+	 * arguments is not created.
+	 * @param records - records to be validated
+	 * @return The result of validating each record.
+	 */
+	public BatchValidationResult validateAll(final Object[][] records) {
+		checkNotNull(records, "Uninitialized records");
+		final BitSet valid = new BitSet(records.length);
+		final byte[] errors = new byte[records.length];
+		for (int i = 0; i < records.length; i++) {
+			final ValidationError error = check(records[i]);
+			if (error == null) {
+				valid.set(i);
+			} else {
+				errors[i] = error.code();
+			}
+		}
+		final BatchValidationResult result = new BatchValidationResult(records.length, valid, errors);
+		if (Metrics.ENABLED) {
+			ValidationMetrics.INSTANCE.record(result);
+		}
+		return result;
+	}
+
+	/**
+	 * Validates a batch of records read from the specified source, where each record contains the arguments passed in the same order
+	 * that the parameters were declared in the plan. Invalid records are reported in the result instead of throwing an exception.
+	 * @param records - records to be validated
+	 * @return The result of validating each record, in the iteration order of the source.
+	 * @see #validateAll(Object[][])
+	 */
+	public BatchValidationResult validateAll(final Iterable<Object[]> records) {
+		checkNotNull(records, "Uninitialized records");
+		final BitSet valid = new BitSet();
+		byte[] errors = new byte[records instanceof Collection ? ((Collection<?>)records).size() : DEFAULT_BATCH_SIZE];
+		int size = 0;
+		for (final Object[] record : records) {
+			if (size == errors.length) {
+				errors = Arrays.copyOf(errors, Math.max(DEFAULT_BATCH_SIZE, errors.length << 1));
+			}
+			final ValidationError error = check(record);
+			if (error == null) {
+				valid.set(size);
+			} else {
+				errors[size] = error.code();
+			}
+			size++;
+		}
+		final BatchValidationResult result = new BatchValidationResult(size, valid, errors);
+		if (Metrics.ENABLED) {
+			ValidationMetrics.INSTANCE.record(result);
+		}
+		return result;
+	}
+
+	private ValidationError check(final Object[] args) {
+		if (args == null || args.length != params.length) {
+			return ValidationError.WRONG_NUMBER_OF_ARGUMENTS;
+		}
+		for (int i = 0; i < params.length; i++) {
+			final ValidationError error = params[i].check(args[i], null, i);
+			if (error != null) {
+				return error;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Compiled rules of a parameter.
+	 */
+	private static final class Param {
+
+		private final String name;
+		private final Type type;
+		private final boolean required;
+		private final boolean allowEmpty;
+		private final boolean trim;
+		private final Object defaultValue;
+		private final ElementConstraint elementConstraint;
+		private final int maxSize;
+
+		private final String nullMessage;
+		private final String typeMessage;
+		private final String emptyMessage;
+		private final String sizeMessage;
+		private final String elementMessage;
+
+		private final ValidationResult<?>[] results;
+		private final ValidationException[] exceptions;
+
+		@SuppressWarnings("unchecked")
+		private Param(final ParamSpec spec, final boolean stackless) {
+			this.name = spec.name;
+			this.type = spec.type;
+			this.required = spec.required;
+			this.allowEmpty = spec.allowEmpty;
+			this.trim = spec.trim;
+			this.defaultValue = spec.defaultValue;
+			this.elementConstraint = spec.elementConstraint;
+			this.maxSize = spec.maxSize;
+			this.nullMessage = "Uninitialized parameter: " + name;
+			this.typeMessage = "Invalid type of parameter: " + name + ", expected: " + type;
+			this.emptyMessage = "Empty value is not allowed in parameter: " + name;
+			this.sizeMessage = "Maximum size (" + maxSize + ") exceeded in parameter: " + name;
+			this.elementMessage = "Invalid element found in parameter: " + name + ", constraint: " + elementConstraint;
+			// results and exceptions are indexed by error code
+			final ValidationError[] errors = ValidationError.values();
+			this.results = new ValidationResult<?>[errors.length + 1];
+			this.exceptions = new ValidationException[stackless ? errors.length + 1 : 0];
+			for (final ValidationError error : errors) {
+				results[error.code()] = ValidationResult.invalid(error, name);
+				if (stackless) {
+					exceptions[error.code()] = new ValidationException(error, name);
+				}
+			}
+		}
+
+		@SuppressWarnings("unchecked")
+		private ValidationResult<Object[]> result(final ValidationError error) {
+			// invalid results carry no value, so they can be returned for any type
+			return (ValidationResult<Object[]>)results[error.code()];
+		}
+
+		/**
+		 * Checks a value against the rules of this parameter.
+		 * @param value - value to be checked
+		 * @param values - (optional) array where the canonicalized version of the value is stored
+		 * @param index - position in the array where the canonicalized value is stored
+		 * @return The error found in the value or <code>null</code> when the value is valid.
+		 */
+		private ValidationError check(final Object value, final @Nullable Object[] values, final int index) {
+			switch (type) {
+			case STRING:
+				return checkString(value, values, index);
+			case LIST:
+				return checkList(value, values, index);
+			case MAP:
+			default:
+				return checkMap(value, values, index);
+			}
+		}
+
+		private ValidationError checkString(final Object value, final Object[] values, final int index) {
+			if (value != null && !(value instanceof String)) {
+				return ValidationError.INVALID_TYPE;
+			}
+			String str = (String)value;
+			if (str != null && trim) {
+				str = str.trim();
+			}
+			if (str == null || (str.isEmpty() && !allowEmpty)) {
+				return missing(str == null, values, index);
+			}
+			if (str.length() > maxSize) {
+				return ValidationError.MAX_SIZE_EXCEEDED;
+			}
+			if (values != null) {
+				values[index] = str;
+			}
+			return null;
+		}
+
+		private ValidationError checkList(final Object value, final Object[] values, final int index) {
+			if (value != null && !(value instanceof List)) {
+				return ValidationError.INVALID_TYPE;
+			}
+			final List<?> list = (List<?>)value;
+			if (list == null || (list.isEmpty() && !allowEmpty)) {
+				return missing(list == null, values, index);
+			}
+			if (list.size() > maxSize) {
+				return ValidationError.MAX_SIZE_EXCEEDED;
+			}
+			if (elementConstraint != ElementConstraint.ANY) {
+				for (final Object element : list) {
+					if (!isValidElement(element)) {
+						return ValidationError.INVALID_ELEMENT;
+					}
+				}
+			}
+			if (values != null) {
+				values[index] = unmodifiableList(list);
+			}
+			return null;
+		}
+
+		private ValidationError checkMap(final Object value, final Object[] values, final int index) {
+			if (value != null && !(value instanceof Map)) {
+				return ValidationError.INVALID_TYPE;
+			}
+			final Map<?, ?> map = (Map<?, ?>)value;
+			if (map == null || (map.isEmpty() && !allowEmpty)) {
+				return missing(map == null, values, index);
+			}
+			if (map.size() > maxSize) {
+				return ValidationError.MAX_SIZE_EXCEEDED;
+			}
+			if (elementConstraint != ElementConstraint.ANY) {
+				for (final Map.Entry<?, ?> entry : map.entrySet()) {
+					if (entry.getKey() == null || !isValidElement(entry.getValue())) {
+						return ValidationError.INVALID_ELEMENT;
+					}
+				}
+			}
+			if (values != null) {
+				values[index] = unmodifiableMap(map);
+			}
+			return null;
+		}
+
+		private ValidationError missing(final boolean isNull, final Object[] values, final int index) {
+			if (required) {
+				return isNull ? ValidationError.NULL_VALUE : ValidationError.EMPTY_VALUE;
+			}
+			if (values != null) {
+				values[index] = defaultValue;
+			}
+			return null;
+		}
+
+		private boolean isValidElement(final Object element) {
+			switch (elementConstraint) {
+			case NOT_NULL:
+				return element != null;
+			case NOT_BLANK:
+				return element != null && (!(element instanceof CharSequence) || !isBlank((CharSequence)element));
+			case ANY:
+			default:
+				return true;
+			}
+		}
+
+		private String message(final ValidationError error) {
+			switch (error) {
+			case NULL_VALUE:
+				return nullMessage;
+			case EMPTY_VALUE:
+				return emptyMessage;
+			case INVALID_TYPE:
+				return typeMessage;
+			case MAX_SIZE_EXCEEDED:
+				return sizeMessage;
+			case INVALID_ELEMENT:
+				return elementMessage;
+			default:
+				return "Wrong number of arguments";
+			}
+		}
+
+		private RuntimeException exception(final ValidationError error) {
+			return error == ValidationError.NULL_VALUE ? new NullPointerException(nullMessage) : new IllegalArgumentException(message(error));
+		}
+
+	}
+
+	/**
+	 * Mutable rules of a parameter, used while the plan is being built.
+	 */
+	private static final class ParamSpec {
+
+		private final String name;
+		private final Type type;
+		private final boolean required;
+		private boolean allowEmpty = true;
+		private boolean trim = false;
+		private Object defaultValue;
+		private ElementConstraint elementConstraint = ElementConstraint.ANY;
+		private int maxSize = Integer.MAX_VALUE;
+
+		private ParamSpec(final String name, final Type type, final boolean required) {
+			this.name = name;
+			this.type = type;
+			this.required = required;
+			this.defaultValue = defaultValue(type);
+		}
+
+		private static Object defaultValue(final Type type) {
+			switch (type) {
+			case LIST:
+				return Collections.emptyList();
+			case MAP:
+				return Collections.emptyMap();
+			case STRING:
+			default:
+				return null;
+			}
+		}
+
+	}
+
+	/**
+	 * Declares the parameters of a plan in the same order that the arguments will be passed to {@link ValidationPlan#validate(Object...)}.
+	 * The methods that configure a rule apply to the last declared parameter. Parameters allow empty values and apply no element
+	 * constraint unless otherwise specified. The default value of the optional parameters is <code>null</code> for strings and the empty
+	 * list or map for lists and maps. Builders are not thread-safe.
+	 * @author Erik Torres <etserrano@gmail.com>
+	 */
+	public static final class Builder {
+
+		private final List<ParamSpec> specs = newArrayList();
+		private boolean stackless = false;
+
+		private Builder() {
+		}
+
+		/**
+		 * Declares a new parameter that does not accept <code>null</code> values.
+		 * @param name - name of the parameter, which is used in the error messages
+		 * @param type - type of the parameter
+		 * @return This builder.
+		 */
+		public Builder required(final String name, final Type type) {
+			return add(name, type, true);
+		}
+
+		/**
+		 * Declares a new parameter where <code>null</code> values (and empty values, when they are not allowed) are replaced with the
+		 * default value.
+		 * @param name - name of the parameter, which is used in the error messages
+		 * @param type - type of the parameter
+		 * @return This builder.
+		 */
+		public Builder optional(final String name, final Type type) {
+			return add(name, type, false);
+		}
+
+		/**
+		 * Sets whether empty strings, lists and maps are valid values of the last declared parameter.
+		 * @param allowEmpty - <code>true</code> to allow empty values
+		 * @return This builder.
+		 */
+		public Builder allowEmpty(final boolean allowEmpty) {
+			current().allowEmpty = allowEmpty;
+			return this;
+		}
+
+		/**
+		 * Removes the leading and trailing whitespaces of the last declared parameter before any other check is applied to it.
+		 * @return This builder.
+		 * @throws IllegalStateException When the last declared parameter is not a string.
+		 */
+		public Builder trim() {
+			final ParamSpec spec = current();
+			checkState(spec.type == Type.STRING, "Only string parameters can be trimmed");
+			spec.trim = true;
+			return this;
+		}
+
+		/**
+		 * Sets the value that replaces a missing value of the last declared parameter.
+		 * @param defaultValue - default value
+		 * @return This builder.
+		 * @throws IllegalStateException When the last declared parameter is required.
+		 */
+		public Builder defaultValue(final @Nullable Object defaultValue) {
+			final ParamSpec spec = current();
+			checkState(!spec.required, "Default values are only allowed in optional parameters");
+			spec.defaultValue = defaultValue;
+			return this;
+		}
+
+		/**
+		 * Sets the constraint applied to the elements (or to the values, in maps) of the last declared parameter. In maps, any constraint
+		 * other than {@link ElementConstraint#ANY} also rejects <code>null</code> keys.
+		 * @param elementConstraint - constraint applied to the elements
+		 * @return This builder.
+		 * @throws IllegalStateException When the last declared parameter is not a list or a map.
+		 */
+		public Builder elements(final ElementConstraint elementConstraint) {
+			final ParamSpec spec = current();
+			checkState(spec.type != Type.STRING, "Element constraints are only allowed in list and map parameters");
+			spec.elementConstraint = checkNotNull(elementConstraint, "Uninitialized constraint");
+			return this;
+		}
+
+		/**
+		 * Sets the maximum length of the strings or the maximum size of the lists and maps accepted in the last declared parameter.
+		 * @param maxSize - maximum length or size
+		 * @return This builder.
+		 */
+		public Builder maxSize(final int maxSize) {
+			checkArgument(maxSize >= 0, "Maximum size cannot be negative");
+			current().maxSize = maxSize;
+			return this;
+		}
+
+		/**
+		 * Sets whether the plan reports errors with {@link ValidationException}, which doesn't record the stack trace and is created once
+		 * per parameter and error when the plan is built. Otherwise, the plan throws the same exceptions as {@link ArgValidator}. This 
+		 * setting applies to all the parameters of the plan.
+		 * @param stackless - <code>true</code> to use stackless exceptions
+		 * @return This builder.
+		 */
+		public Builder stacklessExceptions(final boolean stackless) {
+			this.stackless = stackless;
+			return this;
+		}
+
+		/**
+		 * Compiles the declared parameters into a new plan. The builder can be used to declare more parameters after this method is called
+		 * without affecting the plans already built.
+		 * @return A new plan.
+		 */
+		public ValidationPlan build() {
+			final Param[] params = new Param[specs.size()];
+			for (int i = 0; i < params.length; i++) {
+				params[i] = new Param(specs.get(i), stackless);
+			}
+			return new ValidationPlan(params, stackless);
+		}
+
+		private Builder add(final String name, final Type type, final boolean required) {
+			checkArgument(isNotBlank(name), "Uninitialized or invalid name");
+			specs.add(new ParamSpec(name, checkNotNull(type, "Uninitialized type"), required));
+			return this;
+		}
+
+		private ParamSpec current() {
+			checkState(!specs.isEmpty(), "No parameter was declared");
+			return specs.get(specs.size() - 1);
+		}
+
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2015 Erik Torres
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.etorres.codexposed;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+
+import javax.annotation.Nullable;
+
+/**
+ * Result of a validation that doesn't throw exceptions. A result holds either the validated value or the error found in the input and the
+ * name of the parameter that caused it. The message describing the error is only created when it is requested. Results are immutable,
+ * and the results that describe an error hold no value, so they can be created once and shared between threads.
+ * @author Erik Torres <etserrano@gmail.com>
+ */
+public final class ValidationResult<T> {
+
+	private final T value;
+	private final ValidationError error;
+	private final String parameter;
+
+	private String message = null;
+
+	private ValidationResult(final T value, final ValidationError error, final String parameter) {
+		this.value = value;
+		this.error = error;
+		this.parameter = parameter;
+	}
+
+	/**
+	 * Creates a result holding a valid value.
+	 * @param value - validated value
+	 * @return A new valid result.
+	 */
+	public static <T> ValidationResult<T> valid(final @Nullable T value) {
+		return new ValidationResult<>(value, null, null);
+	}
+
+	/**
+	 * Creates a result describing an error.
+	 * @param error - error found in the input
+	 * @param parameter - (optional) name of the parameter that caused the error
+	 * @return A new invalid result.
+	 */
+	public static <T> ValidationResult<T> invalid(final ValidationError error, final @Nullable String parameter) {
+		return new ValidationResult<>(null, checkNotNull(error, "Uninitialized error"), parameter);
+	}
+
+	/**
+	 * Checks whether this result holds a valid value.
+	 * @return <code>true</code> if the input is valid, otherwise <code>false</code>.
+	 */
+	public boolean isValid() {
+		return error == null;
+	}
+
+	/**
+	 * Gets the validated value.
+	 * @return The validated value.
+	 * @throws IllegalStateException When this result describes an error.
+	 */
+	public T value() {
+		checkState(error == null, "Invalid result has no value");
+		return value;
+	}
+
+	/**
+	 * Gets the validated value or the specified value when this result describes an error.
+	 * @param defaultValue - value returned when this result describes an error
+	 * @return The validated value or the default value.
+	 */
+	public T or(final @Nullable T defaultValue) {
+		return error == null ? value : defaultValue;
+	}
+
+	/**
+	 * Gets the error found in the input.
+	 * @return The error, or <code>null</code> when the result is valid.
+	 */
+	public @Nullable ValidationError error() {
+		return error;
+	}
+
+	/**
+	 * Gets the name of the parameter that caused the error.
+	 * @return The name of the parameter, or <code>null</code> when the result is valid or the error is not related to a parameter.
+	 */
+	public @Nullable String parameter() {
+		return parameter;
+	}
+
+	/**
+	 * Gets a message describing the error found in the input. The message is created the first time it is requested.
+	 * @return The message, or <code>null</code> when the result is valid.
+	 */
+	public @Nullable String message() {
+		String message2 = message;
+		if (message2 == null && error != null) {
+			message = message2 = parameter != null ? error.description() + ": " + parameter : error.description();
+		}
+		return message2;
+	}
+
+	/**
+	 * Converts this result to a result of a different type. Only results describing an error can be converted, since they hold no value.
+	 * @return This result.
+	 * @throws IllegalStateException When this result is valid.
+	 */
+	@SuppressWarnings("unchecked")
+	public <U> ValidationResult<U> asError() {
+		checkState(error != null, "Valid result cannot be converted");
+		return (ValidationResult<U>)this;
+	}
+
+	@Override
+	public String toString() {
+		return toStringHelper(this)
+				.add("value", value)
+				.add("error", error)
+				.add("parameter", parameter)
+				.toString();
+	}
+
+}
\ No newline at end of file
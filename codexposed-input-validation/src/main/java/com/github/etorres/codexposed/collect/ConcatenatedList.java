@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2015 Erik Torres
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.etorres.codexposed.collect;
+
+import static com.google.common.base.Preconditions.checkElementIndex;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * List that presents two lists as a single one without copying their elements. Creating the list and reading its elements take constant
+ * time, and changes to the backing lists are visible through it. The first operation that modifies this list copies the elements of both
+ * lists to a private array list, which is used from that moment on, so the backing lists are never modified. Backing lists that don't
+ * support fast random access are copied on creation. This class is not synchronized.
+ * @author Erik Torres <etserrano@gmail.com>
+ */
+public class ConcatenatedList<E> extends AbstractList<E> implements RandomAccess {
+
+	private List<? extends E> first;
+	private List<? extends E> second;
+	private ArrayList<E> copy = null;
+
+	public ConcatenatedList(final List<? extends E> first, final List<? extends E> second) {
+		this.first = randomAccess(checkNotNull(first, "Uninitialized first list"));
+		this.second = randomAccess(checkNotNull(second, "Uninitialized second list"));
+	}
+
+	@Override
+	public E get(final int index) {
+		if (copy != null) {
+			return copy.get(index);
+		}
+		final int firstSize = first.size();
+		checkElementIndex(index, firstSize + second.size());
+		return index < firstSize ? first.get(index) : second.get(index - firstSize);
+	}
+
+	@Override
+	public int size() {
+		return copy != null ? copy.size() : first.size() + second.size();
+	}
+
+	@Override
+	public E set(final int index, final E element) {
+		return mutable().set(index, element);
+	}
+
+	@Override
+	public void add(final int index, final E element) {
+		mutable().add(index, element);
+		modCount++;
+	}
+
+	@Override
+	public E remove(final int index) {
+		final E element = mutable().remove(index);
+		modCount++;
+		return element;
+	}
+
+	@Override
+	public void clear() {
+		mutable().clear();
+		modCount++;
+	}
+
+	/**
+	 * Checks whether the elements of the backing lists were copied to this list.
+	 * @return <code>true</code> when this list was modified and no longer reads the backing lists, otherwise <code>false</code>.
+	 */
+	public boolean isCopied() {
+		return copy != null;
+	}
+
+	private ArrayList<E> mutable() {
+		if (copy == null) {
+			final ArrayList<E> copy2 = new ArrayList<>(first.size() + second.size());
+			copy2.addAll(first);
+			copy2.addAll(second);
+			copy = copy2;
+			first = null;
+			second = null;
+		}
+		return copy;
+	}
+
+	private static <T> List<? extends T> randomAccess(final List<? extends T> list) {
+		return list instanceof RandomAccess ? list : new ArrayList<>(list);
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,258 @@
+/*
+ * Copyright (c) 2015 Erik Torres
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.etorres.codexposed.collect;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+
+import java.util.Arrays;
+
+/**
+ * Hash map with primitive <code>long</code> keys, which stores keys and values in two flat arrays and resolves collisions with linear
+ * probing. Unlike a {@link java.util.Map} with {@link Long} keys, no key is boxed and no entry object is allocated per mapping. Removed
+ * mappings are purged immediately by shifting back the mappings that follow them. This class is not synchronized and does not support
+ * <code>null</code> values.
+ * @author Erik Torres <etserrano@gmail.com>
+ */
+public class LongKeyMap<V> {
+
+	private static final int DEFAULT_CAPACITY = 16;
+	private static final int MAXIMUM_CAPACITY = 1 << 30;
+
+	private long[] keys;
+	private Object[] values;
+	private int size = 0;
+	private int threshold;
+
+	public LongKeyMap() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	public LongKeyMap(final int expectedSize) {
+		checkArgument(expectedSize >= 0, "Expected size cannot be negative");
+		allocate(tableSizeFor(expectedSize));
+	}
+
+	public LongKeyMap(final LongKeyMap<? extends V> initial) {
+		this(checkNotNull(initial, "Uninitialized map").size());
+		putAll(initial);
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	public boolean containsKey(final long key) {
+		return indexOf(key) >= 0;
+	}
+
+	@SuppressWarnings("unchecked")
+	public V get(final long key) {
+		final int index = indexOf(key);
+		return index >= 0 ? (V)values[index] : null;
+	}
+
+	/**
+	 * Associates the specified value with the specified key in this map.
+	 * @param key - key with which the value is to be associated
+	 * @param value - value to be associated with the key
+	 * @return The previous value associated with the key, or <code>null</code> if there was no mapping for the key.
+	 * @throws NullPointerException When the value is <code>null</code>.
+	 */
+	@SuppressWarnings("unchecked")
+	public V put(final long key, final V value) {
+		checkNotNull(value, "Uninitialized value");
+		final int mask = keys.length - 1;
+		int index = hash(key) & mask;
+		while (values[index] != null) {
+			if (keys[index] == key) {
+				final V previous = (V)values[index];
+				values[index] = value;
+				return previous;
+			}
+			index = (index + 1) & mask;
+		}
+		keys[index] = key;
+		values[index] = value;
+		if (++size > threshold) {
+			rehash();
+		}
+		return null;
+	}
+
+	/**
+	 * Copies all of the mappings from the specified map to this map, replacing the values of the keys that are already in this map.
+	 * @param map - mappings to be stored in this map
+	 */
+	public void putAll(final LongKeyMap<? extends V> map) {
+		checkNotNull(map, "Uninitialized map");
+		for (int i = 0; i < map.values.length; i++) {
+			if (map.values[i] != null) {
+				put(map.keys[i], map.valueAt(i));
+			}
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	public V remove(final long key) {
+		int index = indexOf(key);
+		if (index < 0) {
+			return null;
+		}
+		final V previous = (V)values[index];
+		// shift back the mappings of the same cluster that can be found closer to their home slot
+		final int mask = keys.length - 1;
+		int next = (index + 1) & mask;
+		while (values[next] != null) {
+			final int home = hash(keys[next]) & mask;
+			if (((next - home) & mask) >= ((next - index) & mask)) {
+				keys[index] = keys[next];
+				values[index] = values[next];
+				index = next;
+			}
+			next = (next + 1) & mask;
+		}
+		values[index] = null;
+		size--;
+		return previous;
+	}
+
+	public void clear() {
+		if (size > 0) {
+			Arrays.fill(values, null);
+			size = 0;
+		}
+	}
+
+	/**
+	 * Gets the keys of this map in no particular order.
+	 * @return A new array containing the keys of this map.
+	 */
+	public long[] keys() {
+		final long[] keys2 = new long[size];
+		for (int i = 0, j = 0; i < values.length; i++) {
+			if (values[i] != null) {
+				keys2[j++] = keys[i];
+			}
+		}
+		return keys2;
+	}
+
+	@Override
+	public boolean equals(final Object obj) {
+		if (obj == this) {
+			return true;
+		}
+		if (!(obj instanceof LongKeyMap)) {
+			return false;
+		}
+		final LongKeyMap<?> other = (LongKeyMap<?>)obj;
+		if (other.size != size) {
+			return false;
+		}
+		for (int i = 0; i < values.length; i++) {
+			if (values[i] != null && !values[i].equals(other.get(keys[i]))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public int hashCode() {
+		int hashCode = 0;
+		for (int i = 0; i < values.length; i++) {
+			if (values[i] != null) {
+				hashCode += (int)(keys[i] ^ (keys[i] >>> 32)) ^ values[i].hashCode();
+			}
+		}
+		return hashCode;
+	}
+
+	@Override
+	public String toString() {
+		final StringBuilder builder = new StringBuilder("{");
+		for (int i = 0; i < values.length; i++) {
+			if (values[i] != null) {
+				if (builder.length() > 1) {
+					builder.append(", ");
+				}
+				builder.append(keys[i]).append('=').append(values[i]);
+			}
+		}
+		return builder.append('}').toString();
+	}
+
+	@SuppressWarnings("unchecked")
+	private V valueAt(final int index) {
+		return (V)values[index];
+	}
+
+	private int indexOf(final long key) {
+		final int mask = keys.length - 1;
+		int index = hash(key) & mask;
+		while (values[index] != null) {
+			if (keys[index] == key) {
+				return index;
+			}
+			index = (index + 1) & mask;
+		}
+		return -1;
+	}
+
+	private void rehash() {
+		final long[] oldKeys = keys;
+		final Object[] oldValues = values;
+		final int capacity = oldKeys.length << 1;
+		checkState(capacity <= MAXIMUM_CAPACITY, "Maximum capacity exceeded");
+		allocate(capacity);
+		final int mask = capacity - 1;
+		for (int i = 0; i < oldKeys.length; i++) {
+			if (oldValues[i] != null) {
+				int index = hash(oldKeys[i]) & mask;
+				while (values[index] != null) {
+					index = (index + 1) & mask;
+				}
+				keys[index] = oldKeys[i];
+				values[index] = oldValues[i];
+			}
+		}
+	}
+
+	private void allocate(final int capacity) {
+		keys = new long[capacity];
+		values = new Object[capacity];
+		threshold = (int)(capacity * 0.75f);
+	}
+
+	private static int tableSizeFor(final int expectedSize) {
+		final int minimum = (int)Math.min(MAXIMUM_CAPACITY, (long)Math.ceil(expectedSize / 0.75d) + 1L);
+		return Math.max(DEFAULT_CAPACITY, Integer.highestOneBit(minimum - 1) << 1);
+	}
+
+	private static int hash(final long key) {
+		// spread the bits of the key since linear probing is very sensitive to clustering
+		final long h = key * 0x9e3779b97f4a7c15L;
+		return (int)(h ^ (h >>> 32));
+	}
+
+}
\ No newline at end of file
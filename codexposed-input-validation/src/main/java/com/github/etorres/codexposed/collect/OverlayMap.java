@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2015 Erik Torres
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.etorres.codexposed.collect;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.collect.Maps.newHashMapWithExpectedSize;
+
+import java.util.AbstractMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Map that merges two maps without copying their mappings, where the mappings of the overlay map shadow the mappings of the base map
+ * with the same key. Lookups are resolved against the overlay map first, falling through to the base map when the key is not found, and
+ * changes to the backing maps are visible through this map. The first operation that iterates over or modifies this map merges both
+ * maps into a private hash map, which is used from that moment on, so the backing maps are never modified. This class is not
+ * synchronized.
+ * @author Erik Torres <etserrano@gmail.com>
+ */
+public class OverlayMap<K, V> extends AbstractMap<K, V> {
+
+	private Map<? extends K, ? extends V> base;
+	private Map<? extends K, ? extends V> overlay;
+	private Map<K, V> copy = null;
+
+	public OverlayMap(final Map<? extends K, ? extends V> base, final Map<? extends K, ? extends V> overlay) {
+		this.base = checkNotNull(base, "Uninitialized base map");
+		this.overlay = checkNotNull(overlay, "Uninitialized overlay map");
+	}
+
+	@Override
+	public V get(final Object key) {
+		if (copy != null) {
+			return copy.get(key);
+		}
+		final V value = overlay.get(key);
+		return value != null || overlay.containsKey(key) ? value : base.get(key);
+	}
+
+	@Override
+	public boolean containsKey(final Object key) {
+		return copy != null ? copy.containsKey(key) : overlay.containsKey(key) || base.containsKey(key);
+	}
+
+	@Override
+	public int size() {
+		if (copy != null) {
+			return copy.size();
+		}
+		// only the keys of the overlay that are not shadowing a key of the base are added to the size
+		int size = base.size();
+		for (final K key : overlay.keySet()) {
+			if (!base.containsKey(key)) {
+				size++;
+			}
+		}
+		return size;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return copy != null ? copy.isEmpty() : base.isEmpty() && overlay.isEmpty();
+	}
+
+	@Override
+	public V put(final K key, final V value) {
+		return merged().put(key, value);
+	}
+
+	@Override
+	public V remove(final Object key) {
+		return merged().remove(key);
+	}
+
+	@Override
+	public void clear() {
+		merged().clear();
+	}
+
+	@Override
+	public Set<Map.Entry<K, V>> entrySet() {
+		return merged().entrySet();
+	}
+
+	/**
+	 * Checks whether the mappings of the backing maps were merged into this map.
+	 * @return <code>true</code> when this map was iterated or modified and no longer reads the backing maps, otherwise <code>false</code>.
+	 */
+	public boolean isMerged() {
+		return copy != null;
+	}
+
+	private Map<K, V> merged() {
+		if (copy == null) {
+			final Map<K, V> copy2 = newHashMapWithExpectedSize(base.size() + overlay.size());
+			copy2.putAll(base);
+			copy2.putAll(overlay);
+			copy = copy2;
+			base = null;
+			overlay = null;
+		}
+		return copy;
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,295 @@
+/*
+ * Copyright (c) 2015 Erik Torres
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.etorres.codexposed.collect;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkElementIndex;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import javax.annotation.Nullable;
+
+/**
+ * Merges large lists and maps of strings, trimming and checking for <code>null</code> every element of the merged collections. When the
+ * total number of elements reaches a configurable threshold, the work is split in chunks that are processed in parallel in a fork-join
+ * pool. Below the threshold, the elements are processed in the calling thread and no task is created.
+ * @author Erik Torres <etserrano@gmail.com>
+ */
+public final class ParallelMerge {
+
+	/**
+	 * Minimum number of elements processed by a single task.
+	 */
+	public static final int MIN_CHUNK_SIZE = 1024;
+
+	private final ForkJoinPool pool;
+	private final int threshold;
+
+	/**
+	 * Creates a new merger.
+	 * @param pool - (optional) pool where the parallel tasks are executed, the {@link #sharedPool() shared pool} is used when no pool is
+	 *        specified
+	 * @param threshold - minimum number of elements that triggers the parallel execution
+	 */
+	public ParallelMerge(final @Nullable ForkJoinPool pool, final int threshold) {
+		this.pool = pool;
+		checkArgument(threshold >= 0, "Threshold cannot be negative");
+		this.threshold = threshold;
+	}
+
+	/**
+	 * Gets a pool that is shared by all the mergers that don't specify their own pool. The pool is created the first time it is requested,
+	 * with one thread per available processor. Its worker threads are daemon threads.
+	 * @return The shared pool.
+	 */
+	public static ForkJoinPool sharedPool() {
+		return SharedPoolHolder.POOL;
+	}
+
+	/**
+	 * Creates a new list that contains the trimmed elements of the first list followed by the trimmed elements of the second list. The
+	 * returned list is backed by the array where the elements are merged, so it's returned without copying the elements. Adding or 
+	 * removing elements copies them to an array list the first time.
+	 * @param first - first list
+	 * @param second - second list
+	 * @return A new list combining both lists.
+	 * @throws NullPointerException When any of the lists contains a <code>null</code> element.
+	 */
+	public List<String> mergeLists(final List<String> first, final List<String> second) {
+		final Object[] firstElements = checkNotNull(first, "Uninitialized first list").toArray();
+		final Object[] secondElements = checkNotNull(second, "Uninitialized second list").toArray();
+		final String[] merged = new String[firstElements.length + secondElements.length];
+		final int chunkSize = chunkSize(merged.length);
+		final TrimTask task1 = new TrimTask(firstElements, merged, 0, 0, firstElements.length, chunkSize);
+		final TrimTask task2 = new TrimTask(secondElements, merged, firstElements.length, 0, secondElements.length, chunkSize);
+		if (chunkSize == Integer.MAX_VALUE) {
+			task1.compute();
+			task2.compute();
+		} else {
+			pool().invoke(new RecursiveAction() {
+				private static final long serialVersionUID = 4913602873719442851L;
+				@Override
+				protected void compute() {
+					invokeAll(task1, task2);
+				}
+			});
+		}
+		return new MergedList(merged);
+	}
+
+	/**
+	 * Creates a new map that contains the mappings of both maps, where the mappings of the second map replace the mappings of the first
+	 * map with the same key. Values are trimmed.
+	 * @param first - first map
+	 * @param second - second map
+	 * @return A new, thread-safe map combining both maps.
+	 * @throws NullPointerException When any of the maps contains a <code>null</code> key or value.
+	 */
+	public Map<String, String> mergeMaps(final Map<String, String> first, final Map<String, String> second) {
+		final Object[] firstEntries = checkNotNull(first, "Uninitialized first map").entrySet().toArray();
+		final Object[] secondEntries = checkNotNull(second, "Uninitialized second map").entrySet().toArray();
+		final int total = firstEntries.length + secondEntries.length;
+		final int chunkSize = chunkSize(total);
+		final boolean parallel = chunkSize != Integer.MAX_VALUE;
+		final ConcurrentHashMap<String, String> merged = new ConcurrentHashMap<>(Math.max(16, (int)(total / 0.75f) + 1), 0.75f, 
+				parallel ? pool().getParallelism() : 1);
+		// the second map is merged after the first one has been completely merged, so its mappings always win
+		final PutTask task1 = new PutTask(firstEntries, merged, 0, firstEntries.length, chunkSize);
+		final PutTask task2 = new PutTask(secondEntries, merged, 0, secondEntries.length, chunkSize);
+		if (parallel) {
+			pool().invoke(task1);
+			pool().invoke(task2);
+		} else {
+			task1.compute();
+			task2.compute();
+		}
+		return merged;
+	}
+
+	/**
+	 * Computes the maximum number of elements processed by a single task, which is unlimited when the elements are processed in the
+	 * calling thread.
+	 */
+	private int chunkSize(final int total) {
+		return total < threshold ? Integer.MAX_VALUE : Math.max(MIN_CHUNK_SIZE, total / (pool().getParallelism() << 2));
+	}
+
+	private ForkJoinPool pool() {
+		return pool != null ? pool : sharedPool();
+	}
+
+	private static String trimElement(final Object element) {
+		return checkNotNull((String)element, "Null elements are not allowed").trim();
+	}
+
+	/**
+	 * Trims a range of elements from a source array, storing the results in a destination array.
+	 */
+	private static final class TrimTask extends RecursiveAction {
+
+		private static final long serialVersionUID = -2871290553870618337L;
+
+		private final Object[] src;
+		private final String[] dest;
+		private final int offset;
+		private final int from;
+		private final int to;
+		private final int chunkSize;
+
+		private TrimTask(final Object[] src, final String[] dest, final int offset, final int from, final int to, final int chunkSize) {
+			this.src = src;
+			this.dest = dest;
+			this.offset = offset;
+			this.from = from;
+			this.to = to;
+			this.chunkSize = chunkSize;
+		}
+
+		@Override
+		protected void compute() {
+			if (to - from <= chunkSize) {
+				for (int i = from; i < to; i++) {
+					dest[offset + i] = trimElement(src[i]);
+				}
+			} else {
+				final int middle = (from + to) >>> 1;
+				invokeAll(new TrimTask(src, dest, offset, from, middle, chunkSize), 
+						new TrimTask(src, dest, offset, middle, to, chunkSize));
+			}
+		}
+
+	}
+
+	/**
+	 * Puts a range of entries from a source array into a destination map, trimming the values.
+	 */
+	private static final class PutTask extends RecursiveAction {
+
+		private static final long serialVersionUID = 6690735364316436702L;
+
+		private final Object[] src;
+		private final ConcurrentHashMap<String, String> dest;
+		private final int from;
+		private final int to;
+		private final int chunkSize;
+
+		private PutTask(final Object[] src, final ConcurrentHashMap<String, String> dest, final int from, final int to, final int chunkSize) {
+			this.src = src;
+			this.dest = dest;
+			this.from = from;
+			this.to = to;
+			this.chunkSize = chunkSize;
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		protected void compute() {
+			if (to - from <= chunkSize) {
+				for (int i = from; i < to; i++) {
+					final Map.Entry<String, String> entry = (Map.Entry<String, String>)src[i];
+					dest.put(checkNotNull(entry.getKey(), "Null keys are not allowed"), trimElement(entry.getValue()));
+				}
+			} else {
+				final int middle = (from + to) >>> 1;
+				invokeAll(new PutTask(src, dest, from, middle, chunkSize), new PutTask(src, dest, middle, to, chunkSize));
+			}
+		}
+
+	}
+
+	/**
+	 * Mutable list backed by the array of merged elements. Reads and replacements access the array directly, while the first operation
+	 * that adds or removes elements copies them to a private array list, which is used from that moment on.
+	 */
+	private static final class MergedList extends AbstractList<String> implements RandomAccess {
+
+		private String[] elements;
+		private ArrayList<String> copy = null;
+
+		private MergedList(final String[] elements) {
+			this.elements = elements;
+		}
+
+		@Override
+		public String get(final int index) {
+			if (copy != null) {
+				return copy.get(index);
+			}
+			checkElementIndex(index, elements.length);
+			return elements[index];
+		}
+
+		@Override
+		public int size() {
+			return copy != null ? copy.size() : elements.length;
+		}
+
+		@Override
+		public String set(final int index, final String element) {
+			if (copy != null) {
+				return copy.set(index, element);
+			}
+			checkElementIndex(index, elements.length);
+			final String previous = elements[index];
+			elements[index] = element;
+			return previous;
+		}
+
+		@Override
+		public void add(final int index, final String element) {
+			resizable().add(index, element);
+			modCount++;
+		}
+
+		@Override
+		public String remove(final int index) {
+			final String element = resizable().remove(index);
+			modCount++;
+			return element;
+		}
+
+		@Override
+		public void clear() {
+			copy = new ArrayList<>();
+			elements = null;
+			modCount++;
+		}
+
+		private ArrayList<String> resizable() {
+			if (copy == null) {
+				copy = new ArrayList<>(Arrays.asList(elements));
+				elements = null;
+			}
+			return copy;
+		}
+
+	}
+
+	private static final class SharedPoolHolder {
+		private static final ForkJoinPool POOL = new ForkJoinPool();
+	}
+
+}
\ No newline at end of file
@@ -27,7 +27,10 @@ import org.junit.runners.Suite.SuiteClasses;
  * @author Erik Torres <etserrano@gmail.com>
  */
 @RunWith(Suite.class)
-@SuiteClasses({ StringArgValidatorTest.class, ListArgValidatorTest.class, MapArgValidatorTest.class })
+@SuiteClasses({ StringArgValidatorTest.class, ListArgValidatorTest.class, MapArgValidatorTest.class,
+	ConcatenatedListTest.class, OverlayMapTest.class, ValidationPlanTest.class, BatchValidationTest.class,
+	ValidationResultTest.class, ParallelMergeTest.class, PrimitiveArgValidatorTest.class, LongKeyMapTest.class,
+	ValidationMetricsTest.class })
 public class AllUnitTests {
 
 	@BeforeClass
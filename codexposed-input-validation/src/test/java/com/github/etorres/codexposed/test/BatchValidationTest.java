@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2015 Erik Torres
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.etorres.codexposed.test;
+
+import static com.github.etorres.codexposed.ArgValidator.MAP_PARAMS2_PLAN;
+import static com.github.etorres.codexposed.ArgValidator.STRING_PARAMS2_PLAN;
+import static com.google.common.collect.Lists.newArrayList;
+import static com.google.common.collect.Maps.newHashMap;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.github.etorres.codexposed.ArgValidator;
+import com.github.etorres.codexposed.BatchValidationResult;
+import com.github.etorres.codexposed.ValidationError;
+import com.github.etorres.codexposed.ValidationPlan;
+import com.google.common.collect.ImmutableMap;
+
+/**
+ * Tests the batch validation of {@link ValidationPlan}.
+ * @author Erik Torres <etserrano@gmail.com>
+ */
+public class BatchValidationTest {
+
+	@BeforeClass
+	public static void setup() throws Exception {
+		System.out.println("    >> BatchValidationTest.setup()");
+	}
+
+	@AfterClass
+	public static void cleanup() {
+		System.out.println("    >> BatchValidationTest.cleanup()");
+	}
+
+	@Test
+	public void testStringRecords() {
+		System.out.println("    >> BatchValidationTest.testStringRecords()");
+		final Object[][] records = { 
+				{ "a1", "a2" },
+				{ null, "a2" },
+				{ " ", "a2" },
+				{ "a1", null },
+				{ "a1" },
+				null,
+				{ 1, "a2" }
+		};
+		final ValidationError[] expected = { null, ValidationError.NULL_VALUE, ValidationError.EMPTY_VALUE, null, 
+				ValidationError.WRONG_NUMBER_OF_ARGUMENTS, ValidationError.WRONG_NUMBER_OF_ARGUMENTS, ValidationError.INVALID_TYPE };
+		assertResult(STRING_PARAMS2_PLAN.validateAll(records), expected);
+		final List<Object[]> list = newArrayList(records);
+		assertResult(STRING_PARAMS2_PLAN.validateAll(list), expected);
+		// iterables of unknown size
+		assertResult(STRING_PARAMS2_PLAN.validateAll(new Iterable<Object[]>() {
+			@Override
+			public Iterator<Object[]> iterator() {
+				return list.iterator();
+			}
+		}), expected);
+	}
+
+	@Test
+	public void testMapRecords() {
+		System.out.println("    >> BatchValidationTest.testMapRecords()");
+		final Object[][] records = { 
+				{ ImmutableMap.of("a1", "v1"), null },
+				{ ImmutableMap.of(), ImmutableMap.of("a1", "v1") }
+		};
+		assertResult(MAP_PARAMS2_PLAN.validateAll(records), new ValidationError[]{ null, ValidationError.EMPTY_VALUE });
+	}
+
+	@SuppressWarnings("unchecked")
+	@Test
+	public void testNullMappings() {
+		System.out.println("    >> BatchValidationTest.testNullMappings()");
+		final Map<String, String> valid = ImmutableMap.of("a1", "v1");
+		final Map<String, String> nullKey = newHashMap();
+		nullKey.put(null, "v1");
+		final Map<String, String> nullValue = newHashMap();
+		nullValue.put("a1", null);
+		final Object[][] records = { 
+				{ valid, valid },
+				{ nullKey, valid },
+				{ nullValue, valid },
+				{ valid, nullKey },
+				{ valid, nullValue }
+		};
+		final ValidationError[] expected = { null, ValidationError.INVALID_ELEMENT, ValidationError.INVALID_ELEMENT, 
+				ValidationError.INVALID_ELEMENT, ValidationError.INVALID_ELEMENT };
+		final BatchValidationResult result = MAP_PARAMS2_PLAN.validateAll(records);
+		assertResult(result, expected);
+		// the plan agrees with the method that it replaces
+		final ArgValidator validator = new ArgValidator();
+		for (int i = 0; i < records.length; i++) {
+			boolean accepted = true;
+			try {
+				validator.mapParams2((Map<String, String>)records[i][0], (Map<String, String>)records[i][1]);
+			} catch (NullPointerException e) {
+				accepted = false;
+			}
+			assertThat("plan coincides with method", result.isValid(i), equalTo(accepted));
+		}
+	}
+
+	@Test
+	public void testLargeBatch() {
+		System.out.println("    >> BatchValidationTest.testLargeBatch()");
+		final int size = 100000;
+		final List<Object[]> records = newArrayList();
+		for (int i = 0; i < size; i++) {
+			records.add(new Object[]{ i % 10 == 0 ? null : "a" + i, "b" + i });
+		}
+		final BatchValidationResult result = STRING_PARAMS2_PLAN.validateAll(records);
+		/* uncomment for additional output */
+		System.out.println("        >> Result: " + result);
+		assertThat("result size coincides with expected", result.size(), equalTo(size));
+		assertThat("valid records coincide with expected", result.validCount(), equalTo(size - size / 10));
+		assertThat("next invalid record coincides with expected", result.nextInvalid(1), equalTo(10));
+		assertThat("last invalid record coincides with expected", result.nextInvalid(size - 9), equalTo(-1));
+	}
+
+	private static void assertResult(final BatchValidationResult result, final ValidationError[] expected) {
+		assertThat("result size coincides with expected", result.size(), equalTo(expected.length));
+		for (int i = 0; i < expected.length; i++) {
+			assertThat("record validity coincides with expected", result.isValid(i), equalTo(expected[i] == null));
+			assertThat("record error coincides with expected", result.error(i), equalTo(expected[i]));
+			assertThat("record error code coincides with expected", result.errorCode(i), 
+					equalTo(expected[i] != null ? expected[i].code() : ValidationError.NO_ERROR));
+		}
+		assertThat("all records are valid", result.allValid(), equalTo(false));
+		assertThat("no error", ValidationError.fromCode(ValidationError.NO_ERROR), nullValue());
+	}
+
+}
\ No newline at end of file
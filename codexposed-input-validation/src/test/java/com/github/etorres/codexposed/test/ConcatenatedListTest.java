@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2015 Erik Torres
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.etorres.codexposed.test;
+
+import static com.google.common.collect.Lists.newArrayList;
+import static com.google.common.collect.Lists.newLinkedList;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.RandomAccess;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.github.etorres.codexposed.collect.ConcatenatedList;
+
+/**
+ * Tests {@link ConcatenatedList}.
+ * @author Erik Torres <etserrano@gmail.com>
+ */
+public class ConcatenatedListTest {
+
+	@BeforeClass
+	public static void setup() throws Exception {
+		System.out.println("    >> ConcatenatedListTest.setup()");
+	}
+
+	@AfterClass
+	public static void cleanup() {
+		System.out.println("    >> ConcatenatedListTest.cleanup()");
+	}
+
+	@Test
+	public void testView() {
+		System.out.println("    >> ConcatenatedListTest.testView()");
+		final List<String> first = newArrayList("a1", "a2");
+		final List<String> second = newArrayList("b1");
+		final ConcatenatedList<String> list = new ConcatenatedList<>(first, second);
+		assertThat("list is random access", list, instanceOf(RandomAccess.class));
+		assertThat("list coincides with expected", list, equalTo((List<String>)newArrayList("a1", "a2", "b1")));
+		assertThat("element coincides with expected", list.get(2), equalTo("b1"));
+		assertThat("index coincides with expected", list.indexOf("a2"), equalTo(1));
+		// changes to the backing lists are visible through the view
+		second.add("b2");
+		assertThat("list size coincides with expected", list.size(), equalTo(4));
+		assertThat("list was not copied", list.isCopied(), equalTo(false));
+		assertThat("empty list coincides with expected", new ConcatenatedList<>(Collections.<String>emptyList(), 
+				Collections.<String>emptyList()).isEmpty(), equalTo(true));
+	}
+
+	@Test
+	public void testCopyOnWrite() {
+		System.out.println("    >> ConcatenatedListTest.testCopyOnWrite()");
+		final List<String> first = newArrayList("a1", "a2");
+		final List<String> second = newLinkedList(newArrayList("b1", "b2"));
+		final ConcatenatedList<String> list = new ConcatenatedList<>(first, second);
+		list.set(0, "c1");
+		list.add("c2");
+		list.remove("a2");
+		assertThat("list was copied", list.isCopied(), equalTo(true));
+		assertThat("list coincides with expected", list, equalTo((List<String>)newArrayList("c1", "b1", "b2", "c2")));
+		assertThat("first list was not modified", first, equalTo((List<String>)newArrayList("a1", "a2")));
+		assertThat("second list was not modified", second, equalTo((List<String>)newArrayList("b1", "b2")));
+		list.clear();
+		assertThat("list is empty", list.isEmpty(), equalTo(true));
+	}
+
+	@Test(expected = IndexOutOfBoundsException.class)
+	public void testInvalidIndex() {
+		System.out.println("    >> ConcatenatedListTest.testInvalidIndex()");
+		new ConcatenatedList<>(newArrayList("a1"), newArrayList("b1")).get(2);
+	}
+
+}
\ No newline at end of file
@@ -90,6 +90,9 @@ public class ListArgValidatorTest {
 		assertList(validator.listParams(required, optional));
 		assertList(validator.immutableListParams(required, optional));
 		assertList(validator.mutableListParams(required, optional));
+		assertList(validator.lazyListParams(required, optional));
+		assertList(validator.lazyListParams2(required, optional));
+		assertList(validator.bulkListParams(required, optional));
 	}
 
 	private void assertList(final List<String> result) {
@@ -120,4 +123,12 @@ public class ListArgValidatorTest {
 		validator.listParams2(required, optional);
 	}
 
+	@Test(expected = IllegalArgumentException.class)
+	public void testEmptyLazyValue() {
+		assumeTrue(EMPTY_LIST.equals(type));
+		System.out.println("    >> ListArgValidatorTest.testEmptyLazyValue()");
+		final ArgValidator validator = new ArgValidator();
+		validator.lazyListParams2(required, optional);
+	}
+
 }
\ No newline at end of file
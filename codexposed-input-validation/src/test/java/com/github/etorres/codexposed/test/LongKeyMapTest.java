@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2015 Erik Torres
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.etorres.codexposed.test;
+
+import static com.google.common.collect.Maps.newHashMap;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.github.etorres.codexposed.collect.LongKeyMap;
+
+/**
+ * Tests {@link LongKeyMap}.
+ * @author Erik Torres <etserrano@gmail.com>
+ */
+public class LongKeyMapTest {
+
+	@BeforeClass
+	public static void setup() throws Exception {
+		System.out.println("    >> LongKeyMapTest.setup()");
+	}
+
+	@AfterClass
+	public static void cleanup() {
+		System.out.println("    >> LongKeyMapTest.cleanup()");
+	}
+
+	@Test
+	public void testOperations() {
+		System.out.println("    >> LongKeyMapTest.testOperations()");
+		final LongKeyMap<String> map = new LongKeyMap<>();
+		assertThat("map is empty", map.isEmpty(), equalTo(true));
+		assertThat("previous value is null", map.put(0L, "v0"), nullValue());
+		assertThat("previous value coincides with expected", map.put(0L, "w0"), equalTo("v0"));
+		map.put(Long.MIN_VALUE, "min");
+		map.put(Long.MAX_VALUE, "max");
+		assertThat("map size coincides with expected", map.size(), equalTo(3));
+		assertThat("value coincides with expected", map.get(Long.MIN_VALUE), equalTo("min"));
+		assertThat("map contains key", map.containsKey(Long.MAX_VALUE), equalTo(true));
+		assertThat("missing value is null", map.get(1L), nullValue());
+		assertThat("removed value coincides with expected", map.remove(0L), equalTo("w0"));
+		assertThat("copy coincides with original", new LongKeyMap<>(map), equalTo(map));
+		final long[] keys = map.keys();
+		Arrays.sort(keys);
+		assertThat("keys coincide with expected", keys, equalTo(new long[]{ Long.MIN_VALUE, Long.MAX_VALUE }));
+		map.clear();
+		assertThat("map is empty", map.isEmpty(), equalTo(true));
+	}
+
+	@Test
+	public void testRandomOperations() {
+		System.out.println("    >> LongKeyMapTest.testRandomOperations()");
+		final Random random = new Random(20150425L);
+		final LongKeyMap<String> map = new LongKeyMap<>();
+		final Map<Long, String> expected = newHashMap();
+		for (int i = 0; i < 100000; i++) {
+			// small key range produces collisions and long clusters
+			final long key = random.nextInt(4096) * 1024L;
+			if (random.nextInt(3) == 0) {
+				assertThat("removed value coincides with expected", map.remove(key), equalTo(expected.remove(key)));
+			} else {
+				assertThat("previous value coincides with expected", map.put(key, "v" + i), equalTo(expected.put(key, "v" + i)));
+			}
+		}
+		assertThat("map size coincides with expected", map.size(), equalTo(expected.size()));
+		for (final Map.Entry<Long, String> entry : expected.entrySet()) {
+			assertThat("value coincides with expected", map.get(entry.getKey()), equalTo(entry.getValue()));
+		}
+	}
+
+	@Test(expected = NullPointerException.class)
+	public void testNullValue() {
+		System.out.println("    >> LongKeyMapTest.testNullValue()");
+		new LongKeyMap<String>().put(1L, null);
+	}
+
+}
\ No newline at end of file
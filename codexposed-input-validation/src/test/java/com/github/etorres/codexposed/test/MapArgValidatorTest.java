@@ -17,9 +17,11 @@
 package com.github.etorres.codexposed.test;
 
 import static com.google.common.collect.ImmutableMap.of;
+import static com.google.common.collect.Maps.newHashMap;
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.notNullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.fail;
 import static org.junit.Assume.assumeTrue;
 
 import java.util.List;
@@ -91,6 +93,9 @@ public class MapArgValidatorTest {
 		assertMap(validator.mapParams(required, optional));
 		assertMap(validator.immutableMapParams(required, optional));
 		assertMap(validator.mutableMapParams(required, optional));
+		assertMap(validator.lazyMapParams(required, optional));
+		assertMap(validator.lazyMapParams2(required, optional));
+		assertMap(validator.bulkMapParams(required, optional));
 	}
 
 	private void assertMap(final Map<String, String> result) {
@@ -121,4 +126,37 @@ public class MapArgValidatorTest {
 		validator.mapParams2(required, optional);
 	}
 
+	@Test(expected = IllegalArgumentException.class)
+	public void testEmptyLazyValue() {
+		assumeTrue(EMPTY_MAP.equals(type));
+		System.out.println("    >> MapArgValidatorTest.testEmptyLazyValue()");
+		final ArgValidator validator = new ArgValidator();
+		validator.lazyMapParams2(required, optional);
+	}
+
+	@Test
+	public void testLazyNullMappings() {
+		assumeTrue(NULL_VALUE.equals(type));
+		System.out.println("    >> MapArgValidatorTest.testLazyNullMappings()");
+		final Map<String, String> required2 = newHashMap();
+		required2.put("a1", null);
+		final Map<String, String> optional2 = newHashMap();
+		optional2.put(null, "v2");
+		final ArgValidator validator = new ArgValidator();
+		// the overlay maps don't copy the parameters to a hash table, so null keys and values are accepted
+		final Map<String, String> result = validator.lazyMapParams(required2, optional2);
+		assertThat("null value is visible", result.containsKey("a1") && result.get("a1") == null, equalTo(true));
+		assertThat("null key is visible", result.get(null), equalTo("v2"));
+		assertThat("merged result coincides with expected", result.size(), equalTo(2));
+		assertThat("result with non-empty map coincides with expected", validator.lazyMapParams2(required2, optional2).get(null), 
+				equalTo("v2"));
+		/* uncomment for additional output */
+		System.out.println("        >> Result: '" + result + "'");
+		// the eager version rejects them
+		try {
+			validator.mapParams(required2, optional2);
+			fail("NullPointerException expected");
+		} catch (NullPointerException expected) { }
+	}
+
 }
\ No newline at end of file
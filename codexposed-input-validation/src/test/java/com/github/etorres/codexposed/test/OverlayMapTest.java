@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2015 Erik Torres
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.etorres.codexposed.test;
+
+import static com.google.common.collect.Maps.newHashMap;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.util.Map;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.github.etorres.codexposed.collect.OverlayMap;
+import com.google.common.collect.ImmutableMap;
+
+/**
+ * Tests {@link OverlayMap}.
+ * @author Erik Torres <etserrano@gmail.com>
+ */
+public class OverlayMapTest {
+
+	@BeforeClass
+	public static void setup() throws Exception {
+		System.out.println("    >> OverlayMapTest.setup()");
+	}
+
+	@AfterClass
+	public static void cleanup() {
+		System.out.println("    >> OverlayMapTest.cleanup()");
+	}
+
+	@Test
+	public void testLookup() {
+		System.out.println("    >> OverlayMapTest.testLookup()");
+		final Map<String, String> base = newHashMap(ImmutableMap.of("a1", "v1", "a2", "v2"));
+		final Map<String, String> overlay = newHashMap(ImmutableMap.of("a2", "w2", "a3", "w3"));
+		overlay.put("a1", null);
+		final OverlayMap<String, String> map = new OverlayMap<>(base, overlay);
+		assertThat("shadowed value coincides with expected", map.get("a2"), equalTo("w2"));
+		assertThat("shadowed null value coincides with expected", map.get("a1"), nullValue());
+		assertThat("base value coincides with expected", new OverlayMap<>(base, ImmutableMap.<String, String>of()).get("a1"), 
+				equalTo("v1"));
+		assertThat("overlay value coincides with expected", map.get("a3"), equalTo("w3"));
+		assertThat("missing value is null", map.get("a4"), nullValue());
+		assertThat("map contains key", map.containsKey("a3"), equalTo(true));
+		assertThat("map size coincides with expected", map.size(), equalTo(3));
+		// changes to the backing maps are visible through the overlay
+		base.put("a4", "v4");
+		assertThat("map size coincides with expected", map.size(), equalTo(4));
+		assertThat("map was not merged", map.isMerged(), equalTo(false));
+	}
+
+	@Test
+	public void testMerge() {
+		System.out.println("    >> OverlayMapTest.testMerge()");
+		final Map<String, String> base = ImmutableMap.of("a1", "v1", "a2", "v2");
+		final Map<String, String> overlay = ImmutableMap.of("a2", "w2");
+		final OverlayMap<String, String> map = new OverlayMap<>(base, overlay);
+		assertThat("map coincides with expected", map, equalTo((Map<String, String>)ImmutableMap.of("a1", "v1", "a2", "w2")));
+		assertThat("map was merged", map.isMerged(), equalTo(true));
+		map.put("a3", "v3");
+		map.remove("a1");
+		assertThat("map coincides with expected", map, equalTo((Map<String, String>)ImmutableMap.of("a2", "w2", "a3", "v3")));
+		map.clear();
+		assertThat("map is empty", map.isEmpty(), equalTo(true));
+	}
+
+}
\ No newline at end of file
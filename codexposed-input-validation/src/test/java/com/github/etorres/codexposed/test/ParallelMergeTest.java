@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2015 Erik Torres
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.etorres.codexposed.test;
+
+import static com.google.common.collect.Lists.newArrayList;
+import static com.google.common.collect.Maps.newHashMap;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.github.etorres.codexposed.ArgValidator;
+import com.github.etorres.codexposed.collect.ParallelMerge;
+
+/**
+ * Tests {@link ParallelMerge}.
+ * @author Erik Torres <etserrano@gmail.com>
+ */
+public class ParallelMergeTest {
+
+	private static final int SIZE = 50000;
+
+	private static ForkJoinPool pool;
+
+	@BeforeClass
+	public static void setup() throws Exception {
+		System.out.println("    >> ParallelMergeTest.setup()");
+		pool = new ForkJoinPool(4);
+	}
+
+	@AfterClass
+	public static void cleanup() {
+		System.out.println("    >> ParallelMergeTest.cleanup()");
+		pool.shutdown();
+	}
+
+	@Test
+	public void testMergeLists() {
+		System.out.println("    >> ParallelMergeTest.testMergeLists()");
+		final List<String> first = newArrayList(), second = newArrayList(), expected = newArrayList();
+		for (int i = 0; i < SIZE; i++) {
+			first.add(" a" + i + " ");
+			second.add("b" + i);
+		}
+		for (int i = 0; i < SIZE; i++) {
+			expected.add("a" + i);
+		}
+		expected.addAll(second);
+		final List<String> parallel = new ParallelMerge(pool, 0).mergeLists(first, second);
+		assertThat("parallel merge coincides with expected", parallel, equalTo(expected));
+		final List<String> sequential = new ParallelMerge(pool, Integer.MAX_VALUE).mergeLists(first, second);
+		assertThat("sequential merge coincides with expected", sequential, equalTo(expected));
+		assertThat("replaced element coincides with expected", sequential.set(0, "c0"), equalTo("a0"));
+		assertThat("merged element coincides with expected", sequential.get(0), equalTo("c0"));
+		assertThat("merged list is mutable", parallel.add("c1"), equalTo(true));
+		assertThat("added element coincides with expected", parallel.get(2 * SIZE), equalTo("c1"));
+		assertThat("removed element coincides with expected", parallel.remove(0), equalTo("a0"));
+		assertThat("merged list size coincides with expected", parallel.size(), equalTo(2 * SIZE));
+		parallel.clear();
+		assertThat("merged list is empty", parallel.isEmpty(), equalTo(true));
+		assertThat("validator merge coincides with expected", new ArgValidator(pool, 1000).bulkListParams(first, second), 
+				equalTo(expected));
+	}
+
+	@Test
+	public void testMergeMaps() {
+		System.out.println("    >> ParallelMergeTest.testMergeMaps()");
+		final Map<String, String> first = newHashMap(), second = newHashMap(), expected = newHashMap();
+		for (int i = 0; i < SIZE; i++) {
+			first.put("k" + i, " a" + i + " ");
+			expected.put("k" + i, "a" + i);
+			if (i % 2 == 0) {
+				second.put("k" + i, "b" + i);
+				expected.put("k" + i, "b" + i);
+			}
+		}
+		assertThat("parallel merge coincides with expected", new ParallelMerge(pool, 0).mergeMaps(first, second), equalTo(expected));
+		assertThat("sequential merge coincides with expected", new ParallelMerge(null, Integer.MAX_VALUE).mergeMaps(first, second), 
+				equalTo(expected));
+		assertThat("validator merge coincides with expected", new ArgValidator().bulkMapParams(first, second), equalTo(expected));
+	}
+
+	@Test(expected = NullPointerException.class)
+	public void testNullElement() {
+		System.out.println("    >> ParallelMergeTest.testNullElement()");
+		final List<String> first = newArrayList();
+		for (int i = 0; i < SIZE; i++) {
+			first.add(i == SIZE - 1 ? null : "a" + i);
+		}
+		new ParallelMerge(pool, 0).mergeLists(first, newArrayList("b1"));
+	}
+
+}
\ No newline at end of file
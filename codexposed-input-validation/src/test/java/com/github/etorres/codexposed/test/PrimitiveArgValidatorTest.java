@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2015 Erik Torres
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.etorres.codexposed.test;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.github.etorres.codexposed.PrimitiveArgValidator;
+import com.github.etorres.codexposed.collect.LongKeyMap;
+
+/**
+ * Tests {@link PrimitiveArgValidator}.
+ * @author Erik Torres <etserrano@gmail.com>
+ */
+public class PrimitiveArgValidatorTest {
+
+	@BeforeClass
+	public static void setup() throws Exception {
+		System.out.println("    >> PrimitiveArgValidatorTest.setup()");
+	}
+
+	@AfterClass
+	public static void cleanup() {
+		System.out.println("    >> PrimitiveArgValidatorTest.cleanup()");
+	}
+
+	@Test
+	public void testLists() {
+		System.out.println("    >> PrimitiveArgValidatorTest.testLists()");
+		final PrimitiveArgValidator validator = new PrimitiveArgValidator();
+		assertThat("int list coincides with expected", validator.intListParams(new int[]{ 1, 2 }, new int[]{ 3 }), 
+				equalTo(new int[]{ 1, 2, 3 }));
+		assertThat("int list coincides with expected", validator.intListParams(new int[0], null), equalTo(new int[0]));
+		assertThat("int list coincides with expected", validator.intListParams2(new int[]{ 1 }, null, 0, 10), equalTo(new int[]{ 1 }));
+		assertThat("long list coincides with expected", validator.longListParams(new long[]{ 1L }, new long[]{ 2L }), 
+				equalTo(new long[]{ 1L, 2L }));
+		assertThat("long list coincides with expected", validator.longListParams2(new long[]{ Long.MAX_VALUE }, new long[]{ 0L }, 0L, 
+				Long.MAX_VALUE), equalTo(new long[]{ Long.MAX_VALUE, 0L }));
+		assertThat("double list coincides with expected", validator.doubleListParams(new double[]{ 0.5d }, null), 
+				equalTo(new double[]{ 0.5d }));
+		assertThat("double list coincides with expected", validator.doubleListParams2(new double[]{ 0.5d }, new double[]{ 1.0d }, 0.0d, 
+				1.0d), equalTo(new double[]{ 0.5d, 1.0d }));
+	}
+
+	@Test
+	public void testMaps() {
+		System.out.println("    >> PrimitiveArgValidatorTest.testMaps()");
+		final PrimitiveArgValidator validator = new PrimitiveArgValidator();
+		final LongKeyMap<String> required = new LongKeyMap<>(), optional = new LongKeyMap<>(), expected = new LongKeyMap<>();
+		required.put(1L, "v1");
+		required.put(2L, "v2");
+		optional.put(2L, "w2");
+		expected.put(1L, "v1");
+		expected.put(2L, "w2");
+		assertThat("map coincides with expected", validator.longMapParams(required, optional), equalTo(expected));
+		assertThat("map coincides with expected", validator.longMapParams(required, null), equalTo(required));
+		assertThat("map coincides with expected", validator.longMapParams2(required, optional, 1L, 2L), equalTo(expected));
+	}
+
+	@Test(expected = NullPointerException.class)
+	public void testNullValue() {
+		System.out.println("    >> PrimitiveArgValidatorTest.testNullValue()");
+		new PrimitiveArgValidator().longListParams(null, new long[]{ 1L });
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testEmptyValue() {
+		System.out.println("    >> PrimitiveArgValidatorTest.testEmptyValue()");
+		new PrimitiveArgValidator().intListParams2(new int[0], new int[]{ 1 }, 0, 10);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testOutOfRange() {
+		System.out.println("    >> PrimitiveArgValidatorTest.testOutOfRange()");
+		new PrimitiveArgValidator().intListParams2(new int[]{ 1 }, new int[]{ 11 }, 0, 10);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testNaN() {
+		System.out.println("    >> PrimitiveArgValidatorTest.testNaN()");
+		new PrimitiveArgValidator().doubleListParams2(new double[]{ Double.NaN }, null, 0.0d, 1.0d);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testKeyOutOfRange() {
+		System.out.println("    >> PrimitiveArgValidatorTest.testKeyOutOfRange()");
+		final LongKeyMap<String> required = new LongKeyMap<>();
+		required.put(-1L, "v1");
+		new PrimitiveArgValidator().longMapParams2(required, null, 0L, 10L);
+	}
+
+}
\ No newline at end of file
@@ -35,6 +35,7 @@ import org.junit.runners.Parameterized.Parameters;
 
 import com.github.etorres.codexposed.ArgValidator;
 import com.google.common.collect.Lists;
+import com.google.common.collect.Ordering;
 
 /**
  * Tests {@link ArgValidator}. Includes tests for methods with String parameters.
@@ -73,6 +74,8 @@ public class StringArgValidatorTest {
 	public static List<String[]> parameters() {
 		return Lists.<String[]>newArrayList(new String[][]{ 
 				{ VALID, "a1,a2", "a1", "a2" },
+				{ VALID, "a1,a2", " a2 ", "a1" },
+				{ VALID, ",a1", " ", "a1" },
 				{ VALID, "a1,default", "a1", "" },
 				{ VALID, "a1,default", "a1", null },
 				{ NULL_VALUE, null, null, "a1" },
@@ -91,6 +94,25 @@ public class StringArgValidatorTest {
 		assertThat("result is not null", result, notNullValue());
 		assertThat("result is not empty", isNotBlank(trimToEmpty(result)), equalTo(true));
 		assertThat("result coincides with expected", result, equalTo(expected));		
+		assertThat("multiple parameters result coincides with expected", validator.multiStringParams(required, optional), equalTo(expected));
+	}
+
+	@Test
+	public void testMultipleParams() {
+		assumeTrue(VALID.equals(type));
+		System.out.println("    >> StringArgValidatorTest.testMultipleParams()");
+		final ArgValidator validator = new ArgValidator();
+		final String result = validator.multiStringParams(required, optional, null, "z9", " a0 ");
+		/* uncomment for additional output */
+		System.out.println("        >> Result: '" + result + "', Required: '" + required + "', Optional: '" + optional + "'");
+		final List<String> params = Lists.newArrayList(result.split(",", -1));
+		assertThat("result has all parameters", params.size(), equalTo(5));
+		assertThat("result is sorted", Ordering.natural().isOrdered(params), equalTo(true));
+		assertThat("result contains the default value", params.contains(ArgValidator.DEFAULT_VALUE), equalTo(true));
+		assertThat("result with no optional parameters coincides with expected", validator.multiStringParams(required), 
+				equalTo(required.trim()));
+		assertThat("result with null optional parameters coincides with expected", validator.multiStringParams(required, (String[])null), 
+				equalTo(required.trim()));
 	}
 
 	@Test(expected = NullPointerException.class)
@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2015 Erik Torres
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.etorres.codexposed.test;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.fail;
+
+import java.util.Map;
+
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.github.etorres.codexposed.ArgValidator;
+import com.github.etorres.codexposed.PrimitiveArgValidator;
+import com.github.etorres.codexposed.ValidationError;
+import com.github.etorres.codexposed.ValidationMetrics;
+import com.github.etorres.codexposed.metrics.Metrics;
+
+/**
+ * Tests that the validators record {@link ValidationMetrics} when the metrics are enabled. This test is not part of the unit test suite
+ * and runs in its own surefire execution with the system property <code>codexposed.metrics.enabled</code> set to <code>true</code>.
+ * @author Erik Torres <etserrano@gmail.com>
+ */
+public class ValidationMetricsEnabledTest {
+
+	private final ValidationMetrics metrics = ValidationMetrics.INSTANCE;
+
+	@BeforeClass
+	public static void setup() throws Exception {
+		System.out.println("    >> ValidationMetricsEnabledTest.setup()");
+		assertThat("metrics are enabled", Metrics.ENABLED, equalTo(true));
+	}
+
+	@AfterClass
+	public static void cleanup() {
+		System.out.println("    >> ValidationMetricsEnabledTest.cleanup()");
+		ValidationMetrics.INSTANCE.reset();
+	}
+
+	@Before
+	public void resetMetrics() {
+		metrics.reset();
+	}
+
+	@Test
+	public void testArgValidator() {
+		System.out.println("    >> ValidationMetricsEnabledTest.testArgValidator()");
+		final ArgValidator validator = new ArgValidator();
+		validator.stringParams2("a", "b");
+		try {
+			validator.stringParams2(null, "b");
+			fail("NullPointerException expected");
+		} catch (NullPointerException expected) { }
+		try {
+			validator.stringParams2("  ", "b");
+			fail("IllegalArgumentException expected");
+		} catch (IllegalArgumentException expected) { }
+		validator.tryStringParams2("", "b");
+		assertThat("calls coincides with expected", metrics.getCalls(), equalTo(4L));
+		assertThat("rejections coincides with expected", metrics.getRejections(), equalTo(3L));
+		assertThat("latency count coincides with expected", metrics.getLatencyCount(), equalTo(4L));
+		final Map<String, Long> reasons = metrics.getRejectionsByReason();
+		assertThat("null rejections coincides with expected", reasons.get(ValidationError.NULL_VALUE.name()), equalTo(1L));
+		assertThat("empty rejections coincides with expected", reasons.get(ValidationError.EMPTY_VALUE.name()), equalTo(1L));
+		assertThat("other rejections coincides with expected", reasons.get(ValidationMetrics.OTHER_REASON), equalTo(1L));
+	}
+
+	@Test
+	public void testPrimitiveArgValidator() {
+		System.out.println("    >> ValidationMetricsEnabledTest.testPrimitiveArgValidator()");
+		final PrimitiveArgValidator validator = new PrimitiveArgValidator();
+		validator.intListParams2(new int[]{ 1, 2 }, new int[]{ 3 }, 0, 10);
+		try {
+			validator.intListParams2(new int[]{ 1, 20 }, null, 0, 10);
+			fail("IllegalArgumentException expected");
+		} catch (IllegalArgumentException expected) { }
+		try {
+			validator.longListParams(null, null);
+			fail("NullPointerException expected");
+		} catch (NullPointerException expected) { }
+		assertThat("calls coincides with expected", metrics.getCalls(), equalTo(3L));
+		assertThat("rejections coincides with expected", metrics.getRejections(), equalTo(2L));
+		assertThat("latency count coincides with expected", metrics.getLatencyCount(), equalTo(3L));
+		final Map<String, Long> reasons = metrics.getRejectionsByReason();
+		assertThat("null rejections coincides with expected", reasons.get(ValidationError.NULL_VALUE.name()), equalTo(1L));
+		assertThat("other rejections coincides with expected", reasons.get(ValidationMetrics.OTHER_REASON), equalTo(1L));
+	}
+
+	@Test
+	public void testValidationPlan() {
+		System.out.println("    >> ValidationMetricsEnabledTest.testValidationPlan()");
+		ArgValidator.STRING_PARAMS2_PLAN.validate("a", "b");
+		ArgValidator.STRING_PARAMS2_PLAN.tryValidate(null, "b");
+		ArgValidator.STRING_PARAMS2_PLAN.validateAll(new Object[][]{ { "a", null }, { "", "b" }, { "b", "c" } });
+		assertThat("calls coincides with expected", metrics.getCalls(), equalTo(5L));
+		assertThat("rejections coincides with expected", metrics.getRejections(), equalTo(2L));
+		assertThat("latency count coincides with expected", metrics.getLatencyCount(), equalTo(2L));
+		final Map<String, Long> reasons = metrics.getRejectionsByReason();
+		assertThat("null rejections coincides with expected", reasons.get(ValidationError.NULL_VALUE.name()), equalTo(1L));
+		assertThat("empty rejections coincides with expected", reasons.get(ValidationError.EMPTY_VALUE.name()), equalTo(1L));
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2015 Erik Torres
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.etorres.codexposed.test;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.util.Map;
+
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.github.etorres.codexposed.BatchValidationResult;
+import com.github.etorres.codexposed.ValidationError;
+import com.github.etorres.codexposed.ValidationException;
+import com.github.etorres.codexposed.ValidationMetrics;
+import com.github.etorres.codexposed.ValidationPlan;
+import com.github.etorres.codexposed.ValidationPlan.Type;
+
+/**
+ * Tests {@link ValidationMetrics}.
+ * @author Erik Torres <etserrano@gmail.com>
+ */
+public class ValidationMetricsTest {
+
+	private final ValidationMetrics metrics = ValidationMetrics.INSTANCE;
+
+	@BeforeClass
+	public static void setup() throws Exception {
+		System.out.println("    >> ValidationMetricsTest.setup()");
+	}
+
+	@AfterClass
+	public static void cleanup() {
+		System.out.println("    >> ValidationMetricsTest.cleanup()");
+		ValidationMetrics.INSTANCE.reset();
+	}
+
+	@Before
+	public void resetMetrics() {
+		metrics.reset();
+	}
+
+	@Test
+	public void testRecord() {
+		System.out.println("    >> ValidationMetricsTest.testRecord()");
+		final long start = System.nanoTime();
+		metrics.record(null, start);
+		metrics.record(ValidationError.NULL_VALUE, start);
+		metrics.record(ValidationError.EMPTY_VALUE, start);
+		metrics.record(ValidationError.EMPTY_VALUE, start);
+		assertThat("calls coincides with expected", metrics.getCalls(), equalTo(4L));
+		assertThat("rejections coincides with expected", metrics.getRejections(), equalTo(3L));
+		assertThat("latency count coincides with expected", metrics.getLatencyCount(), equalTo(4L));
+		final Map<String, Long> reasons = metrics.getRejectionsByReason();
+		assertThat("reasons size coincides with expected", reasons.size(), equalTo(ValidationError.values().length + 1));
+		assertThat("null rejections coincides with expected", reasons.get(ValidationError.NULL_VALUE.name()), equalTo(1L));
+		assertThat("empty rejections coincides with expected", reasons.get(ValidationError.EMPTY_VALUE.name()), equalTo(2L));
+		assertThat("type rejections coincides with expected", reasons.get(ValidationError.INVALID_TYPE.name()), equalTo(0L));
+		metrics.reset();
+		assertThat("calls is zero after reset", metrics.getCalls(), equalTo(0L));
+		assertThat("rejections is zero after reset", metrics.getRejections(), equalTo(0L));
+		assertThat("latency count is zero after reset", metrics.getLatencyCount(), equalTo(0L));
+	}
+
+	@Test
+	public void testRecordRejection() {
+		System.out.println("    >> ValidationMetricsTest.testRecordRejection()");
+		final long start = System.nanoTime();
+		metrics.recordRejection(new ValidationException(ValidationError.MAX_SIZE_EXCEEDED, "required"), start);
+		metrics.recordRejection(new NullPointerException(), start);
+		metrics.recordRejection(new IllegalArgumentException(), start);
+		assertThat("calls coincides with expected", metrics.getCalls(), equalTo(3L));
+		assertThat("rejections coincides with expected", metrics.getRejections(), equalTo(3L));
+		assertThat("latency count coincides with expected", metrics.getLatencyCount(), equalTo(3L));
+		final Map<String, Long> reasons = metrics.getRejectionsByReason();
+		assertThat("size rejections coincides with expected", reasons.get(ValidationError.MAX_SIZE_EXCEEDED.name()), equalTo(1L));
+		assertThat("null rejections coincides with expected", reasons.get(ValidationError.NULL_VALUE.name()), equalTo(1L));
+		assertThat("other rejections coincides with expected", reasons.get(ValidationMetrics.OTHER_REASON), equalTo(1L));
+	}
+
+	@Test
+	public void testRecordBatch() {
+		System.out.println("    >> ValidationMetricsTest.testRecordBatch()");
+		final ValidationPlan plan = ValidationPlan.builder()
+				.required("required", Type.STRING).allowEmpty(false)
+				.build();
+		final BatchValidationResult result = plan.validateAll(new Object[][]{ { "a" }, { null }, { "" }, { "b", "c" }, { "d" } });
+		metrics.reset();
+		metrics.record(result);
+		assertThat("calls coincides with expected", metrics.getCalls(), equalTo(5L));
+		assertThat("rejections coincides with expected", metrics.getRejections(), equalTo(3L));
+		assertThat("no latency is recorded for batches", metrics.getLatencyCount(), equalTo(0L));
+		final Map<String, Long> reasons = metrics.getRejectionsByReason();
+		assertThat("null rejections coincides with expected", reasons.get(ValidationError.NULL_VALUE.name()), equalTo(1L));
+		assertThat("empty rejections coincides with expected", reasons.get(ValidationError.EMPTY_VALUE.name()), equalTo(1L));
+		assertThat("wrong number rejections coincides with expected", reasons.get(ValidationError.WRONG_NUMBER_OF_ARGUMENTS.name()), 
+				equalTo(1L));
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2015 Erik Torres
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.etorres.codexposed.test;
+
+import static com.github.etorres.codexposed.ArgValidator.DEFAULT_VALUE;
+import static com.google.common.collect.Lists.newArrayList;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.github.etorres.codexposed.ValidationPlan;
+import com.github.etorres.codexposed.ValidationPlan.ElementConstraint;
+import com.github.etorres.codexposed.ValidationPlan.Type;
+import com.google.common.collect.ImmutableMap;
+
+/**
+ * Tests {@link ValidationPlan}.
+ * @author Erik Torres <etserrano@gmail.com>
+ */
+public class ValidationPlanTest {
+
+	private static final ValidationPlan STRING_PLAN = ValidationPlan.builder()
+			.required("required", Type.STRING).trim().allowEmpty(false)
+			.optional("optional", Type.STRING).trim().allowEmpty(false).defaultValue(DEFAULT_VALUE)
+			.build();
+
+	private static final ValidationPlan COLLECTION_PLAN = ValidationPlan.builder()
+			.required("list", Type.LIST).allowEmpty(false).elements(ElementConstraint.NOT_BLANK).maxSize(3)
+			.optional("map", Type.MAP).elements(ElementConstraint.NOT_NULL)
+			.build();
+
+	@BeforeClass
+	public static void setup() throws Exception {
+		System.out.println("    >> ValidationPlanTest.setup()");
+	}
+
+	@AfterClass
+	public static void cleanup() {
+		System.out.println("    >> ValidationPlanTest.cleanup()");
+	}
+
+	@Test
+	public void testStrings() {
+		System.out.println("    >> ValidationPlanTest.testStrings()");
+		assertThat("plan size coincides with expected", STRING_PLAN.size(), equalTo(2));
+		assertThat("parameter name coincides with expected", STRING_PLAN.name(1), equalTo("optional"));
+		assertThat("values coincide with expected", STRING_PLAN.validate(" a1 ", "a2"), equalTo(new Object[]{ "a1", "a2" }));
+		assertThat("default value is used", STRING_PLAN.validate("a1", " "), equalTo(new Object[]{ "a1", DEFAULT_VALUE }));
+		assertThat("default value is used", STRING_PLAN.validate("a1", null), equalTo(new Object[]{ "a1", DEFAULT_VALUE }));
+		final ValidationPlan plan = ValidationPlan.builder().optional("optional", Type.STRING).build();
+		assertThat("empty value is allowed", plan.validate(""), equalTo(new Object[]{ "" }));
+		assertThat("null default value is used", plan.validate((Object)null)[0], nullValue());
+	}
+
+	@Test
+	public void testCollections() {
+		System.out.println("    >> ValidationPlanTest.testCollections()");
+		final List<String> list = newArrayList("a1", "a2");
+		final Map<String, String> map = ImmutableMap.of("k1", "v1");
+		final Object[] values = COLLECTION_PLAN.validate(list, map);
+		assertThat("list coincides with expected", values[0], equalTo((Object)list));
+		assertThat("map coincides with expected", values[1], equalTo((Object)map));
+		assertThat("default value is used", COLLECTION_PLAN.validate(list, null)[1], equalTo((Object)Collections.emptyMap()));
+	}
+
+	@Test(expected = NullPointerException.class)
+	public void testNullValue() {
+		System.out.println("    >> ValidationPlanTest.testNullValue()");
+		STRING_PLAN.validate(null, "a1");
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testEmptyValue() {
+		System.out.println("    >> ValidationPlanTest.testEmptyValue()");
+		STRING_PLAN.validate("  ", "a1");
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testInvalidElement() {
+		System.out.println("    >> ValidationPlanTest.testInvalidElement()");
+		COLLECTION_PLAN.validate(newArrayList("a1", " "), null);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testMaxSize() {
+		System.out.println("    >> ValidationPlanTest.testMaxSize()");
+		COLLECTION_PLAN.validate(newArrayList("a1", "a2", "a3", "a4"), null);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testInvalidType() {
+		System.out.println("    >> ValidationPlanTest.testInvalidType()");
+		COLLECTION_PLAN.validate("a1", null);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testWrongNumberOfArguments() {
+		System.out.println("    >> ValidationPlanTest.testWrongNumberOfArguments()");
+		STRING_PLAN.validate("a1");
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testInvalidRule() {
+		System.out.println("    >> ValidationPlanTest.testInvalidRule()");
+		ValidationPlan.builder().required("list", Type.LIST).trim();
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2015 Erik Torres
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.etorres.codexposed.test;
+
+import static com.google.common.collect.Lists.newArrayList;
+import static com.google.common.collect.Maps.newHashMap;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.fail;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.github.etorres.codexposed.ArgValidator;
+import com.github.etorres.codexposed.ValidationError;
+import com.github.etorres.codexposed.ValidationException;
+import com.github.etorres.codexposed.ValidationPlan;
+import com.github.etorres.codexposed.ValidationPlan.Type;
+import com.github.etorres.codexposed.ValidationResult;
+import com.google.common.collect.ImmutableMap;
+
+/**
+ * Tests {@link ValidationResult} and the stackless exceptions of {@link ValidationPlan}.
+ * @author Erik Torres <etserrano@gmail.com>
+ */
+public class ValidationResultTest {
+
+	@BeforeClass
+	public static void setup() throws Exception {
+		System.out.println("    >> ValidationResultTest.setup()");
+	}
+
+	@AfterClass
+	public static void cleanup() {
+		System.out.println("    >> ValidationResultTest.cleanup()");
+	}
+
+	@Test
+	public void testValidResult() {
+		System.out.println("    >> ValidationResultTest.testValidResult()");
+		final ArgValidator validator = new ArgValidator();
+		final ValidationResult<String> result = validator.tryStringParams2(" a2 ", null);
+		assertThat("result is valid", result.isValid(), equalTo(true));
+		assertThat("value coincides with expected", result.value(), equalTo(validator.stringParams2(" a2 ", null)));
+		assertThat("error is null", result.error(), nullValue());
+		assertThat("message is null", result.message(), nullValue());
+		final ValidationResult<List<String>> result2 = validator.tryListParams2(newArrayList("a1"), newArrayList("a2"));
+		assertThat("value coincides with expected", result2.value(), equalTo((List<String>)newArrayList("a1", "a2")));
+		final ValidationResult<Map<String, String>> result3 = validator.tryMapParams2(ImmutableMap.of("a1", "v1"), null);
+		assertThat("value coincides with expected", result3.value(), equalTo((Map<String, String>)ImmutableMap.of("a1", "v1")));
+	}
+
+	@Test
+	public void testInvalidResult() {
+		System.out.println("    >> ValidationResultTest.testInvalidResult()");
+		final ArgValidator validator = new ArgValidator();
+		final ValidationResult<String> result = validator.tryStringParams2(" ", "a1");
+		assertThat("result is not valid", result.isValid(), equalTo(false));
+		assertThat("error coincides with expected", result.error(), equalTo(ValidationError.EMPTY_VALUE));
+		assertThat("parameter coincides with expected", result.parameter(), equalTo("required"));
+		assertThat("default value is used", result.or("none"), equalTo("none"));
+		/* uncomment for additional output */
+		System.out.println("        >> Message: " + result.message());
+		assertThat("message coincides with expected", result.message(), equalTo(ValidationError.EMPTY_VALUE.description() + ": required"));
+		assertThat("invalid result is reused", validator.tryStringParams2("", "a2"), sameInstance(result));
+		assertThat("error coincides with expected", validator.tryListParams2(null, null).error(), equalTo(ValidationError.NULL_VALUE));
+		assertThat("error coincides with expected", validator.tryMapParams2(ImmutableMap.<String, String>of(), null).error(), 
+				equalTo(ValidationError.EMPTY_VALUE));
+		try {
+			result.value();
+			fail("IllegalStateException expected");
+		} catch (IllegalStateException expected) { }
+	}
+
+	@Test
+	public void testNullMappings() {
+		System.out.println("    >> ValidationResultTest.testNullMappings()");
+		final ArgValidator validator = new ArgValidator();
+		final Map<String, String> valid = ImmutableMap.of("a1", "v1");
+		final Map<String, String> nullKey = newHashMap();
+		nullKey.put(null, "v1");
+		final Map<String, String> nullValue = newHashMap();
+		nullValue.put("a1", null);
+		ValidationResult<Map<String, String>> result = validator.tryMapParams2(nullKey, valid);
+		assertThat("error coincides with expected", result.error(), equalTo(ValidationError.INVALID_ELEMENT));
+		assertThat("parameter coincides with expected", result.parameter(), equalTo("required"));
+		result = validator.tryMapParams2(nullValue, valid);
+		assertThat("error coincides with expected", result.error(), equalTo(ValidationError.INVALID_ELEMENT));
+		assertThat("parameter coincides with expected", result.parameter(), equalTo("required"));
+		result = validator.tryMapParams2(valid, nullKey);
+		assertThat("error coincides with expected", result.error(), equalTo(ValidationError.INVALID_ELEMENT));
+		assertThat("parameter coincides with expected", result.parameter(), equalTo("optional"));
+		result = validator.tryMapParams2(valid, nullValue);
+		assertThat("error coincides with expected", result.error(), equalTo(ValidationError.INVALID_ELEMENT));
+		assertThat("parameter coincides with expected", result.parameter(), equalTo("optional"));
+		/* uncomment for additional output */
+		System.out.println("        >> Message: " + result.message());
+	}
+
+	@Test
+	public void testStacklessExceptions() {
+		System.out.println("    >> ValidationResultTest.testStacklessExceptions()");
+		final ValidationPlan plan = ValidationPlan.builder()
+				.required("required", Type.STRING).allowEmpty(false)
+				.stacklessExceptions(true)
+				.build();
+		assertThat("value coincides with expected", plan.validate("a1")[0], equalTo((Object)"a1"));
+		ValidationException exception = null;
+		for (int i = 0; i < 2; i++) {
+			try {
+				plan.validate((Object)null);
+				fail("ValidationException expected");
+			} catch (ValidationException e) {
+				assertThat("exception has no stack trace", e.getStackTrace().length, equalTo(0));
+				assertThat("error coincides with expected", e.getError(), equalTo(ValidationError.NULL_VALUE));
+				assertThat("parameter coincides with expected", e.getParameter(), equalTo("required"));
+				if (exception != null) {
+					assertThat("exception is reused", e, sameInstance(exception));
+				}
+				exception = e;
+			}
+		}
+		try {
+			plan.validate();
+			fail("ValidationException expected");
+		} catch (ValidationException e) {
+			assertThat("error coincides with expected", e.getError(), equalTo(ValidationError.WRONG_NUMBER_OF_ARGUMENTS));
+		}
+	}
+
+}
\ No newline at end of file
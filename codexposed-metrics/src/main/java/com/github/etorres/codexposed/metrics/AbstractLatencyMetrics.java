@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2015 Erik Torres
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.etorres.codexposed.metrics;
+
+/**
+ * Base implementation of the management interfaces that record latencies.
+ * @author Erik Torres <etserrano@gmail.com>
+ */
+public abstract class AbstractLatencyMetrics implements LatencyMXBean {
+
+	protected final LatencyHistogram latency = new LatencyHistogram();
+
+	/**
+	 * Records the time elapsed since the specified instant.
+	 * @param startNanos - instant when the measured operation started, as returned by {@link System#nanoTime()}
+	 */
+	protected void recordLatency(final long startNanos) {
+		latency.record(System.nanoTime() - startNanos);
+	}
+
+	@Override
+	public long getLatencyCount() {
+		return latency.getCount();
+	}
+
+	@Override
+	public double getLatencyMeanNanos() {
+		return latency.getMean();
+	}
+
+	@Override
+	public long getLatencyMedianNanos() {
+		return latency.getValueAtPercentile(50.0d);
+	}
+
+	@Override
+	public long getLatency99thPercentileNanos() {
+		return latency.getValueAtPercentile(99.0d);
+	}
+
+	@Override
+	public long getLatency999thPercentileNanos() {
+		return latency.getValueAtPercentile(99.9d);
+	}
+
+	@Override
+	public long getLatencyMaxNanos() {
+		return latency.getMax();
+	}
+
+	@Override
+	public void reset() {
+		latency.reset();
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2015 Erik Torres
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.etorres.codexposed.metrics;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Thread-safe histogram of latencies, which follows the log-linear bucketing scheme of HdrHistogram: values below 64 are counted
+ * exactly, and each power of two above them is divided in 32 buckets of the same width, which bounds the relative error of the reported
+ * percentiles to 1/32 (about 3%). The histogram has a fixed size (about 15 KB) regardless of the number and the range of the recorded
+ * values, and recording a value never allocates memory.
+ * @author Erik Torres <etserrano@gmail.com>
+ */
+public class LatencyHistogram {
+
+	private static final int LINEAR_BUCKETS = 64;
+	private static final int SUB_BUCKET_BITS = 5;
+	private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+	private static final int BUCKETS = LINEAR_BUCKETS + (63 - SUB_BUCKET_BITS - 1) * SUB_BUCKETS;
+
+	private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+	private final AtomicLong totalCount = new AtomicLong();
+	private final AtomicLong totalValue = new AtomicLong();
+	private final AtomicLong maxValue = new AtomicLong();
+
+	/**
+	 * Records a value in the histogram. Negative values are recorded as zero.
+	 * @param value - value to be recorded
+	 */
+	public void record(final long value) {
+		final long value2 = Math.max(0L, value);
+		counts.incrementAndGet(bucketOf(value2));
+		totalCount.incrementAndGet();
+		totalValue.addAndGet(value2);
+		long max;
+		while (value2 > (max = maxValue.get()) && !maxValue.compareAndSet(max, value2)) {
+			// retry until the maximum is updated or another thread records a larger value
+		}
+	}
+
+	public long getCount() {
+		return totalCount.get();
+	}
+
+	public long getMax() {
+		return maxValue.get();
+	}
+
+	public double getMean() {
+		final long count = totalCount.get();
+		return count > 0L ? (double)totalValue.get() / count : 0.0d;
+	}
+
+	/**
+	 * Gets the value at the specified percentile of the recorded values. The result is the highest value that is counted in the same 
+	 * bucket as the value at the percentile, and it never exceeds the maximum recorded value.
+	 * @param percentile - percentile, from 0.0 to 100.0
+	 * @return The value at the percentile, or <code>0</code> when the histogram is empty.
+	 */
+	public long getValueAtPercentile(final double percentile) {
+		checkArgument(percentile >= 0.0d && percentile <= 100.0d, "Percentile should be between 0.0 and 100.0");
+		final long count = totalCount.get();
+		if (count == 0L) {
+			return 0L;
+		}
+		final long target = Math.max(1L, (long)Math.ceil(percentile / 100.0d * count));
+		long accumulated = 0L;
+		for (int i = 0; i < BUCKETS; i++) {
+			accumulated += counts.get(i);
+			if (accumulated >= target) {
+				return Math.min(highestValueOf(i), maxValue.get());
+			}
+		}
+		return maxValue.get();
+	}
+
+	/**
+	 * Removes all the recorded values. Values recorded concurrently with this method can be partially lost.
+	 */
+	public void reset() {
+		for (int i = 0; i < BUCKETS; i++) {
+			counts.set(i, 0L);
+		}
+		totalCount.set(0L);
+		totalValue.set(0L);
+		maxValue.set(0L);
+	}
+
+	@Override
+	public String toString() {
+		return toStringHelper(this)
+				.add("count", getCount())
+				.add("mean", getMean())
+				.add("p50", getValueAtPercentile(50.0d))
+				.add("p99", getValueAtPercentile(99.0d))
+				.add("max", getMax())
+				.toString();
+	}
+
+	static int bucketOf(final long value) {
+		if (value < LINEAR_BUCKETS) {
+			return (int)value;
+		}
+		// keep the 6 most significant bits of the value: the leading bit selects the power of two and the rest select the sub-bucket
+		final int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+		final int subBucket = (int)(value >>> shift) - SUB_BUCKETS;
+		return LINEAR_BUCKETS + (shift - 1) * SUB_BUCKETS + subBucket;
+	}
+
+	static long highestValueOf(final int bucket) {
+		if (bucket < LINEAR_BUCKETS) {
+			return bucket;
+		}
+		final int shift = (bucket - LINEAR_BUCKETS) / SUB_BUCKETS + 1;
+		final long subBucket = (bucket - LINEAR_BUCKETS) % SUB_BUCKETS + SUB_BUCKETS;
+		return ((subBucket + 1L) << shift) - 1L;
+	}
+
+}
\ No newline at end of file
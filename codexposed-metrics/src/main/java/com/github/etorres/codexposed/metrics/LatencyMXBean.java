@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) 2015 Erik Torres
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.etorres.codexposed.metrics;
+
+/**
+ * Management interface of the latencies recorded by an instrumented code path, in nanoseconds.
+ * @author Erik Torres <etserrano@gmail.com>
+ */
+public interface LatencyMXBean {
+
+	long getLatencyCount();
+
+	double getLatencyMeanNanos();
+
+	long getLatencyMedianNanos();
+
+	long getLatency99thPercentileNanos();
+
+	long getLatency999thPercentileNanos();
+
+	long getLatencyMaxNanos();
+
+	/**
+	 * Resets all the metrics of this bean.
+	 */
+	void reset();
+
+}
\ No newline at end of file
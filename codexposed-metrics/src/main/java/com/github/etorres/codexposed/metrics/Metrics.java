@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2015 Erik Torres
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.etorres.codexposed.metrics;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.lang.management.ManagementFactory;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Global switch of the instrumentation of the codexposed modules. Metrics are disabled unless the JVM is started with the system property
+ * <code>codexposed.metrics.enabled=true</code>. Since the switch is a <code>static final</code> field, the JIT compiler removes the
+ * instrumented code paths entirely when the metrics are disabled. Instrumented classes must read the switch before touching any other
+ * class of this package, so that no metric is created when the metrics are disabled.
+ * @author Erik Torres <etserrano@gmail.com>
+ */
+public final class Metrics {
+
+	public static final String ENABLED_PROPERTY = "codexposed.metrics.enabled";
+
+	public static final boolean ENABLED = Boolean.getBoolean(ENABLED_PROPERTY);
+
+	public static final String JMX_DOMAIN = "com.github.etorres.codexposed";
+
+	private Metrics() {
+	}
+
+	/**
+	 * Registers a MXBean in the platform MBean server, under the domain of the codexposed modules. Any bean previously registered with 
+	 * the same type is replaced.
+	 * @param type - type of the bean, which is used to create its object name
+	 * @param bean - bean to be registered
+	 * @return The object name of the registered bean.
+	 * @throws IllegalStateException When the bean cannot be registered.
+	 */
+	public static ObjectName register(final String type, final Object bean) {
+		checkNotNull(bean, "Uninitialized bean");
+		final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+		try {
+			final ObjectName name = objectName(type);
+			if (server.isRegistered(name)) {
+				server.unregisterMBean(name);
+			}
+			server.registerMBean(bean, name);
+			return name;
+		} catch (JMException e) {
+			throw new IllegalStateException("Failed to register bean: " + type, e);
+		}
+	}
+
+	/**
+	 * Creates the object name of a bean of the codexposed modules.
+	 * @param type - type of the bean
+	 * @return The object name of the bean.
+	 * @throws IllegalArgumentException When the type is not valid in an object name.
+	 */
+	public static ObjectName objectName(final String type) {
+		try {
+			return new ObjectName(JMX_DOMAIN + ":type=" + checkNotNull(type, "Uninitialized type"));
+		} catch (JMException e) {
+			throw new IllegalArgumentException("Invalid type: " + type, e);
+		}
+	}
+
+}
\ No newline at end of file
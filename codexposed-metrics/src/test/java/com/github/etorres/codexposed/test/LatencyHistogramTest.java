@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2015 Erik Torres
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.etorres.codexposed.test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.github.etorres.codexposed.metrics.LatencyHistogram;
+
+/**
+ * Tests {@link LatencyHistogram}.
+ * @author Erik Torres <etserrano@gmail.com>
+ */
+public class LatencyHistogramTest {
+
+	@BeforeClass
+	public static void setup() throws Exception {
+		System.out.println("    >> LatencyHistogramTest.setup()");
+	}
+
+	@AfterClass
+	public static void cleanup() {
+		System.out.println("    >> LatencyHistogramTest.cleanup()");
+	}
+
+	@Test
+	public void testExactValues() {
+		System.out.println("    >> LatencyHistogramTest.testExactValues()");
+		final LatencyHistogram histogram = new LatencyHistogram();
+		assertThat("empty percentile is zero", histogram.getValueAtPercentile(50.0d), equalTo(0L));
+		for (long i = 1L; i <= 50L; i++) {
+			histogram.record(i);
+		}
+		histogram.record(-1L);
+		assertThat("count coincides with expected", histogram.getCount(), equalTo(51L));
+		assertThat("median coincides with expected", histogram.getValueAtPercentile(50.0d), equalTo(25L));
+		assertThat("minimum coincides with expected", histogram.getValueAtPercentile(0.0d), equalTo(0L));
+		assertThat("maximum coincides with expected", histogram.getValueAtPercentile(100.0d), equalTo(50L));
+		assertThat("mean coincides with expected", histogram.getMean(), closeTo(1275.0d / 51.0d, 1e-9d));
+		histogram.reset();
+		assertThat("count is zero after reset", histogram.getCount(), equalTo(0L));
+		assertThat("maximum is zero after reset", histogram.getMax(), equalTo(0L));
+	}
+
+	@Test
+	public void testRelativeError() {
+		System.out.println("    >> LatencyHistogramTest.testRelativeError()");
+		final Random random = new Random(20150425L);
+		final LatencyHistogram histogram = new LatencyHistogram();
+		final int count = 100000;
+		final long[] values = new long[count];
+		for (int i = 0; i < count; i++) {
+			values[i] = (long)Math.exp(random.nextDouble() * 30.0d);
+			histogram.record(values[i]);
+		}
+		Arrays.sort(values);
+		for (final double percentile : new double[]{ 50.0d, 90.0d, 99.0d, 99.9d }) {
+			final long expected = values[(int)Math.ceil(percentile / 100.0d * count) - 1];
+			final long actual = histogram.getValueAtPercentile(percentile);
+			/* uncomment for additional output */
+			System.out.println("        >> Percentile: " + percentile + ", expected=" + expected + ", actual=" + actual);
+			assertThat("percentile is not below the exact value", actual, greaterThanOrEqualTo(expected));
+			assertThat("percentile is within the relative error", (double)actual, lessThanOrEqualTo(expected * (1.0d + 1.0d / 32.0d) + 1.0d));
+		}
+		assertThat("maximum coincides with expected", histogram.getMax(), equalTo(values[count - 1]));
+		histogram.record(Long.MAX_VALUE);
+		assertThat("largest value is recorded", histogram.getValueAtPercentile(100.0d), equalTo(Long.MAX_VALUE));
+	}
+
+}
\ No newline at end of file
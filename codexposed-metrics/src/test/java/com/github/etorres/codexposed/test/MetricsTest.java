@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2015 Erik Torres
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.etorres.codexposed.test;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.lang.management.ManagementFactory;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.github.etorres.codexposed.metrics.AbstractLatencyMetrics;
+import com.github.etorres.codexposed.metrics.LatencyMXBean;
+import com.github.etorres.codexposed.metrics.Metrics;
+
+/**
+ * Tests {@link Metrics}.
+ * @author Erik Torres <etserrano@gmail.com>
+ */
+public class MetricsTest {
+
+	@BeforeClass
+	public static void setup() throws Exception {
+		System.out.println("    >> MetricsTest.setup()");
+	}
+
+	@AfterClass
+	public static void cleanup() {
+		System.out.println("    >> MetricsTest.cleanup()");
+	}
+
+	@Test
+	public void testDisabledByDefault() {
+		System.out.println("    >> MetricsTest.testDisabledByDefault()");
+		assertThat("metrics are disabled", Metrics.ENABLED, equalTo(Boolean.getBoolean(Metrics.ENABLED_PROPERTY)));
+	}
+
+	@Test
+	public void testRegister() throws Exception {
+		System.out.println("    >> MetricsTest.testRegister()");
+		final TestMetrics bean = new TestMetrics();
+		bean.record(System.nanoTime() - 1000L);
+		final ObjectName name = Metrics.register("TestMetrics", bean);
+		// registering a bean of the same type replaces the previous one
+		assertThat("name coincides with expected", Metrics.register("TestMetrics", bean), equalTo(name));
+		final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+		assertThat("latency count coincides with expected", (Long)server.getAttribute(name, "LatencyCount"), equalTo(1L));
+		server.invoke(name, "reset", null, null);
+		assertThat("latency count coincides with expected", bean.getLatencyCount(), equalTo(0L));
+		server.unregisterMBean(name);
+	}
+
+	public static interface TestMetricsMXBean extends LatencyMXBean {
+	}
+
+	public static class TestMetrics extends AbstractLatencyMetrics implements TestMetricsMXBean {
+		public void record(final long startNanos) {
+			recordLatency(startNanos);
+		}
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2015 Erik Torres
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.etorres.codexposed;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.github.etorres.codexposed.metrics.AbstractLatencyMetrics;
+import com.github.etorres.codexposed.metrics.Metrics;
+
+/**
+ * Collects the number of names escaped and unescaped by the {@link MongoDBFieldNameEscaper}, as well as the latency of each call. Names
+ * served from the {@link MongoDBSafeKeyCache} are counted as escaped or passed through the same as the names escaped by the escaper, and
+ * are also counted as cache hits, so that the counters reflect every name escaped by the application. The metrics are exposed in the platform MBean server as <code>com.github.etorres.codexposed:type=EscapingMetrics</code> when the 
+ * {@link Metrics metrics are enabled}. Callers must check {@link Metrics#ENABLED} before recording.
+ * @author Erik Torres <etserrano@gmail.com>
+ */
+public final class EscapingMetrics extends AbstractLatencyMetrics implements EscapingMetricsMXBean {
+
+	public static final String TYPE = "EscapingMetrics";
+
+	public static final EscapingMetrics INSTANCE = new EscapingMetrics();
+
+	static {
+		if (Metrics.ENABLED) {
+			Metrics.register(TYPE, INSTANCE);
+		}
+	}
+
+	private final AtomicLong escaped = new AtomicLong();
+	private final AtomicLong escapePassThrough = new AtomicLong();
+	private final AtomicLong unescaped = new AtomicLong();
+	private final AtomicLong unescapePassThrough = new AtomicLong();
+	private final AtomicLong cacheHits = new AtomicLong();
+
+	private EscapingMetrics() {
+	}
+
+	/**
+	 * Records a call to escape a name.
+	 * @param modified - <code>true</code> when the name was escaped, or <code>false</code> when it was returned unchanged
+	 * @param startNanos - instant when the call started, as returned by {@link System#nanoTime()}
+	 */
+	public void recordEscape(final boolean modified, final long startNanos) {
+		recordLatency(startNanos);
+		(modified ? escaped : escapePassThrough).incrementAndGet();
+	}
+
+	/**
+	 * Records a name whose escaped key was found in the {@link MongoDBSafeKeyCache}, without calling the escaper.
+	 * @param modified - <code>true</code> when the cached key differs from the name, or <code>false</code> when the name was passed through
+	 * @param startNanos - instant when the lookup started, as returned by {@link System#nanoTime()}
+	 */
+	public void recordCachedEscape(final boolean modified, final long startNanos) {
+		recordEscape(modified, startNanos);
+		cacheHits.incrementAndGet();
+	}
+
+	/**
+	 * Records a call to unescape a name.
+	 * @param modified - <code>true</code> when the name was unescaped, or <code>false</code> when it was returned unchanged
+	 * @param startNanos - instant when the call started, as returned by {@link System#nanoTime()}
+	 */
+	public void recordUnescape(final boolean modified, final long startNanos) {
+		recordLatency(startNanos);
+		(modified ? unescaped : unescapePassThrough).incrementAndGet();
+	}
+
+	@Override
+	public long getEscaped() {
+		return escaped.get();
+	}
+
+	@Override
+	public long getEscapePassThrough() {
+		return escapePassThrough.get();
+	}
+
+	@Override
+	public long getUnescaped() {
+		return unescaped.get();
+	}
+
+	@Override
+	public long getUnescapePassThrough() {
+		return unescapePassThrough.get();
+	}
+
+	@Override
+	public long getCacheHits() {
+		return cacheHits.get();
+	}
+
+	@Override
+	public void reset() {
+		super.reset();
+		escaped.set(0L);
+		escapePassThrough.set(0L);
+		unescaped.set(0L);
+		unescapePassThrough.set(0L);
+		cacheHits.set(0L);
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2015 Erik Torres
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.etorres.codexposed;
+
+import com.github.etorres.codexposed.metrics.LatencyMXBean;
+
+/**
+ * Management interface of the metrics collected from the {@link MongoDBFieldNameEscaper} and the {@link MongoDBSafeKeyCache}.
+ * @author Erik Torres <etserrano@gmail.com>
+ */
+public interface EscapingMetricsMXBean extends LatencyMXBean {
+
+	/**
+	 * Gets the number of names that contained restricted characters and were escaped.
+	 * @return The number of names escaped since the last reset.
+	 */
+	long getEscaped();
+
+	/**
+	 * Gets the number of names passed to escape that contained no restricted characters and were returned unchanged.
+	 * @return The number of names passed through since the last reset.
+	 */
+	long getEscapePassThrough();
+
+	/**
+	 * Gets the number of names that contained full width characters and were unescaped.
+	 * @return The number of names unescaped since the last reset.
+	 */
+	long getUnescaped();
+
+	/**
+	 * Gets the number of names passed to unescape that contained no full width characters and were returned unchanged.
+	 * @return The number of names passed through since the last reset.
+	 */
+	long getUnescapePassThrough();
+
+	/**
+	 * Gets the number of names whose escaped key was found in the {@link MongoDBSafeKeyCache}. These names are also counted in 
+	 * {@link #getEscaped()} or {@link #getEscapePassThrough()}.
+	 * @return The number of cache hits since the last reset.
+	 */
+	long getCacheHits();
+
+}
\ No newline at end of file
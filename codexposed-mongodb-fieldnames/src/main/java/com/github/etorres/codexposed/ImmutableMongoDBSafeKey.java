@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2015 Erik Torres
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.etorres.codexposed;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Provides a {@link MongoDBSafeKey} that cannot be modified after creation, so a single instance can be safely shared by all the maps
+ * that use the same field name. Since the key never changes, the hash code is computed once on creation and the unescaped form of the
+ * key is computed the first time it is requested. Immutable keys are equal to (and have the same hash code as) any other
+ * {@link MongoDBSafeKey} with the same value.
+ * @author Erik Torres <etserrano@gmail.com>
+ */
+public final class ImmutableMongoDBSafeKey extends MongoDBSafeKey {
+
+	private final int hash;
+	private String unescapedKey = null;
+
+	@JsonCreator
+	public ImmutableMongoDBSafeKey(final @JsonProperty("key") String key) {
+		super(checkNotNull(key, "Uninitialized key"));
+		this.hash = hashCode(key);
+	}
+
+	/**
+	 * Unsupported operation: immutable keys cannot be modified.
+	 * @throws UnsupportedOperationException Always.
+	 */
+	@Override
+	public void setKey(final String key) {
+		throw new UnsupportedOperationException("Immutable key cannot be modified");
+	}
+
+	@JsonIgnore
+	@Override
+	public String getUnescapedKey() {
+		// benign data race: all threads compute the same value
+		String unescapedKey2 = unescapedKey;
+		if (unescapedKey2 == null) {
+			unescapedKey = unescapedKey2 = super.getUnescapedKey();
+		}
+		return unescapedKey2;
+	}
+
+	@Override
+	public boolean equals(final Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (obj instanceof ImmutableMongoDBSafeKey) {
+			final ImmutableMongoDBSafeKey other = (ImmutableMongoDBSafeKey)obj;
+			return hash == other.hash && getKey().equals(other.getKey());
+		}
+		return super.equals(obj);
+	}
+
+	@Override
+	public int hashCode() {
+		return hash;
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,306 @@
+/*
+ * Copyright (c) 2015 Erik Torres
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.etorres.codexposed;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Collections.newSetFromMap;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Escapes (and unescapes) the field names of nested documents. The values of maps, lists and arrays are walked with an explicit stack
+ * instead of recursive calls, therefore very deep documents cannot overflow the call stack. Containers are only copied when some key
+ * or value within them changes; untouched subtrees are reused as they are. Map keys are converted to strings in the result:
+ * {@link MongoDBSafeKey} keys are replaced by the escaped (or unescaped) key, and other keys by their string representation. Arrays
+ * of objects are converted to lists, since mongoDB cannot store Java arrays.
+ * @author Erik Torres <etserrano@gmail.com>
+ */
+public final class MongoDBDeepEscaper {
+
+	private MongoDBDeepEscaper() {
+	}
+
+	/**
+	 * Escapes the field names of the specified value and any document nested in it.
+	 * @param value - value to be escaped
+	 * @return A structure compatible with mongoDB field names, which could be the same instance passed as argument when nothing needs
+	 *         to be escaped.
+	 * @throws IllegalArgumentException When the value contains itself.
+	 */
+	public static Object escapeDeep(final Object value) {
+		return transform(value, true);
+	}
+
+	/**
+	 * Escapes the field names of the specified map and any document nested in it.
+	 * @param map - map to be escaped
+	 * @return A map compatible with mongoDB field names, which could be the same instance passed as argument when nothing needs to be
+	 *         escaped.
+	 * @throws IllegalArgumentException When the map contains itself.
+	 */
+	@SuppressWarnings("unchecked")
+	public static Map<String, Object> escapeDeep(final Map<?, ?> map) {
+		return (Map<String, Object>)transform(map, true);
+	}
+
+	/**
+	 * Restores the original field names of the specified value and any document nested in it.
+	 * @param value - value to be unescaped
+	 * @return A structure with the original field names, which could be the same instance passed as argument when nothing needs to be
+	 *         unescaped.
+	 * @throws IllegalArgumentException When the value contains itself.
+	 */
+	public static Object unescapeDeep(final Object value) {
+		return transform(value, false);
+	}
+
+	/**
+	 * Restores the original field names of the specified map and any document nested in it.
+	 * @param map - map to be unescaped
+	 * @return A map with the original field names, which could be the same instance passed as argument when nothing needs to be
+	 *         unescaped.
+	 * @throws IllegalArgumentException When the map contains itself.
+	 */
+	@SuppressWarnings("unchecked")
+	public static Map<String, Object> unescapeDeep(final Map<?, ?> map) {
+		return (Map<String, Object>)transform(map, false);
+	}
+
+	private static Object transform(final Object root, final boolean escape) {
+		if (!isContainer(root)) {
+			return root;
+		}
+		final Deque<Frame> stack = new ArrayDeque<>();
+		final Set<Object> path = newSetFromMap(new IdentityHashMap<Object, Boolean>());
+		path.add(root);
+		Frame frame = newFrame(root, escape);
+		while (true) {
+			if (frame.hasNext()) {
+				final Object child = frame.next();
+				if (isContainer(child)) {
+					checkArgument(path.add(child), "Cyclic structures cannot be escaped");
+					stack.push(frame);
+					frame = newFrame(child, escape);
+				} else {
+					frame.accept(child, child);
+				}
+			} else {
+				final Object result = frame.result();
+				path.remove(frame.source);
+				if (stack.isEmpty()) {
+					return result;
+				}
+				final Frame parent = stack.pop();
+				parent.accept(frame.source, result);
+				frame = parent;
+			}
+		}
+	}
+
+	private static boolean isContainer(final Object value) {
+		return value instanceof Map || value instanceof Iterable || value instanceof Object[];
+	}
+
+	private static Frame newFrame(final Object container, final boolean escape) {
+		if (container instanceof Map) {
+			return new MapFrame((Map<?, ?>)container, escape);
+		} else if (container instanceof Iterable) {
+			return new IterableFrame((Iterable<?>)container);
+		}
+		return new ArrayFrame((Object[])container);
+	}
+
+	/**
+	 * Progress of the transformation of a container. The values of the container are visited in order and the transformed value is
+	 * notified back to the frame before visiting the next value.
+	 */
+	private static abstract class Frame {
+
+		protected final Object source;
+		protected int index = 0;
+
+		protected Frame(final Object source) {
+			this.source = source;
+		}
+
+		public abstract boolean hasNext();
+
+		public abstract Object next();
+
+		public abstract void accept(Object original, Object transformed);
+
+		public abstract Object result();
+
+	}
+
+	private static final class MapFrame extends Frame {
+
+		private final Map<?, ?> map;
+		private final Iterator<? extends Map.Entry<?, ?>> iterator;
+		private final boolean escape;
+		private Object key = null;
+		private String name = null;
+		private Map<String, Object> copy = null;
+
+		public MapFrame(final Map<?, ?> map, final boolean escape) {
+			super(map);
+			this.map = map;
+			this.iterator = map.entrySet().iterator();
+			this.escape = escape;
+		}
+
+		@Override
+		public boolean hasNext() {
+			return iterator.hasNext();
+		}
+
+		@Override
+		public Object next() {
+			final Map.Entry<?, ?> entry = iterator.next();
+			key = entry.getKey();
+			name = transformKey(key);
+			return entry.getValue();
+		}
+
+		@Override
+		public void accept(final Object original, final Object transformed) {
+			if (copy == null && (transformed != original || name != key)) {
+				// first change: copy the entries visited so far, which were not modified
+				copy = new LinkedHashMap<>(Math.max(16, (int)(map.size() / 0.75f) + 1));
+				final Iterator<? extends Map.Entry<?, ?>> iterator2 = map.entrySet().iterator();
+				for (int i = 0; i < index; i++) {
+					final Map.Entry<?, ?> entry = iterator2.next();
+					copy.put((String)entry.getKey(), entry.getValue());
+				}
+			}
+			if (copy != null) {
+				copy.put(name, transformed);
+			}
+			index++;
+		}
+
+		@Override
+		public Object result() {
+			return copy != null ? copy : map;
+		}
+
+		private String transformKey(final Object key) {
+			if (key instanceof MongoDBSafeKey) {
+				final MongoDBSafeKey safeKey = (MongoDBSafeKey)key;
+				return escape ? safeKey.getKey() : safeKey.getUnescapedKey();
+			}
+			final String name = String.valueOf(key);
+			return escape ? MongoDBFieldNameEscaper.escape(name) : MongoDBFieldNameEscaper.unescape(name);
+		}
+
+	}
+
+	private static final class IterableFrame extends Frame {
+
+		private final Iterable<?> iterable;
+		private final Iterator<?> iterator;
+		private List<Object> copy = null;
+
+		public IterableFrame(final Iterable<?> iterable) {
+			super(iterable);
+			this.iterable = iterable;
+			this.iterator = iterable.iterator();
+		}
+
+		@Override
+		public boolean hasNext() {
+			return iterator.hasNext();
+		}
+
+		@Override
+		public Object next() {
+			return iterator.next();
+		}
+
+		@Override
+		public void accept(final Object original, final Object transformed) {
+			if (copy == null && transformed != original) {
+				// first change: copy the elements visited so far, which were not modified
+				copy = iterable instanceof Collection ? new ArrayList<>(((Collection<?>)iterable).size()) : new ArrayList<>();
+				final Iterator<?> iterator2 = iterable.iterator();
+				for (int i = 0; i < index; i++) {
+					copy.add(iterator2.next());
+				}
+			}
+			if (copy != null) {
+				copy.add(transformed);
+			}
+			index++;
+		}
+
+		@Override
+		public Object result() {
+			return copy != null ? copy : iterable;
+		}
+
+	}
+
+	private static final class ArrayFrame extends Frame {
+
+		private final Object[] array;
+		private Object[] copy = null;
+
+		public ArrayFrame(final Object[] array) {
+			super(array);
+			this.array = array;
+		}
+
+		@Override
+		public boolean hasNext() {
+			return index < array.length;
+		}
+
+		@Override
+		public Object next() {
+			return array[index];
+		}
+
+		@Override
+		public void accept(final Object original, final Object transformed) {
+			if (copy == null && transformed != original) {
+				copy = array.clone();
+			}
+			if (copy != null) {
+				copy[index] = transformed;
+			}
+			index++;
+		}
+
+		@Override
+		public Object result() {
+			// the array is wrapped in a list without copying the elements
+			return Arrays.asList(copy != null ? copy : array);
+		}
+
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) 2015 Erik Torres
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.etorres.codexposed;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.github.etorres.codexposed.metrics.Metrics;
+
+/**
+ * Escapes and unescapes mongoDB field names in a single pass over the characters of the name, replacing the restricted characters with
+ * the Unicode full width equivalents: U+FF04 (i.e. "＄") and U+FF0E (i.e. "．"). When a name contains no character that needs to be
+ * replaced, the original {@link String} instance is returned and no allocation is performed. Callers that are building a larger string
+ * can use the appending methods to write the result directly to their own {@link StringBuilder}. When the {@link Metrics metrics are 
+ * enabled}, the calls to {@link #escape(String)} and {@link #unescape(String)} are recorded in {@link EscapingMetrics}.
+ * @author Erik Torres <etserrano@gmail.com>
+ * @see <a href="http://docs.mongodb.org/manual/reference/limits/#Restrictions-on-Field-Names">mongoDB Restrictions on Field Names</a>
+ */
+public final class MongoDBFieldNameEscaper {
+
+	public static final char DOLLAR = '$';
+	public static final char DOT = '.';
+
+	public static final char UDOLLAR = '\uff04';
+	public static final char UDOT = '\uff0e';
+
+	private MongoDBFieldNameEscaper() {
+	}
+
+	/**
+	 * Replaces the restricted characters of the specified name with their full width equivalents.
+	 * @param name - name to be escaped
+	 * @return The escaped name or the same instance passed as argument when the name contains no restricted characters.
+	 */
+	public static String escape(final String name) {
+		final long start = Metrics.ENABLED ? System.nanoTime() : 0L;
+		final int first = indexOfEscapable(checkNotNull(name, "Uninitialized field name"));
+		if (first < 0) {
+			if (Metrics.ENABLED) {
+				EscapingMetrics.INSTANCE.recordEscape(false, start);
+			}
+			return name;
+		}
+		final char[] chars = name.toCharArray();
+		for (int i = first; i < chars.length; i++) {
+			chars[i] = escape(chars[i]);
+		}
+		final String result = new String(chars);
+		if (Metrics.ENABLED) {
+			EscapingMetrics.INSTANCE.recordEscape(true, start);
+		}
+		return result;
+	}
+
+	/**
+	 * Replaces the full width characters of the specified name with the original restricted characters.
+	 * @param name - name to be unescaped
+	 * @return The unescaped name or the same instance passed as argument when the name contains no full width characters.
+	 */
+	public static String unescape(final String name) {
+		final long start = Metrics.ENABLED ? System.nanoTime() : 0L;
+		final int first = indexOfUnescapable(checkNotNull(name, "Uninitialized field name"));
+		if (first < 0) {
+			if (Metrics.ENABLED) {
+				EscapingMetrics.INSTANCE.recordUnescape(false, start);
+			}
+			return name;
+		}
+		final char[] chars = name.toCharArray();
+		for (int i = first; i < chars.length; i++) {
+			chars[i] = unescape(chars[i]);
+		}
+		final String result = new String(chars);
+		if (Metrics.ENABLED) {
+			EscapingMetrics.INSTANCE.recordUnescape(true, start);
+		}
+		return result;
+	}
+
+	/**
+	 * Appends the escaped form of the specified name to the end of the builder.
+	 * @param name - name to be escaped
+	 * @param builder - builder where the escaped name is appended
+	 * @return The same builder passed as argument.
+	 */
+	public static StringBuilder escape(final CharSequence name, final StringBuilder builder) {
+		checkNotNull(name, "Uninitialized field name");
+		checkNotNull(builder, "Uninitialized builder");
+		final int length = name.length();
+		builder.ensureCapacity(builder.length() + length);
+		for (int i = 0; i < length; i++) {
+			builder.append(escape(name.charAt(i)));
+		}
+		return builder;
+	}
+
+	/**
+	 * Appends the unescaped form of the specified name to the end of the builder.
+	 * @param name - name to be unescaped
+	 * @param builder - builder where the unescaped name is appended
+	 * @return The same builder passed as argument.
+	 */
+	public static StringBuilder unescape(final CharSequence name, final StringBuilder builder) {
+		checkNotNull(name, "Uninitialized field name");
+		checkNotNull(builder, "Uninitialized builder");
+		final int length = name.length();
+		builder.ensureCapacity(builder.length() + length);
+		for (int i = 0; i < length; i++) {
+			builder.append(unescape(name.charAt(i)));
+		}
+		return builder;
+	}
+
+	/**
+	 * Checks whether the specified name contains characters that are not allowed in mongoDB field names.
+	 * @param name - name to be checked
+	 * @return <code>true</code> if the name needs to be escaped before it can be used as a field name, otherwise <code>false</code>.
+	 */
+	public static boolean needsEscaping(final CharSequence name) {
+		return indexOfEscapable(checkNotNull(name, "Uninitialized field name")) >= 0;
+	}
+
+	/**
+	 * Checks whether the specified name contains full width characters that should be restored to read the original name.
+	 * @param name - name to be checked
+	 * @return <code>true</code> if the name needs to be unescaped to read the original name, otherwise <code>false</code>.
+	 */
+	public static boolean needsUnescaping(final CharSequence name) {
+		return indexOfUnescapable(checkNotNull(name, "Uninitialized field name")) >= 0;
+	}
+
+	private static int indexOfEscapable(final CharSequence name) {
+		final int length = name.length();
+		for (int i = 0; i < length; i++) {
+			final char c = name.charAt(i);
+			if (c == DOLLAR || c == DOT) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	private static int indexOfUnescapable(final CharSequence name) {
+		final int length = name.length();
+		for (int i = 0; i < length; i++) {
+			final char c = name.charAt(i);
+			if (c == UDOLLAR || c == UDOT) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	private static char escape(final char c) {
+		switch (c) {
+		case DOLLAR:
+			return UDOLLAR;
+		case DOT:
+			return UDOT;
+		default:
+			return c;
+		}
+	}
+
+	private static char unescape(final char c) {
+		switch (c) {
+		case UDOLLAR:
+			return DOLLAR;
+		case UDOT:
+			return DOT;
+		default:
+			return c;
+		}
+	}
+
+}
\ No newline at end of file
@@ -16,17 +16,13 @@
 
 package com.github.etorres.codexposed;
 
+import static com.github.etorres.codexposed.MongoDBSafeKeyCache.KEY_CACHE;
 import static com.google.common.base.MoreObjects.toStringHelper;
 import static com.google.common.base.Preconditions.checkArgument;
-import static java.util.regex.Matcher.quoteReplacement;
-import static java.util.regex.Pattern.compile;
-import static java.util.regex.Pattern.quote;
-import static org.apache.commons.lang3.StringEscapeUtils.unescapeJava;
 import static org.apache.commons.lang3.StringUtils.isNotBlank;
 import static org.apache.commons.lang3.StringUtils.trimToNull;
 
 import java.util.Objects;
-import java.util.regex.Pattern;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 
@@ -39,23 +35,15 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
  */
 public class MongoDBSafeKey {
 
-	private static final Pattern DOLLAR_PATTERN = compile(quote("$"));
-	private static final Pattern DOT_PATTERN = compile(quote("."));
-
-	private static final String DOLLAR_REPLACEMENT = quoteReplacement("\\") + "uff04";
-	private static final String DOT_REPLACEMENT = quoteReplacement("\\") + "uff0e";
-
-	private static final Pattern UDOLLAR_PATTERN = compile(quote("\uff04"));
-	private static final Pattern UDOT_PATTERN = compile(quote("\uff0e"));
-
-	private static final String UDOLLAR_REPLACEMENT = quoteReplacement("$");
-	private static final String UDOT_REPLACEMENT = quoteReplacement(".");
-
 	private String key;
 
 	public MongoDBSafeKey() {
 	}
 
+	protected MongoDBSafeKey(final String key) {
+		this.key = key;
+	}
+
 	public String getKey() {
 		return key;
 	}
@@ -80,7 +68,7 @@ public class MongoDBSafeKey {
 
 	@Override
 	public int hashCode() {
-		return Objects.hash(key);
+		return hashCode(key);
 	}
 
 	@Override
@@ -90,26 +78,36 @@ public class MongoDBSafeKey {
 				.toString();
 	}
 
+	/**
+	 * Computes the hash code of a key with the specified value. The result is the same returned by {@link Objects#hash(Object...)}
+	 * without allocating the array of arguments on every call.
+	 * @param key - value of the key
+	 * @return The hash code of a key with the specified value.
+	 */
+	static int hashCode(final String key) {
+		return 31 + Objects.hashCode(key);
+	}
+
+	/**
+	 * Gets the canonical key that corresponds to the specified name. Keys are shared through the {@link MongoDBSafeKeyCache#KEY_CACHE},
+	 * therefore the returned instance cannot be modified.
+	 * @param name - name to be escaped
+	 * @return An immutable key compatible with mongoDB field names.
+	 */
 	public static MongoDBSafeKey escapeMapKey(final String name) {
-		final MongoDBSafeKey instance = new MongoDBSafeKey();
-		instance.setKey(escapeFieldName(name));
-		return instance;
+		return KEY_CACHE.getKey(name);
 	}
 
 	public static String escapeFieldName(final String name) {
 		String name2 = null;
 		checkArgument(isNotBlank(name2 = trimToNull(name)), "Uninitialized or invalid field name");		
-		String escaped = DOLLAR_PATTERN.matcher(name2).replaceAll(DOLLAR_REPLACEMENT);
-		escaped = DOT_PATTERN.matcher(escaped).replaceAll(DOT_REPLACEMENT);
-		return unescapeJava(escaped);
+		return MongoDBFieldNameEscaper.escape(name2);
 	}
 
 	public static String unescapeFieldName(final String name) {
 		String name2 = null;
 		checkArgument(isNotBlank(name2 = trimToNull(name)), "Uninitialized or invalid field name");
-		String unescaped = UDOLLAR_PATTERN.matcher(name2).replaceAll(UDOLLAR_REPLACEMENT);
-		unescaped = UDOT_PATTERN.matcher(unescaped).replaceAll(UDOT_REPLACEMENT);
-		return unescaped;
+		return MongoDBFieldNameEscaper.unescape(name2);
 	}
 
 }
\ No newline at end of file
@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2015 Erik Torres
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.etorres.codexposed;
+
+import static com.github.etorres.codexposed.MongoDBSafeKey.escapeFieldName;
+import static com.google.common.base.MoreObjects.toStringHelper;
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Throwables.propagate;
+
+import com.github.etorres.codexposed.metrics.Metrics;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.CacheStats;
+import com.google.common.cache.LoadingCache;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+
+/**
+ * Concurrent, size-bounded cache of {@link ImmutableMongoDBSafeKey} instances indexed by the original (unescaped) field name. Documents
+ * tend to reuse a small vocabulary of field names, so sharing the escaped keys saves the escaping work and the allocation of a new key
+ * every time a field name is seen. When the cache is full, the least recently used keys are evicted. When the {@link Metrics metrics are
+ * enabled}, the keys found in the cache are recorded in {@link EscapingMetrics} as cache hits.
+ * @author Erik Torres <etserrano@gmail.com>
+ */
+public final class MongoDBSafeKeyCache {
+
+	public static final long DEFAULT_MAXIMUM_SIZE = 10000L;
+
+	public static final MongoDBSafeKeyCache KEY_CACHE = new MongoDBSafeKeyCache(DEFAULT_MAXIMUM_SIZE);
+
+	private final LoadingCache<String, ImmutableMongoDBSafeKey> __cache;
+
+	public MongoDBSafeKeyCache(final long maximumSize) {
+		checkArgument(maximumSize > 0L, "Maximum size must be positive");
+		__cache = CacheBuilder.newBuilder()
+				.maximumSize(maximumSize)
+				.recordStats()
+				.build(new CacheLoader<String, ImmutableMongoDBSafeKey>() {
+					@Override
+					public ImmutableMongoDBSafeKey load(final String name) throws Exception {
+						return new ImmutableMongoDBSafeKey(escapeFieldName(name));
+					}
+				});
+	}
+
+	/**
+	 * Gets the canonical key of the specified name, escaping the name only the first time it is seen.
+	 * @param name - field name to be escaped
+	 * @return A shared instance of the key compatible with mongoDB field names.
+	 * @throws IllegalArgumentException When the name is <code>null</code>, empty or blank.
+	 */
+	public MongoDBSafeKey getKey(final String name) {
+		checkArgument(name != null, "Uninitialized or invalid field name");
+		if (Metrics.ENABLED) {
+			// cache hits never reach the escaper, so they must be recorded here
+			final long start = System.nanoTime();
+			final ImmutableMongoDBSafeKey cached = __cache.getIfPresent(name);
+			if (cached != null) {
+				EscapingMetrics.INSTANCE.recordCachedEscape(!cached.getKey().equals(name.trim()), start);
+				return cached;
+			}
+		}
+		try {
+			return __cache.getUnchecked(name);
+		} catch (UncheckedExecutionException e) {
+			throw propagate(e.getCause());
+		}
+	}
+
+	/**
+	 * Gets the hit, miss and eviction statistics of this cache.
+	 * @return A snapshot of the statistics of this cache.
+	 */
+	public CacheStats stats() {
+		return __cache.stats();
+	}
+
+	public long size() {
+		return __cache.size();
+	}
+
+	public void invalidateAll() {
+		__cache.invalidateAll();
+	}
+
+	@Override
+	public String toString() {
+		return toStringHelper(this)
+				.add("size", __cache.size())
+				.add("stats", __cache.stats())
+				.toString();
+	}
+
+}
\ No newline at end of file
@@ -18,29 +18,108 @@ package com.github.etorres.codexposed;
 
 import static com.github.etorres.codexposed.MongoDBSafeKey.escapeMapKey;
 import static com.google.common.base.MoreObjects.toStringHelper;
+import static com.google.common.base.Preconditions.checkNotNull;
 import static com.google.common.collect.Maps.newHashMap;
 import static java.util.Collections.unmodifiableMap;
 
+import java.util.AbstractMap;
+import java.util.AbstractSet;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.Hashtable;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.github.etorres.codexposed.collect.CompactArrayMap;
+import com.github.etorres.codexposed.collect.OpenAddressingMap;
+import com.google.common.collect.UnmodifiableIterator;
 
 /**
- * Provides a map that uses a key compatible with mongoDB field names. Internally, this class wraps a {@link Hashtable} with a key restriction.
+ * Provides a map that uses a key compatible with mongoDB field names. Internally, this class wraps a {@link Map} with a key restriction.
+ * The implementation of the wrapped map is selected with a {@link Backing} when the map is created, defaulting to a {@link Hashtable}.
  * @author Erik Torres <etserrano@gmail.com>
  * @see <a href="http://docs.mongodb.org/manual/reference/limits/#Restrictions-on-Field-Names">mongoDB Restrictions on Field Names</a>
  */
 public class MongoDBSafeMap<K extends MongoDBSafeKey, V> implements Map<K, V> {
 
-	private Map<K, V> __map = new Hashtable<>();
+	/**
+	 * Implementations of the map wrapped by a {@link MongoDBSafeMap}.
+	 * @author Erik Torres <etserrano@gmail.com>
+	 */
+	public static enum Backing {
+		/**
+		 * Synchronized {@link Hashtable}: every operation acquires the lock of the map.
+		 */
+		HASHTABLE {
+			@Override
+			public <K, V> Map<K, V> newMap() {
+				return new Hashtable<>();
+			}
+		},
+		/**
+		 * Unsynchronized {@link HashMap}: the map must not be modified concurrently.
+		 */
+		HASH_MAP {
+			@Override
+			public <K, V> Map<K, V> newMap() {
+				return new HashMap<>();
+			}
+		},
+		/**
+		 * Lock-striped {@link ConcurrentHashMap}: the map can be read and modified concurrently.
+		 */
+		CONCURRENT {
+			@Override
+			public <K, V> Map<K, V> newMap() {
+				return new ConcurrentHashMap<>();
+			}
+		},
+		/**
+		 * Unsynchronized {@link OpenAddressingMap}: the map must not be modified concurrently.
+		 */
+		OPEN_ADDRESSING {
+			@Override
+			public <K, V> Map<K, V> newMap() {
+				return new OpenAddressingMap<>();
+			}
+		},
+		/**
+		 * Unsynchronized {@link CompactArrayMap}: the map must not be modified concurrently. Small maps are stored in flat arrays in 
+		 * insertion order and are promoted to an {@link OpenAddressingMap} when they grow past 
+		 * {@link CompactArrayMap#DEFAULT_PROMOTION_THRESHOLD} keys.
+		 */
+		COMPACT {
+			@Override
+			public <K, V> Map<K, V> newMap() {
+				return new CompactArrayMap<>();
+			}
+		};
+
+		public abstract <K, V> Map<K, V> newMap();
+	}
+
+	public static final Backing DEFAULT_BACKING = Backing.HASHTABLE;
+
+	private final Map<K, V> __map;
+	private Map<String, Object> __view = null;
+
+	public MongoDBSafeMap() {
+		this(DEFAULT_BACKING);
+	}
 
-	public MongoDBSafeMap() {		
+	public MongoDBSafeMap(final Backing backing) {
+		__map = checkNotNull(backing, "Uninitialized backing").newMap();
 	}
 
 	public MongoDBSafeMap(final Map<? extends K, ? extends V> initial) {
-		super();
+		this(DEFAULT_BACKING, initial);
+	}
+
+	public MongoDBSafeMap(final Backing backing, final Map<? extends K, ? extends V> initial) {
+		this(backing);
 		this.putAll(initial);
 	}
 
@@ -108,6 +187,12 @@ public class MongoDBSafeMap<K extends MongoDBSafeKey, V> implements Map<K, V> {
 		return __map.get(escapeMapKey(key));
 	}
 
+	/**
+	 * Creates a snapshot of this map where the keys are the escaped field names. Later changes to this map are not reflected in the
+	 * snapshot.
+	 * @return A new, unmodifiable map containing the mappings of this map.
+	 * @see #asMap()
+	 */
 	public Map<String, Object> toMap() {
 		final Map<String, Object> map = newHashMap();
 		for (final Map.Entry<K, V> entry : __map.entrySet()) {
@@ -116,6 +201,20 @@ public class MongoDBSafeMap<K extends MongoDBSafeKey, V> implements Map<K, V> {
 		return unmodifiableMap(map);
 	}
 
+	/**
+	 * Gets a read-only view of this map where the keys are the escaped field names. The view is backed by this map, so it reflects
+	 * any later change to this map and no mapping is copied to create it.
+	 * @return An unmodifiable, live view of this map.
+	 * @see #toMap()
+	 */
+	public Map<String, Object> asMap() {
+		Map<String, Object> view2 = __view;
+		if (view2 == null) {
+			__view = view2 = new EscapedKeyView();
+		}
+		return view2;
+	}
+
 	@Override
 	public boolean equals(final Object obj) {
 		if (obj == null || !(obj instanceof MongoDBSafeMap)) {
@@ -137,4 +236,64 @@ public class MongoDBSafeMap<K extends MongoDBSafeKey, V> implements Map<K, V> {
 				.toString();
 	}
 
+	private final class EscapedKeyView extends AbstractMap<String, Object> {
+
+		private Set<Map.Entry<String, Object>> entrySet = null;
+
+		@Override
+		public int size() {
+			return __map.size();
+		}
+
+		@Override
+		public boolean isEmpty() {
+			return __map.isEmpty();
+		}
+
+		@Override
+		public boolean containsKey(final Object key) {
+			return key instanceof String && __map.containsKey(new ImmutableMongoDBSafeKey((String)key));
+		}
+
+		@Override
+		public boolean containsValue(final Object value) {
+			return __map.containsValue(value);
+		}
+
+		@Override
+		public Object get(final Object key) {
+			return key instanceof String ? __map.get(new ImmutableMongoDBSafeKey((String)key)) : null;
+		}
+
+		@Override
+		public Set<Map.Entry<String, Object>> entrySet() {
+			Set<Map.Entry<String, Object>> entrySet2 = entrySet;
+			if (entrySet2 == null) {
+				entrySet = entrySet2 = new AbstractSet<Map.Entry<String, Object>>() {
+					@Override
+					public Iterator<Map.Entry<String, Object>> iterator() {
+						final Iterator<Map.Entry<K, V>> iterator = __map.entrySet().iterator();
+						return new UnmodifiableIterator<Map.Entry<String, Object>>() {
+							@Override
+							public boolean hasNext() {
+								return iterator.hasNext();
+							}
+							@Override
+							public Map.Entry<String, Object> next() {
+								final Map.Entry<K, V> entry = iterator.next();
+								return new SimpleImmutableEntry<String, Object>(entry.getKey().getKey(), entry.getValue());
+							}
+						};
+					}
+					@Override
+					public int size() {
+						return __map.size();
+					}
+				};
+			}
+			return entrySet2;
+		}
+
+	}
+
 }
\ No newline at end of file
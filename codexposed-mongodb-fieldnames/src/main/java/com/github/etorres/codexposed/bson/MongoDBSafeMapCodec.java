@@ -0,0 +1,204 @@
+/*
+ * Copyright (c) 2015 Erik Torres
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.etorres.codexposed.bson;
+
+import static com.github.etorres.codexposed.MongoDBSafeKey.escapeMapKey;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.collect.Lists.newArrayList;
+
+import java.util.List;
+import java.util.Map;
+
+import org.bson.BsonDocument;
+import org.bson.BsonDocumentWriter;
+import org.bson.BsonReader;
+import org.bson.BsonType;
+import org.bson.BsonValue;
+import org.bson.BsonWriter;
+import org.bson.codecs.BsonTypeClassMap;
+import org.bson.codecs.Codec;
+import org.bson.codecs.CollectibleCodec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.bson.codecs.IdGenerator;
+import org.bson.codecs.ObjectIdGenerator;
+import org.bson.codecs.configuration.CodecRegistry;
+
+import com.github.etorres.codexposed.ImmutableMongoDBSafeKey;
+import com.github.etorres.codexposed.MongoDBFieldNameEscaper;
+import com.github.etorres.codexposed.MongoDBSafeKey;
+import com.github.etorres.codexposed.MongoDBSafeMap;
+import com.github.etorres.codexposed.MongoDBSafeMap.Backing;
+
+/**
+ * Encodes {@link MongoDBSafeMap} maps to BSON and decodes BSON documents to {@link MongoDBSafeMap} maps without creating intermediate
+ * maps or {@link org.bson.Document documents}. Escaped keys are written directly to the {@link BsonWriter} and field names are read
+ * directly into {@link MongoDBSafeKey} keys. The keys of nested maps are escaped when they are written. Other values are encoded and
+ * decoded with the codecs found in the {@link CodecRegistry}, the same way {@link org.bson.codecs.DocumentCodec} does.
+ * @author Erik Torres <etserrano@gmail.com>
+ */
+@SuppressWarnings("rawtypes")
+public class MongoDBSafeMapCodec implements CollectibleCodec<MongoDBSafeMap> {
+
+	public static final String ID_FIELD_NAME = "_id";
+	public static final MongoDBSafeKey ID_KEY = escapeMapKey(ID_FIELD_NAME);
+
+	private final CodecRegistry registry;
+	private final BsonTypeClassMap bsonTypeClassMap;
+	private final Backing backing;
+	private final IdGenerator idGenerator = new ObjectIdGenerator();
+
+	public MongoDBSafeMapCodec(final CodecRegistry registry) {
+		this(registry, new BsonTypeClassMap(), MongoDBSafeMap.DEFAULT_BACKING);
+	}
+
+	public MongoDBSafeMapCodec(final CodecRegistry registry, final BsonTypeClassMap bsonTypeClassMap, final Backing backing) {
+		this.registry = checkNotNull(registry, "Uninitialized registry");
+		this.bsonTypeClassMap = checkNotNull(bsonTypeClassMap, "Uninitialized BSON type class map");
+		this.backing = checkNotNull(backing, "Uninitialized backing");
+	}
+
+	@Override
+	public void encode(final BsonWriter writer, final MongoDBSafeMap value, final EncoderContext encoderContext) {
+		writer.writeStartDocument();
+		final boolean collectible = encoderContext.isEncodingCollectibleDocument() && value.containsKey(ID_KEY);
+		if (collectible) {
+			// write the identifier first, the same as the document codec does
+			writer.writeName(ID_FIELD_NAME);
+			writeValue(writer, encoderContext, value.get(ID_KEY));
+		}
+		for (final Object obj : value.entrySet()) {
+			final Map.Entry entry = (Map.Entry)obj;
+			final MongoDBSafeKey key = (MongoDBSafeKey)entry.getKey();
+			if (collectible && ID_KEY.equals(key)) {
+				continue;
+			}
+			writer.writeName(key.getKey());
+			writeValue(writer, encoderContext, entry.getValue());
+		}
+		writer.writeEndDocument();
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public MongoDBSafeMap decode(final BsonReader reader, final DecoderContext decoderContext) {
+		final MongoDBSafeMap<MongoDBSafeKey, Object> map = new MongoDBSafeMap<>(backing);
+		reader.readStartDocument();
+		while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+			// field names are stored escaped, so they can be used as keys with no further processing
+			final MongoDBSafeKey key = new ImmutableMongoDBSafeKey(reader.readName());
+			map.put(key, readValue(reader, decoderContext));
+		}
+		reader.readEndDocument();
+		return map;
+	}
+
+	@Override
+	public Class<MongoDBSafeMap> getEncoderClass() {
+		return MongoDBSafeMap.class;
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public MongoDBSafeMap generateIdIfAbsentFromDocument(final MongoDBSafeMap document) {
+		if (!documentHasId(document)) {
+			document.put(ID_KEY, idGenerator.generate());
+		}
+		return document;
+	}
+
+	@Override
+	public boolean documentHasId(final MongoDBSafeMap document) {
+		return document.containsKey(ID_KEY);
+	}
+
+	@Override
+	public BsonValue getDocumentId(final MongoDBSafeMap document) {
+		if (!documentHasId(document)) {
+			throw new IllegalStateException("The document does not contain an " + ID_FIELD_NAME);
+		}
+		final Object id = document.get(ID_KEY);
+		if (id instanceof BsonValue) {
+			return (BsonValue)id;
+		}
+		final BsonDocument idHoldingDocument = new BsonDocument();
+		final BsonWriter writer = new BsonDocumentWriter(idHoldingDocument);
+		writer.writeStartDocument();
+		writer.writeName(ID_FIELD_NAME);
+		writeValue(writer, EncoderContext.builder().build(), id);
+		writer.writeEndDocument();
+		return idHoldingDocument.get(ID_FIELD_NAME);
+	}
+
+	@SuppressWarnings("unchecked")
+	private void writeValue(final BsonWriter writer, final EncoderContext encoderContext, final Object value) {
+		if (value == null) {
+			writer.writeNull();
+		} else if (value instanceof MongoDBSafeMap) {
+			encoderContext.encodeWithChildContext(this, writer, (MongoDBSafeMap)value);
+		} else if (value instanceof Map) {
+			writeMap(writer, (Map<?, ?>)value, encoderContext);
+		} else if (value instanceof Iterable) {
+			writeIterable(writer, (Iterable<?>)value, encoderContext);
+		} else {
+			final Codec codec = registry.get(value.getClass());
+			encoderContext.encodeWithChildContext(codec, writer, value);
+		}
+	}
+
+	private void writeMap(final BsonWriter writer, final Map<?, ?> map, final EncoderContext encoderContext) {
+		writer.writeStartDocument();
+		for (final Map.Entry<?, ?> entry : map.entrySet()) {
+			final Object key = entry.getKey();
+			writer.writeName(key instanceof MongoDBSafeKey ? ((MongoDBSafeKey)key).getKey()
+					: MongoDBFieldNameEscaper.escape(String.valueOf(key)));
+			writeValue(writer, encoderContext, entry.getValue());
+		}
+		writer.writeEndDocument();
+	}
+
+	private void writeIterable(final BsonWriter writer, final Iterable<?> iterable, final EncoderContext encoderContext) {
+		writer.writeStartArray();
+		for (final Object value : iterable) {
+			writeValue(writer, encoderContext, value);
+		}
+		writer.writeEndArray();
+	}
+
+	// package-private so that single fields can be decoded the same way by the off-heap store
+	Object readValue(final BsonReader reader, final DecoderContext decoderContext) {
+		final BsonType bsonType = reader.getCurrentBsonType();
+		if (bsonType == BsonType.NULL) {
+			reader.readNull();
+			return null;
+		} else if (bsonType == BsonType.ARRAY) {
+			return readList(reader, decoderContext);
+		}
+		return registry.get(bsonTypeClassMap.get(bsonType)).decode(reader, decoderContext);
+	}
+
+	private List<Object> readList(final BsonReader reader, final DecoderContext decoderContext) {
+		reader.readStartArray();
+		final List<Object> list = newArrayList();
+		while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+			list.add(readValue(reader, decoderContext));
+		}
+		reader.readEndArray();
+		return list;
+	}
+
+}
\ No newline at end of file
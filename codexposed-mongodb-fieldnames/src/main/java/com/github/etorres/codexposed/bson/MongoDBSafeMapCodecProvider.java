@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2015 Erik Torres
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.etorres.codexposed.bson;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static org.bson.codecs.configuration.CodecRegistries.fromProviders;
+import static org.bson.codecs.configuration.CodecRegistries.fromRegistries;
+
+import org.bson.codecs.BsonTypeClassMap;
+import org.bson.codecs.Codec;
+import org.bson.codecs.configuration.CodecProvider;
+import org.bson.codecs.configuration.CodecRegistry;
+
+import com.github.etorres.codexposed.MongoDBSafeMap;
+import com.github.etorres.codexposed.MongoDBSafeMap.Backing;
+import com.mongodb.MongoClient;
+
+/**
+ * Provides the {@link MongoDBSafeMapCodec} to a {@link CodecRegistry}. Use {@link #SAFE_MAP_CODEC_REGISTRY} to read and write
+ * {@link MongoDBSafeMap} maps directly from a collection:
+ * <pre>
+ * final MongoCollection&lt;MongoDBSafeMap&gt; collection = db.getCollection("mycollection", MongoDBSafeMap.class)
+ *     .withCodecRegistry(SAFE_MAP_CODEC_REGISTRY);
+ * </pre>
+ * @author Erik Torres <etserrano@gmail.com>
+ */
+public class MongoDBSafeMapCodecProvider implements CodecProvider {
+
+	/**
+	 * Default registry of the mongoDB driver extended with the {@link MongoDBSafeMapCodec}.
+	 */
+	public static final CodecRegistry SAFE_MAP_CODEC_REGISTRY = fromRegistries(fromProviders(new MongoDBSafeMapCodecProvider()),
+			MongoClient.getDefaultCodecRegistry());
+
+	private final BsonTypeClassMap bsonTypeClassMap;
+	private final Backing backing;
+
+	public MongoDBSafeMapCodecProvider() {
+		this(new BsonTypeClassMap(), MongoDBSafeMap.DEFAULT_BACKING);
+	}
+
+	public MongoDBSafeMapCodecProvider(final BsonTypeClassMap bsonTypeClassMap, final Backing backing) {
+		this.bsonTypeClassMap = checkNotNull(bsonTypeClassMap, "Uninitialized BSON type class map");
+		this.backing = checkNotNull(backing, "Uninitialized backing");
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public <T> Codec<T> get(final Class<T> clazz, final CodecRegistry registry) {
+		if (clazz == MongoDBSafeMap.class) {
+			return (Codec<T>)new MongoDBSafeMapCodec(registry, bsonTypeClassMap, backing);
+		}
+		return null;
+	}
+
+}
\ No newline at end of file
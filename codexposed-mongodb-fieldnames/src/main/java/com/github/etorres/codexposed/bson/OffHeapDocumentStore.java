@@ -0,0 +1,260 @@
+/*
+ * Copyright (c) 2015 Erik Torres
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.etorres.codexposed.bson;
+
+import static com.github.etorres.codexposed.bson.MongoDBSafeMapCodecProvider.SAFE_MAP_CODEC_REGISTRY;
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+import org.bson.BsonBinaryReader;
+import org.bson.BsonBinaryWriter;
+import org.bson.BsonType;
+import org.bson.ByteBuf;
+import org.bson.codecs.BsonTypeClassMap;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.bson.io.BasicOutputBuffer;
+
+import com.github.etorres.codexposed.MongoDBFieldNameEscaper;
+import com.github.etorres.codexposed.MongoDBSafeMap;
+import com.github.etorres.codexposed.MongoDBSafeMap.Backing;
+
+/**
+ * Append-only store that keeps {@link MongoDBSafeMap} maps outside the Java heap, serialized to BSON in direct {@link ByteBuffer} 
+ * segments. Since the documents are not Java objects, a large working set kept in this store adds no work to the garbage collector.
+ * Each stored document is identified by a <code>long</code> handle, which encodes the segment and the offset of the document. Handles
+ * can be used to decode the whole document or to read a single field, which skips over the other fields without decoding them.
+ * Documents cannot be removed individually: the store is cleared at once with {@link #clear()}, which invalidates all the handles.
+ * Documents are written under a lock, while any number of threads can read concurrently, provided that the handles are safely published
+ * to the reading threads.
+ * @author Erik Torres <etserrano@gmail.com>
+ */
+public class OffHeapDocumentStore implements AutoCloseable {
+
+	public static final int DEFAULT_SEGMENT_SIZE = 16 * 1024 * 1024; // maximum size of a mongoDB document
+	public static final int DEFAULT_MAX_SEGMENTS = 4; // 64 MB, within the default direct memory limit of most JVMs
+
+	private final int segmentSize;
+	private final int maxSegments;
+	private final MongoDBSafeMapCodec codec;
+	private final BasicOutputBuffer output = new BasicOutputBuffer(); // guarded by this
+
+	private volatile ByteBuffer[] segments = new ByteBuffer[0];
+	private int current = -1; // guarded by this
+	private int position = 0; // guarded by this
+	private long count = 0L; // guarded by this
+	private long used = 0L; // guarded by this
+	private volatile boolean closed = false;
+
+	public OffHeapDocumentStore() {
+		this(DEFAULT_SEGMENT_SIZE, DEFAULT_MAX_SEGMENTS, MongoDBSafeMap.DEFAULT_BACKING);
+	}
+
+	/**
+	 * Creates a new store. Segments are allocated when they are needed, and count against the direct memory limit of the JVM 
+	 * (<code>-XX:MaxDirectMemorySize</code>).
+	 * @param segmentSize - size of each segment in bytes, which limits the maximum size of the documents
+	 * @param maxSegments - maximum number of segments
+	 * @param backing - implementation of the maps created when the documents are decoded
+	 */
+	public OffHeapDocumentStore(final int segmentSize, final int maxSegments, final Backing backing) {
+		checkArgument(segmentSize >= 5, "Invalid segment size: %s", segmentSize);
+		checkArgument(maxSegments > 0, "Invalid maximum number of segments: %s", maxSegments);
+		this.segmentSize = segmentSize;
+		this.maxSegments = maxSegments;
+		this.codec = new MongoDBSafeMapCodec(SAFE_MAP_CODEC_REGISTRY, new BsonTypeClassMap(), checkNotNull(backing, "Uninitialized backing"));
+	}
+
+	/**
+	 * Serializes the specified map to the store.
+	 * @param map - map to be stored
+	 * @return The handle of the stored document.
+	 * @throws IllegalArgumentException When the document is larger than a segment.
+	 * @throws IllegalStateException When the store is full, closed, or no direct memory is left to allocate a new segment.
+	 */
+	public synchronized long put(final MongoDBSafeMap<?, ?> map) {
+		checkNotNull(map, "Uninitialized map");
+		checkState(!closed, "Store is closed");
+		output.truncateToPosition(0);
+		codec.encode(new BsonBinaryWriter(output), map, EncoderContext.builder().build());
+		final int length = output.getPosition();
+		checkArgument(length <= segmentSize, "Document size (%s bytes) exceeds the segment size", length);
+		ByteBuffer[] segments2 = segments;
+		if (current < 0 || position + length > segmentSize) {
+			// move to the next segment, which is allocated unless it was kept when the store was cleared
+			checkState(current + 1 < maxSegments, "Store is full");
+			if (current + 1 == segments2.length) {
+				segments2 = Arrays.copyOf(segments2, segments2.length + 1);
+				segments2[segments2.length - 1] = allocateSegment();
+				segments = segments2;
+			}
+			current++;
+			position = 0;
+		}
+		final int segment = current;
+		final ByteBuffer target = segments2[segment].duplicate();
+		target.position(position);
+		for (final ByteBuf buffer : output.getByteBuffers()) {
+			target.put(buffer.asNIO());
+		}
+		final long handle = ((long)segment << 32) | position;
+		position += length;
+		used += length;
+		count++;
+		return handle;
+	}
+
+	/**
+	 * Decodes the document identified by the specified handle.
+	 * @param handle - handle of the document
+	 * @return A new map containing the mappings of the stored document.
+	 * @throws IllegalArgumentException When the handle doesn't identify a document of this store.
+	 * @throws IllegalStateException When the store is closed.
+	 */
+	public MongoDBSafeMap<?, ?> get(final long handle) {
+		try (final BsonBinaryReader reader = new BsonBinaryReader(document(handle))) {
+			return codec.decode(reader, DecoderContext.builder().build());
+		}
+	}
+
+	/**
+	 * Reads a single field of the document identified by the specified handle, skipping the other fields.
+	 * @param handle - handle of the document
+	 * @param name - original (unescaped) field name
+	 * @return The value of the field, or <code>null</code> when the document doesn't contain the field.
+	 * @throws IllegalArgumentException When the handle doesn't identify a document of this store.
+	 * @throws IllegalStateException When the store is closed.
+	 */
+	public Object getField(final long handle, final String name) {
+		final String escapedName = MongoDBFieldNameEscaper.escape(name);
+		try (final BsonBinaryReader reader = new BsonBinaryReader(document(handle))) {
+			return seek(reader, escapedName) ? codec.readValue(reader, DecoderContext.builder().build()) : null;
+		}
+	}
+
+	/**
+	 * Checks whether the document identified by the specified handle contains the field.
+	 * @param handle - handle of the document
+	 * @param name - original (unescaped) field name
+	 * @return <code>true</code> if the document contains the field, otherwise <code>false</code>.
+	 * @throws IllegalArgumentException When the handle doesn't identify a document of this store.
+	 * @throws IllegalStateException When the store is closed.
+	 */
+	public boolean containsField(final long handle, final String name) {
+		final String escapedName = MongoDBFieldNameEscaper.escape(name);
+		try (final BsonBinaryReader reader = new BsonBinaryReader(document(handle))) {
+			return seek(reader, escapedName);
+		}
+	}
+
+	/**
+	 * Gets the size of the document identified by the specified handle.
+	 * @param handle - handle of the document
+	 * @return The size of the serialized document in bytes.
+	 * @throws IllegalArgumentException When the handle doesn't identify a document of this store.
+	 * @throws IllegalStateException When the store is closed.
+	 */
+	public int sizeOf(final long handle) {
+		return document(handle).remaining();
+	}
+
+	/**
+	 * Gets the number of documents in the store.
+	 * @return The number of documents.
+	 */
+	public synchronized long count() {
+		return count;
+	}
+
+	/**
+	 * Gets the number of bytes used by the documents.
+	 * @return The number of bytes used.
+	 */
+	public synchronized long usedBytes() {
+		return used;
+	}
+
+	/**
+	 * Gets the number of bytes allocated outside the heap.
+	 * @return The capacity of the allocated segments in bytes.
+	 */
+	public long capacityBytes() {
+		return (long)segments.length * segmentSize;
+	}
+
+	/**
+	 * Removes all the documents from the store, keeping the allocated segments for reuse. The handles of the removed documents must not 
+	 * be used after calling this method.
+	 */
+	public synchronized void clear() {
+		current = -1;
+		position = 0;
+		count = used = 0L;
+	}
+
+	/**
+	 * Releases the segments of the store. The memory is reclaimed when the segments are garbage collected.
+	 */
+	@Override
+	public synchronized void close() {
+		// readers that see the released segments must also see the store closed
+		closed = true;
+		segments = new ByteBuffer[0];
+		current = -1;
+		position = 0;
+		count = used = 0L;
+	}
+
+	private ByteBuffer allocateSegment() {
+		try {
+			return ByteBuffer.allocateDirect(segmentSize);
+		} catch (OutOfMemoryError e) {
+			// the direct memory of the JVM (-XX:MaxDirectMemorySize) is exhausted
+			throw new IllegalStateException("Store is full", e);
+		}
+	}
+
+	private ByteBuffer document(final long handle) {
+		final ByteBuffer[] segments2 = segments;
+		checkState(!closed, "Store is closed");
+		final int segment = (int)(handle >>> 32);
+		final int offset = (int)handle;
+		checkArgument(segment >= 0 && segment < segments2.length && offset >= 0 && offset <= segmentSize - 5, "Invalid handle: %s", handle);
+		final ByteBuffer buffer = segments2[segment].duplicate().order(ByteOrder.LITTLE_ENDIAN);
+		final int length = buffer.getInt(offset);
+		checkArgument(length >= 5 && offset + length <= segmentSize, "Invalid handle: %s", handle);
+		buffer.limit(offset + length).position(offset);
+		return buffer.slice();
+	}
+
+	private static boolean seek(final BsonBinaryReader reader, final String escapedName) {
+		reader.readStartDocument();
+		while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+			if (escapedName.equals(reader.readName())) {
+				return true;
+			}
+			reader.skipValue();
+		}
+		return false;
+	}
+
+}
\ No newline at end of file
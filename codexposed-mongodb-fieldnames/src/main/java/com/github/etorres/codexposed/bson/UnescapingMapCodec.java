@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2015 Erik Torres
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.etorres.codexposed.bson;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.collect.Lists.newArrayList;
+import static com.google.common.collect.Maps.newLinkedHashMap;
+
+import java.util.List;
+import java.util.Map;
+
+import org.bson.BsonReader;
+import org.bson.BsonType;
+import org.bson.BsonWriter;
+import org.bson.codecs.BsonTypeClassMap;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.bson.codecs.configuration.CodecRegistry;
+
+import com.github.etorres.codexposed.MongoDBFieldNameEscaper;
+import com.github.etorres.codexposed.MongoDBSafeKey;
+
+/**
+ * Decodes BSON documents to maps where the keys are the original (unescaped) field names, including the keys of the embedded documents,
+ * and encodes maps escaping their keys. Keys that are already escaped, such as the {@link MongoDBSafeKey keys} of a nested 
+ * {@link com.github.etorres.codexposed.MongoDBSafeMap}, are written as they are. Field names are unescaped in a single pass with the 
+ * {@link MongoDBFieldNameEscaper} as they are read from the {@link BsonReader}, so no intermediate {@link org.bson.Document document} 
+ * is created. Other values are encoded and decoded with the codecs found in the {@link CodecRegistry}, the same way 
+ * {@link MongoDBSafeMapCodec} does.
+ * @author Erik Torres <etserrano@gmail.com>
+ */
+@SuppressWarnings("rawtypes")
+public class UnescapingMapCodec implements Codec<Map> {
+
+	private final CodecRegistry registry;
+	private final BsonTypeClassMap bsonTypeClassMap;
+
+	public UnescapingMapCodec(final CodecRegistry registry) {
+		this(registry, new BsonTypeClassMap());
+	}
+
+	public UnescapingMapCodec(final CodecRegistry registry, final BsonTypeClassMap bsonTypeClassMap) {
+		this.registry = checkNotNull(registry, "Uninitialized registry");
+		this.bsonTypeClassMap = checkNotNull(bsonTypeClassMap, "Uninitialized BSON type class map");
+	}
+
+	@Override
+	public void encode(final BsonWriter writer, final Map value, final EncoderContext encoderContext) {
+		writer.writeStartDocument();
+		for (final Object obj : value.entrySet()) {
+			final Map.Entry entry = (Map.Entry)obj;
+			final Object key = entry.getKey();
+			writer.writeName(key instanceof MongoDBSafeKey ? ((MongoDBSafeKey)key).getKey()
+					: MongoDBFieldNameEscaper.escape(String.valueOf(key)));
+			writeValue(writer, encoderContext, entry.getValue());
+		}
+		writer.writeEndDocument();
+	}
+
+	@Override
+	public Map decode(final BsonReader reader, final DecoderContext decoderContext) {
+		return readMap(reader, decoderContext);
+	}
+
+	@Override
+	public Class<Map> getEncoderClass() {
+		return Map.class;
+	}
+
+	@SuppressWarnings("unchecked")
+	private void writeValue(final BsonWriter writer, final EncoderContext encoderContext, final Object value) {
+		if (value == null) {
+			writer.writeNull();
+		} else if (value instanceof Map) {
+			encoderContext.encodeWithChildContext(this, writer, (Map)value);
+		} else if (value instanceof Iterable) {
+			writer.writeStartArray();
+			for (final Object item : (Iterable<?>)value) {
+				writeValue(writer, encoderContext, item);
+			}
+			writer.writeEndArray();
+		} else {
+			final Codec codec = registry.get(value.getClass());
+			encoderContext.encodeWithChildContext(codec, writer, value);
+		}
+	}
+
+	private Map<String, Object> readMap(final BsonReader reader, final DecoderContext decoderContext) {
+		final Map<String, Object> map = newLinkedHashMap();
+		reader.readStartDocument();
+		while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+			final String name = MongoDBFieldNameEscaper.unescape(reader.readName());
+			map.put(name, readValue(reader, decoderContext));
+		}
+		reader.readEndDocument();
+		return map;
+	}
+
+	private Object readValue(final BsonReader reader, final DecoderContext decoderContext) {
+		final BsonType bsonType = reader.getCurrentBsonType();
+		if (bsonType == BsonType.NULL) {
+			reader.readNull();
+			return null;
+		} else if (bsonType == BsonType.DOCUMENT) {
+			return readMap(reader, decoderContext);
+		} else if (bsonType == BsonType.ARRAY) {
+			return readList(reader, decoderContext);
+		}
+		return registry.get(bsonTypeClassMap.get(bsonType)).decode(reader, decoderContext);
+	}
+
+	private List<Object> readList(final BsonReader reader, final DecoderContext decoderContext) {
+		reader.readStartArray();
+		final List<Object> list = newArrayList();
+		while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+			list.add(readValue(reader, decoderContext));
+		}
+		reader.readEndArray();
+		return list;
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,333 @@
+/*
+ * Copyright (c) 2015 Erik Torres
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.etorres.codexposed.collect;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Map for small number of mappings that stores keys and values in two parallel flat arrays, in insertion order, and finds the keys with
+ * a linear scan. No entry object and no hash table is allocated, so small maps take a fraction of the memory used by a 
+ * {@link java.util.HashMap}, and scanning a few keys is as fast as hashing them. When the number of mappings exceeds the promotion 
+ * threshold, the mappings are moved to an {@link OpenAddressingMap}, which is used from that moment on (and the insertion order is no
+ * longer kept) until the map is cleared. This class is not synchronized and does not support <code>null</code> keys. Values can be 
+ * <code>null</code>.
+ * @author Erik Torres <etserrano@gmail.com>
+ */
+public class CompactArrayMap<K, V> extends AbstractMap<K, V> {
+
+	public static final int DEFAULT_PROMOTION_THRESHOLD = 16;
+
+	private static final int INITIAL_CAPACITY = 4;
+
+	private static final Object[] EMPTY = {};
+
+	private final int promotionThreshold;
+
+	private Object[] keys = EMPTY;
+	private Object[] values = EMPTY;
+	private int size = 0;
+	private int modCount = 0;
+	private Map<K, V> promoted = null;
+
+	private Set<Map.Entry<K, V>> entrySet = null;
+
+	public CompactArrayMap() {
+		this(DEFAULT_PROMOTION_THRESHOLD);
+	}
+
+	public CompactArrayMap(final int promotionThreshold) {
+		checkArgument(promotionThreshold > 0, "Promotion threshold must be positive");
+		this.promotionThreshold = promotionThreshold;
+	}
+
+	public CompactArrayMap(final Map<? extends K, ? extends V> initial) {
+		this(DEFAULT_PROMOTION_THRESHOLD);
+		putAll(checkNotNull(initial, "Uninitialized map"));
+	}
+
+	/**
+	 * Checks whether the mappings were moved to a hash table.
+	 * @return <code>true</code> if this map exceeded the promotion threshold since it was created or cleared, otherwise <code>false</code>.
+	 */
+	public boolean isPromoted() {
+		return promoted != null;
+	}
+
+	@Override
+	public int size() {
+		return promoted != null ? promoted.size() : size;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return size() == 0;
+	}
+
+	@Override
+	public boolean containsKey(final Object key) {
+		return promoted != null ? promoted.containsKey(key) : indexOf(key) >= 0;
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public V get(final Object key) {
+		if (promoted != null) {
+			return promoted.get(key);
+		}
+		final int index = indexOf(key);
+		return index >= 0 ? (V)values[index] : null;
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public V put(final K key, final V value) {
+		checkNotNull(key, "Uninitialized key");
+		if (promoted != null) {
+			return promoted.put(key, value);
+		}
+		final int index = indexOf(key);
+		if (index >= 0) {
+			final V previous = (V)values[index];
+			values[index] = value;
+			return previous;
+		}
+		if (size == promotionThreshold) {
+			promote();
+			return promoted.put(key, value);
+		}
+		if (size == keys.length) {
+			final int capacity = Math.min(promotionThreshold, Math.max(INITIAL_CAPACITY, size << 1));
+			keys = Arrays.copyOf(keys, capacity);
+			values = Arrays.copyOf(values, capacity);
+		}
+		keys[size] = key;
+		values[size] = value;
+		size++;
+		modCount++;
+		return null;
+	}
+
+	@Override
+	public V remove(final Object key) {
+		if (promoted != null) {
+			return promoted.remove(key);
+		}
+		final int index = indexOf(key);
+		return index >= 0 ? removeAt(index) : null;
+	}
+
+	@Override
+	public void clear() {
+		promoted = null;
+		keys = values = EMPTY;
+		size = 0;
+		modCount++;
+	}
+
+	@Override
+	public Set<Map.Entry<K, V>> entrySet() {
+		Set<Map.Entry<K, V>> entrySet2 = entrySet;
+		if (entrySet2 == null) {
+			entrySet = entrySet2 = new EntrySet();
+		}
+		return entrySet2;
+	}
+
+	private int indexOf(final Object key) {
+		if (key == null) {
+			return -1;
+		}
+		// canonical keys are usually shared, so the identity check finds most of the keys without calling equals
+		for (int i = 0; i < size; i++) {
+			if (keys[i] == key || keys[i].equals(key)) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	@SuppressWarnings("unchecked")
+	private V removeAt(final int index) {
+		final V previous = (V)values[index];
+		final int moved = size - index - 1;
+		if (moved > 0) {
+			System.arraycopy(keys, index + 1, keys, index, moved);
+			System.arraycopy(values, index + 1, values, index, moved);
+		}
+		size--;
+		keys[size] = null;
+		values[size] = null;
+		modCount++;
+		return previous;
+	}
+
+	@SuppressWarnings("unchecked")
+	private void promote() {
+		final Map<K, V> map = new OpenAddressingMap<>(promotionThreshold << 1);
+		for (int i = 0; i < size; i++) {
+			map.put((K)keys[i], (V)values[i]);
+		}
+		promoted = map;
+		keys = values = EMPTY;
+		size = 0;
+		modCount++;
+	}
+
+	private final class EntrySet extends AbstractSet<Map.Entry<K, V>> {
+
+		@Override
+		public Iterator<Map.Entry<K, V>> iterator() {
+			return promoted != null ? promoted.entrySet().iterator() : new EntryIterator();
+		}
+
+		@Override
+		public int size() {
+			return CompactArrayMap.this.size();
+		}
+
+		@Override
+		public boolean contains(final Object obj) {
+			if (!(obj instanceof Map.Entry)) {
+				return false;
+			}
+			final Map.Entry<?, ?> entry = (Map.Entry<?, ?>)obj;
+			final Object key = entry.getKey();
+			final V value = get(key);
+			return value == null ? entry.getValue() == null && containsKey(key) : value.equals(entry.getValue());
+		}
+
+		@Override
+		public boolean remove(final Object obj) {
+			if (contains(obj)) {
+				CompactArrayMap.this.remove(((Map.Entry<?, ?>)obj).getKey());
+				return true;
+			}
+			return false;
+		}
+
+		@Override
+		public void clear() {
+			CompactArrayMap.this.clear();
+		}
+
+	}
+
+	private final class EntryIterator implements Iterator<Map.Entry<K, V>> {
+
+		private int next = 0;
+		private int current = -1;
+		private int expectedModCount = modCount;
+
+		@Override
+		public boolean hasNext() {
+			return next < size;
+		}
+
+		@Override
+		public Map.Entry<K, V> next() {
+			if (modCount != expectedModCount) {
+				throw new ConcurrentModificationException();
+			}
+			if (next >= size) {
+				throw new NoSuchElementException();
+			}
+			current = next++;
+			return new Entry(current);
+		}
+
+		@Override
+		public void remove() {
+			checkState(current >= 0, "No entry to remove");
+			if (modCount != expectedModCount) {
+				throw new ConcurrentModificationException();
+			}
+			removeAt(current);
+			next = current;
+			current = -1;
+			expectedModCount = modCount;
+		}
+
+	}
+
+	private final class Entry implements Map.Entry<K, V> {
+
+		private final int index;
+		private final K key;
+
+		@SuppressWarnings("unchecked")
+		private Entry(final int index) {
+			this.index = index;
+			this.key = (K)keys[index];
+		}
+
+		@Override
+		public K getKey() {
+			return key;
+		}
+
+		@SuppressWarnings("unchecked")
+		@Override
+		public V getValue() {
+			return index < size && keys[index] == key ? (V)values[index] : get(key);
+		}
+
+		@SuppressWarnings("unchecked")
+		@Override
+		public V setValue(final V value) {
+			if (index < size && keys[index] == key) {
+				final V previous = (V)values[index];
+				values[index] = value;
+				return previous;
+			}
+			return put(key, value);
+		}
+
+		@Override
+		public boolean equals(final Object obj) {
+			if (!(obj instanceof Map.Entry)) {
+				return false;
+			}
+			final Map.Entry<?, ?> other = (Map.Entry<?, ?>)obj;
+			final V value = getValue();
+			return key.equals(other.getKey()) && (value == null ? other.getValue() == null : value.equals(other.getValue()));
+		}
+
+		@Override
+		public int hashCode() {
+			final V value = getValue();
+			return key.hashCode() ^ (value == null ? 0 : value.hashCode());
+		}
+
+		@Override
+		public String toString() {
+			return key + "=" + getValue();
+		}
+
+	}
+
+}
\ No newline at end of file
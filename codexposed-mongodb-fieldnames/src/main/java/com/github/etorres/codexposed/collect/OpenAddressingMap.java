@@ -0,0 +1,356 @@
+/*
+ * Copyright (c) 2015 Erik Torres
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.etorres.codexposed.collect;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Compact hash map that stores keys and values in two flat arrays, resolving collisions with linear probing. Unlike {@link java.util.HashMap}
+ * no entry object is allocated per mapping. Removed mappings leave a marker in the table that is reused by later insertions and purged
+ * when the table is rebuilt. This class is not synchronized and does not support <code>null</code> keys. Values can be <code>null</code>.
+ * @author Erik Torres <etserrano@gmail.com>
+ */
+public class OpenAddressingMap<K, V> extends AbstractMap<K, V> {
+
+	private static final int DEFAULT_CAPACITY = 16;
+	private static final int MAXIMUM_CAPACITY = 1 << 30;
+
+	private static final Object REMOVED = new Object();
+
+	private Object[] keys;
+	private Object[] values;
+	private int size = 0;
+	private int used = 0;
+	private int threshold;
+	private int modCount = 0;
+
+	private Set<Map.Entry<K, V>> entrySet = null;
+
+	public OpenAddressingMap() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	public OpenAddressingMap(final int expectedSize) {
+		checkArgument(expectedSize >= 0, "Expected size cannot be negative");
+		allocate(tableSizeFor(expectedSize));
+	}
+
+	public OpenAddressingMap(final Map<? extends K, ? extends V> initial) {
+		this(checkNotNull(initial, "Uninitialized map").size());
+		putAll(initial);
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	@Override
+	public boolean containsKey(final Object key) {
+		return indexOf(key) >= 0;
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public V get(final Object key) {
+		final int index = indexOf(key);
+		return index >= 0 ? (V)values[index] : null;
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public V put(final K key, final V value) {
+		checkNotNull(key, "Uninitialized key");
+		final int mask = keys.length - 1;
+		int index = hash(key) & mask;
+		int removed = -1;
+		Object current;
+		while ((current = keys[index]) != null) {
+			if (current == REMOVED) {
+				if (removed < 0) {
+					removed = index;
+				}
+			} else if (current == key || current.equals(key)) {
+				final V previous = (V)values[index];
+				values[index] = value;
+				return previous;
+			}
+			index = (index + 1) & mask;
+		}
+		if (removed >= 0) {
+			index = removed;
+		} else {
+			used++;
+		}
+		keys[index] = key;
+		values[index] = value;
+		size++;
+		modCount++;
+		if (used > threshold) {
+			rehash();
+		}
+		return null;
+	}
+
+	@Override
+	public V remove(final Object key) {
+		final int index = indexOf(key);
+		return index >= 0 ? removeAt(index) : null;
+	}
+
+	@Override
+	public void clear() {
+		if (used > 0) {
+			Arrays.fill(keys, null);
+			Arrays.fill(values, null);
+			size = used = 0;
+			modCount++;
+		}
+	}
+
+	@Override
+	public Set<Map.Entry<K, V>> entrySet() {
+		Set<Map.Entry<K, V>> entrySet2 = entrySet;
+		if (entrySet2 == null) {
+			entrySet = entrySet2 = new EntrySet();
+		}
+		return entrySet2;
+	}
+
+	private int indexOf(final Object key) {
+		if (key == null) {
+			return -1;
+		}
+		final int mask = keys.length - 1;
+		int index = hash(key) & mask;
+		Object current;
+		while ((current = keys[index]) != null) {
+			if (current != REMOVED && (current == key || current.equals(key))) {
+				return index;
+			}
+			index = (index + 1) & mask;
+		}
+		return -1;
+	}
+
+	@SuppressWarnings("unchecked")
+	private V removeAt(final int index) {
+		final V previous = (V)values[index];
+		keys[index] = REMOVED;
+		values[index] = null;
+		size--;
+		modCount++;
+		return previous;
+	}
+
+	private void rehash() {
+		final Object[] oldKeys = keys;
+		final Object[] oldValues = values;
+		// grow only when the table is really full, otherwise the table is rebuilt to purge the removed mappings
+		final int capacity = size >= (threshold >> 1) ? oldKeys.length << 1 : oldKeys.length;
+		checkState(capacity <= MAXIMUM_CAPACITY, "Maximum capacity exceeded");
+		allocate(capacity);
+		final int mask = capacity - 1;
+		for (int i = 0; i < oldKeys.length; i++) {
+			final Object key = oldKeys[i];
+			if (key != null && key != REMOVED) {
+				int index = hash(key) & mask;
+				while (keys[index] != null) {
+					index = (index + 1) & mask;
+				}
+				keys[index] = key;
+				values[index] = oldValues[i];
+			}
+		}
+		used = size;
+	}
+
+	private void allocate(final int capacity) {
+		keys = new Object[capacity];
+		values = new Object[capacity];
+		threshold = (int)(capacity * 0.75f);
+	}
+
+	private static int tableSizeFor(final int expectedSize) {
+		final int minimum = (int)Math.min(MAXIMUM_CAPACITY, (long)Math.ceil(expectedSize / 0.75d) + 1L);
+		return Math.max(DEFAULT_CAPACITY, Integer.highestOneBit(minimum - 1) << 1);
+	}
+
+	private static int hash(final Object key) {
+		// spread the bits of the hash code since linear probing is very sensitive to clustering
+		final int h = key.hashCode() * 0x9e3779b9;
+		return h ^ (h >>> 16);
+	}
+
+	private final class EntrySet extends AbstractSet<Map.Entry<K, V>> {
+
+		@Override
+		public Iterator<Map.Entry<K, V>> iterator() {
+			return new EntryIterator();
+		}
+
+		@Override
+		public int size() {
+			return size;
+		}
+
+		@Override
+		public boolean contains(final Object obj) {
+			if (!(obj instanceof Map.Entry)) {
+				return false;
+			}
+			final Map.Entry<?, ?> entry = (Map.Entry<?, ?>)obj;
+			final int index = indexOf(entry.getKey());
+			return index >= 0 && (values[index] == null ? entry.getValue() == null : values[index].equals(entry.getValue()));
+		}
+
+		@Override
+		public boolean remove(final Object obj) {
+			if (contains(obj)) {
+				removeAt(indexOf(((Map.Entry<?, ?>)obj).getKey()));
+				return true;
+			}
+			return false;
+		}
+
+		@Override
+		public void clear() {
+			OpenAddressingMap.this.clear();
+		}
+
+	}
+
+	private final class EntryIterator implements Iterator<Map.Entry<K, V>> {
+
+		private int next = -1;
+		private int current = -1;
+		private int expectedModCount = modCount;
+
+		private EntryIterator() {
+			advance();
+		}
+
+		@Override
+		public boolean hasNext() {
+			return next < keys.length;
+		}
+
+		@Override
+		public Map.Entry<K, V> next() {
+			if (modCount != expectedModCount) {
+				throw new ConcurrentModificationException();
+			}
+			if (next >= keys.length) {
+				throw new NoSuchElementException();
+			}
+			current = next;
+			advance();
+			return new Entry(current);
+		}
+
+		@Override
+		public void remove() {
+			checkState(current >= 0, "No entry to remove");
+			if (modCount != expectedModCount) {
+				throw new ConcurrentModificationException();
+			}
+			removeAt(current);
+			current = -1;
+			expectedModCount = modCount;
+		}
+
+		private void advance() {
+			do {
+				next++;
+			} while (next < keys.length && (keys[next] == null || keys[next] == REMOVED));
+		}
+
+	}
+
+	private final class Entry implements Map.Entry<K, V> {
+
+		private final int index;
+		private final K key;
+
+		@SuppressWarnings("unchecked")
+		private Entry(final int index) {
+			this.index = index;
+			this.key = (K)keys[index];
+		}
+
+		@Override
+		public K getKey() {
+			return key;
+		}
+
+		@SuppressWarnings("unchecked")
+		@Override
+		public V getValue() {
+			return keys[index] == key ? (V)values[index] : get(key);
+		}
+
+		@SuppressWarnings("unchecked")
+		@Override
+		public V setValue(final V value) {
+			if (keys[index] == key) {
+				final V previous = (V)values[index];
+				values[index] = value;
+				return previous;
+			}
+			return put(key, value);
+		}
+
+		@Override
+		public boolean equals(final Object obj) {
+			if (!(obj instanceof Map.Entry)) {
+				return false;
+			}
+			final Map.Entry<?, ?> other = (Map.Entry<?, ?>)obj;
+			final V value = getValue();
+			return key.equals(other.getKey()) && (value == null ? other.getValue() == null : value.equals(other.getValue()));
+		}
+
+		@Override
+		public int hashCode() {
+			final V value = getValue();
+			return key.hashCode() ^ (value == null ? 0 : value.hashCode());
+		}
+
+		@Override
+		public String toString() {
+			return key + "=" + getValue();
+		}
+
+	}
+
+}
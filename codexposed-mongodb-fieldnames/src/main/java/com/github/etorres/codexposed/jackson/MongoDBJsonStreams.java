@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2015 Erik Torres
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.etorres.codexposed.jackson;
+
+import static com.github.etorres.codexposed.jackson.MongoDBJsonMapper.JSON_MAPPER;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.Writer;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+/**
+ * Converts arbitrary JSON content to a form compatible with mongoDB field names, token by token. Neither a tree nor Java objects are
+ * created in the process, so the memory needed to convert a document does not depend on its size.
+ * @author Erik Torres <etserrano@gmail.com>
+ */
+public final class MongoDBJsonStreams {
+
+	private MongoDBJsonStreams() {
+	}
+
+	/**
+	 * Copies the JSON read from the input stream to the output stream, escaping the field names. The streams are not closed.
+	 * @param in - stream to read the JSON content from
+	 * @param out - stream to write the escaped JSON content to
+	 * @throws IOException When the content cannot be read, parsed or written.
+	 */
+	public static void escape(final InputStream in, final OutputStream out) throws IOException {
+		final JsonFactory factory = JSON_MAPPER.getFactory();
+		try (final JsonParser parser = factory.createParser(checkNotNull(in, "Uninitialized input stream"));
+				final JsonGenerator generator = factory.createGenerator(checkNotNull(out, "Uninitialized output stream"))) {
+			copy(parser, generator);
+		}
+	}
+
+	/**
+	 * Copies the JSON read from the reader to the writer, escaping the field names. The reader and the writer are not closed.
+	 * @param reader - reader to read the JSON content from
+	 * @param writer - writer to write the escaped JSON content to
+	 * @throws IOException When the content cannot be read, parsed or written.
+	 */
+	public static void escape(final Reader reader, final Writer writer) throws IOException {
+		final JsonFactory factory = JSON_MAPPER.getFactory();
+		try (final JsonParser parser = factory.createParser(checkNotNull(reader, "Uninitialized reader"));
+				final JsonGenerator generator = factory.createGenerator(checkNotNull(writer, "Uninitialized writer"))) {
+			copy(parser, generator);
+		}
+	}
+
+	/**
+	 * Wraps the specified parser with a parser that escapes the field names as they are read.
+	 * @param parser - parser to be wrapped
+	 * @return A parser that reports field names compatible with mongoDB.
+	 */
+	public static JsonParser escapingParser(final JsonParser parser) {
+		return new MongoDBSafeJsonParser(checkNotNull(parser, "Uninitialized parser"));
+	}
+
+	/**
+	 * Wraps the specified generator with a generator that escapes the field names as they are written.
+	 * @param generator - generator to be wrapped
+	 * @return A generator that writes field names compatible with mongoDB.
+	 */
+	public static JsonGenerator escapingGenerator(final JsonGenerator generator) {
+		return new MongoDBSafeJsonGenerator(checkNotNull(generator, "Uninitialized generator"));
+	}
+
+	private static void copy(final JsonParser parser, final JsonGenerator generator) throws IOException {
+		parser.disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+		generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+		final JsonGenerator generator2 = escapingGenerator(generator);
+		JsonToken token;
+		while ((token = parser.nextToken()) != null) {
+			generator2.copyCurrentEvent(parser);
+			if (token == JsonToken.END_OBJECT || token == JsonToken.END_ARRAY) {
+				// releases the buffered content between consecutive values of large exports
+				if (parser.getParsingContext().inRoot()) {
+					generator2.flush();
+				}
+			}
+		}
+		generator2.flush();
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2015 Erik Torres
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.etorres.codexposed.jackson;
+
+import static com.github.etorres.codexposed.MongoDBFieldNameEscaper.escape;
+import static com.github.etorres.codexposed.MongoDBFieldNameEscaper.needsEscaping;
+
+import java.io.IOException;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.util.JsonGeneratorDelegate;
+
+/**
+ * Generates JSON where the field names are compatible with mongoDB, escaping the names as they are written. Any content copied from a
+ * parser with {@link #copyCurrentEvent(com.fasterxml.jackson.core.JsonParser)} or
+ * {@link #copyCurrentStructure(com.fasterxml.jackson.core.JsonParser)} is escaped as well, so arbitrary JSON can be converted without
+ * binding it to Java objects.
+ * @author Erik Torres <etserrano@gmail.com>
+ */
+public class MongoDBSafeJsonGenerator extends JsonGeneratorDelegate {
+
+	public MongoDBSafeJsonGenerator(final JsonGenerator delegate) {
+		// copy methods are not delegated, otherwise the copied field names would be written without escaping
+		super(delegate, false);
+	}
+
+	@Override
+	public void writeFieldName(final String name) throws IOException {
+		delegate.writeFieldName(escape(name));
+	}
+
+	@Override
+	public void writeFieldName(final SerializableString name) throws IOException {
+		final String value = name.getValue();
+		if (needsEscaping(value)) {
+			delegate.writeFieldName(escape(value));
+		} else {
+			delegate.writeFieldName(name);
+		}
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2015 Erik Torres
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.etorres.codexposed.jackson;
+
+import static com.github.etorres.codexposed.MongoDBFieldNameEscaper.escape;
+import static com.github.etorres.codexposed.MongoDBFieldNameEscaper.needsEscaping;
+
+import java.io.IOException;
+import java.io.Writer;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.util.JsonParserDelegate;
+
+/**
+ * Parses JSON reporting field names that are compatible with mongoDB, escaping the names as they are read. Any consumer of this parser
+ * (for example, an {@link com.fasterxml.jackson.databind.ObjectMapper}) sees the escaped names only. Values are not modified.
+ * @author Erik Torres <etserrano@gmail.com>
+ */
+public class MongoDBSafeJsonParser extends JsonParserDelegate {
+
+	public MongoDBSafeJsonParser(final JsonParser delegate) {
+		super(delegate);
+	}
+
+	@Override
+	public String currentName() throws IOException {
+		return escapeNullable(delegate.currentName());
+	}
+
+	@Deprecated
+	@Override
+	public String getCurrentName() throws IOException {
+		return currentName();
+	}
+
+	@Override
+	public String getText() throws IOException {
+		final String text = delegate.getText();
+		return isFieldName() ? escapeNullable(text) : text;
+	}
+
+	@Override
+	public int getText(final Writer writer) throws IOException {
+		if (isFieldName()) {
+			final String text = getText();
+			writer.write(text);
+			return text.length();
+		}
+		return delegate.getText(writer);
+	}
+
+	@Override
+	public boolean hasTextCharacters() {
+		// field names that need escaping are only available as strings
+		return delegate.hasTextCharacters() && !(isFieldName() && needsEscaping(currentText()));
+	}
+
+	@Override
+	public char[] getTextCharacters() throws IOException {
+		return isFieldName() ? getText().toCharArray() : delegate.getTextCharacters();
+	}
+
+	@Override
+	public int getTextLength() throws IOException {
+		return isFieldName() ? getText().length() : delegate.getTextLength();
+	}
+
+	@Override
+	public int getTextOffset() throws IOException {
+		return isFieldName() ? 0 : delegate.getTextOffset();
+	}
+
+	@Override
+	public String getValueAsString() throws IOException {
+		return isFieldName() ? getText() : delegate.getValueAsString();
+	}
+
+	@Override
+	public String getValueAsString(final String defaultValue) throws IOException {
+		return isFieldName() ? getText() : delegate.getValueAsString(defaultValue);
+	}
+
+	private boolean isFieldName() {
+		return delegate.getCurrentToken() == JsonToken.FIELD_NAME;
+	}
+
+	private String currentText() {
+		try {
+			return delegate.getText();
+		} catch (IOException e) {
+			return "";
+		}
+	}
+
+	private static String escapeNullable(final String name) {
+		return name != null ? escape(name) : null;
+	}
+
+}
\ No newline at end of file
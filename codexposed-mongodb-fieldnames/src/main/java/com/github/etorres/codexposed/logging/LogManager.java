@@ -16,24 +16,34 @@
 
 package com.github.etorres.codexposed.logging;
 
+import static com.google.common.base.Preconditions.checkArgument;
+import static org.slf4j.LoggerFactory.getILoggerFactory;
 import static org.slf4j.LoggerFactory.getLogger;
 import static org.slf4j.bridge.SLF4JBridgeHandler.install;
 import static org.slf4j.bridge.SLF4JBridgeHandler.removeHandlersForRootLogger;
+import static org.slf4j.bridge.SLF4JBridgeHandler.uninstall;
 
 import java.io.IOException;
 
 import org.slf4j.Logger;
 
 /**
- * Manages loggers, installing the necessary bridges to unify logging.
+ * Manages loggers, installing the necessary bridges to unify logging. When logback is the backend of SLF4J, the levels of the logback
+ * loggers are propagated to j.u.l, so that the j.u.l calls of disabled levels (e.g. the debug messages of the mongoDB driver) are 
+ * discarded before the bridge creates a log record. Optionally, the appenders of the root logger can be replaced with asynchronous
+ * appenders with a bounded queue, taking the I/O out of the threads that log.
  * @author Erik Torres <etserrano@gmail.com>
  */
 public enum LogManager implements AutoCloseable {
 
 	LOG_MANAGER;
 
+	public static final int DEFAULT_ASYNC_QUEUE_SIZE = 1024;
+
 	private final static Logger LOGGER = getLogger(LogManager.class);
 
+	private final boolean logback;
+
 	private LogManager() {
 		// remove existing handlers attached to j.u.l root logger
 		removeHandlersForRootLogger();
@@ -41,15 +51,68 @@ public enum LogManager implements AutoCloseable {
 		// add SLF4JBridgeHandler to j.u.l's root logger, should be done once during the 
 		// initialization phase of the application
 		install();
+
+		// propagate logback levels to j.u.l, otherwise every j.u.l call creates a record, even when the level is disabled
+		logback = LogbackConfigurer.LOGGER_CONTEXT_CLASS.equals(getILoggerFactory().getClass().getName());
+		propagateLevelsToJul();
 	}
 
 	public void preload() {
 		LOGGER.info("Log manager was loaded");		
 	}
 
+	/**
+	 * Propagates the levels of the logback loggers to j.u.l. This is done when the log manager is loaded, but must be done again when
+	 * logback is reconfigured at runtime, since resetting the logger context removes the listener that propagates the levels. This method
+	 * has no effect when logback is not the backend of SLF4J or when the logger context already propagates the levels.
+	 * @return <code>true</code> if the levels were not propagated and a new propagator was registered, otherwise <code>false</code>.
+	 */
+	public boolean propagateLevelsToJul() {
+		return logback && LogbackConfigurer.propagateLevelsToJul();
+	}
+
+	/**
+	 * Replaces the appenders of the root logger with asynchronous appenders that discard the events when the queue is full.
+	 * @return <code>true</code> if at least one appender was replaced, otherwise <code>false</code>.
+	 * @see #enableAsyncLogging(int, boolean)
+	 */
+	public boolean enableAsyncLogging() {
+		return enableAsyncLogging(DEFAULT_ASYNC_QUEUE_SIZE, true);
+	}
+
+	/**
+	 * Replaces the appenders of the root logger with asynchronous appenders that delegate to the original ones. Events of level INFO and 
+	 * below are discarded when the queue is 80% full. This method has no effect when logback is not the backend of SLF4J or when the 
+	 * appenders are already asynchronous. Call {@link #close()} on shutdown to flush the queued events.
+	 * @param queueSize - maximum number of events waiting in the queue of each appender
+	 * @param neverBlock - when <code>true</code> the events are discarded when the queue is full, otherwise the callers wait until there
+	 *        is free space in the queue
+	 * @return <code>true</code> if at least one appender was replaced, otherwise <code>false</code>.
+	 */
+	public boolean enableAsyncLogging(final int queueSize, final boolean neverBlock) {
+		checkArgument(queueSize > 0, "Invalid queue size: %s", queueSize);
+		return logback && LogbackConfigurer.wrapRootAppenders(queueSize, neverBlock);
+	}
+
+	/**
+	 * Checks whether the appenders of the root logger are asynchronous.
+	 * @return <code>true</code> if logback is the backend of SLF4J and all the appenders of the root logger are asynchronous, otherwise
+	 *         <code>false</code>.
+	 */
+	public boolean isAsyncLogging() {
+		return logback && LogbackConfigurer.isAsync();
+	}
+
+	/**
+	 * Removes the j.u.l bridge and stops logback, flushing the events queued in the asynchronous appenders. No event is logged after
+	 * this method is called.
+	 */
 	@Override
 	public void close() throws IOException {
-
+		uninstall();
+		if (logback) {
+			LogbackConfigurer.stop();
+		}
 	}
 
 }
\ No newline at end of file
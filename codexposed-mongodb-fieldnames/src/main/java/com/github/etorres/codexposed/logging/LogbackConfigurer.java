@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2015 Erik Torres
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.etorres.codexposed.logging;
+
+import static org.slf4j.LoggerFactory.getILoggerFactory;
+
+import java.util.Iterator;
+import java.util.List;
+
+import org.slf4j.Logger;
+
+import com.google.common.collect.ImmutableList;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.jul.LevelChangePropagator;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggerContextListener;
+import ch.qos.logback.core.Appender;
+
+/**
+ * Configures logback programmatically. This class must only be loaded when logback is the backend of SLF4J, since it's an optional 
+ * dependency of this module.
+ * @author Erik Torres <etserrano@gmail.com>
+ */
+final class LogbackConfigurer {
+
+	static final String LOGGER_CONTEXT_CLASS = "ch.qos.logback.classic.LoggerContext";
+
+	static final String ASYNC_APPENDER_PREFIX = "ASYNC-";
+
+	private LogbackConfigurer() {
+	}
+
+	/**
+	 * Propagates the levels of the logback loggers to j.u.l, unless the configuration already declares a {@link LevelChangePropagator}.
+	 * @return <code>true</code> if a new propagator was registered, otherwise <code>false</code>.
+	 */
+	static boolean propagateLevelsToJul() {
+		final LoggerContext context = context();
+		for (final LoggerContextListener listener : context.getCopyOfListenerList()) {
+			if (listener instanceof LevelChangePropagator) {
+				return false;
+			}
+		}
+		final LevelChangePropagator propagator = new LevelChangePropagator();
+		propagator.setContext(context);
+		propagator.setResetJUL(true);
+		context.addListener(propagator);
+		propagator.start();
+		return true;
+	}
+
+	/**
+	 * Replaces the appenders attached to the root logger with asynchronous appenders that delegate to the original ones.
+	 * @param queueSize - maximum number of events waiting in the queue of each appender
+	 * @param neverBlock - when <code>true</code> the events are discarded when the queue is full, otherwise the callers wait until there
+	 *        is free space in the queue
+	 * @return <code>true</code> if at least one appender was replaced, otherwise <code>false</code>.
+	 */
+	static boolean wrapRootAppenders(final int queueSize, final boolean neverBlock) {
+		final LoggerContext context = context();
+		final ch.qos.logback.classic.Logger root = context.getLogger(Logger.ROOT_LOGGER_NAME);
+		final List<Appender<ILoggingEvent>> appenders = ImmutableList.copyOf(root.iteratorForAppenders());
+		boolean wrapped = false;
+		for (final Appender<ILoggingEvent> appender : appenders) {
+			if (appender instanceof AsyncAppender) {
+				continue;
+			}
+			final AsyncAppender async = new AsyncAppender();
+			async.setContext(context);
+			async.setName(ASYNC_APPENDER_PREFIX + appender.getName());
+			async.setQueueSize(queueSize);
+			async.setNeverBlock(neverBlock);
+			async.addAppender(appender);
+			async.start();
+			root.addAppender(async);
+			root.detachAppender(appender);
+			wrapped = true;
+		}
+		return wrapped;
+	}
+
+	/**
+	 * Checks whether the appenders attached to the root logger are asynchronous.
+	 * @return <code>true</code> if the root logger has appenders and all of them are asynchronous, otherwise <code>false</code>.
+	 */
+	static boolean isAsync() {
+		final Iterator<Appender<ILoggingEvent>> it = context().getLogger(Logger.ROOT_LOGGER_NAME).iteratorForAppenders();
+		boolean async = it.hasNext();
+		while (it.hasNext()) {
+			async &= it.next() instanceof AsyncAppender;
+		}
+		return async;
+	}
+
+	/**
+	 * Stops the logger context, flushing the events queued in the asynchronous appenders.
+	 */
+	static void stop() {
+		context().stop();
+	}
+
+	private static LoggerContext context() {
+		return (LoggerContext)getILoggerFactory();
+	}
+
+}
\ No newline at end of file
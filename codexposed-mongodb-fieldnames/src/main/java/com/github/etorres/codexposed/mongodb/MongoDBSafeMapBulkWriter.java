@@ -0,0 +1,481 @@
+/*
+ * Copyright (c) 2015 Erik Torres
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.etorres.codexposed.mongodb;
+
+import static com.github.etorres.codexposed.bson.MongoDBSafeMapCodecProvider.SAFE_MAP_CODEC_REGISTRY;
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+
+import com.github.etorres.codexposed.MongoDBSafeMap;
+import com.github.etorres.codexposed.bson.MongoDBSafeMapCodec;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.InsertManyOptions;
+
+/**
+ * Writes {@link MongoDBSafeMap} maps to a mongoDB collection in batches. Producers add maps to a bounded queue with 
+ * {@link #write(MongoDBSafeMap)} and a flusher thread groups the queued maps into batches that are written with a single 
+ * <tt>insertMany</tt> command, either when the batch reaches the maximum size or when the first map of the batch has waited for the 
+ * maximum delay. Maps are encoded with the {@link MongoDBSafeMapCodec}, which escapes the keys of the nested maps.
+ * At most a fixed number of batches are written concurrently. When all of them are in flight, the flusher stops draining the queue and
+ * the producers block until there is free space in the queue, which keeps the memory used by the writer bounded when the database 
+ * cannot keep up with the producers. For example:
+ * <pre>
+ * try (final MongoDBSafeMapBulkWriter writer = MongoDBSafeMapBulkWriter.builder(db.getCollection("mycollection"))
+ *     .batchSize(1000).maxDelay(100L, TimeUnit.MILLISECONDS).maxInFlightBatches(2).build()) {
+ *   for (final MongoDBSafeMap map : maps) {
+ *     writer.write(map);
+ *   }
+ * }
+ * </pre>
+ * Failed writes are logged and counted, but they are not retried.
+ * @author Erik Torres <etserrano@gmail.com>
+ */
+@SuppressWarnings("rawtypes")
+public class MongoDBSafeMapBulkWriter implements AutoCloseable {
+
+	public static final int DEFAULT_BATCH_SIZE = 1000;
+	public static final long DEFAULT_MAX_DELAY_MILLIS = 100L;
+	public static final int DEFAULT_MAX_IN_FLIGHT_BATCHES = 2;
+
+	private final static Logger LOGGER = getLogger(MongoDBSafeMapBulkWriter.class);
+
+	private final MongoCollection<MongoDBSafeMap> collection;
+	private final int batchSize;
+	private final long maxDelayNanos;
+	private final InsertManyOptions options;
+	private final BlockingQueue<MongoDBSafeMap> queue;
+	private final Semaphore inFlight;
+	private final ExecutorService executor;
+	private final Thread flusher;
+
+	private final AtomicLong submitted = new AtomicLong(); // counted before the map is added to the queue, uncounted if not added
+	private final AtomicLong written = new AtomicLong();
+	private final AtomicLong failed = new AtomicLong();
+	private final AtomicLong batches = new AtomicLong();
+
+	private final Object lock = new Object();
+	// maps of the batches completed in the order that they were taken from the queue, guarded by lock
+	private long completed = 0L;
+	// sizes of the batches completed ahead of an earlier batch, indexed by the position of their first map, guarded by lock
+	private final Map<Long, Integer> completedAhead = new HashMap<>();
+
+	// producers that passed the closed check and are adding a map to the queue
+	private final AtomicInteger producers = new AtomicInteger();
+	// callers of flush() waiting for the queued maps, which are sent without waiting for the batches to fill
+	private final AtomicInteger flushing = new AtomicInteger();
+
+	private volatile boolean closed = false;
+	private volatile Throwable failure = null;
+
+	private MongoDBSafeMapBulkWriter(final Builder builder) {
+		this.collection = builder.collection.withDocumentClass(MongoDBSafeMap.class).withCodecRegistry(SAFE_MAP_CODEC_REGISTRY);
+		this.batchSize = builder.batchSize;
+		this.maxDelayNanos = builder.maxDelayNanos;
+		this.options = new InsertManyOptions().ordered(builder.ordered);
+		this.queue = new ArrayBlockingQueue<>(builder.queueCapacity > 0 ? builder.queueCapacity : batchSize * builder.maxInFlightBatches);
+		this.inFlight = new Semaphore(builder.maxInFlightBatches);
+		this.executor = Executors.newFixedThreadPool(builder.maxInFlightBatches, new ThreadFactoryBuilder()
+				.setNameFormat("safe-map-bulk-writer-%d").setDaemon(true).build());
+		this.flusher = new Thread(new Flusher(), "safe-map-bulk-flusher");
+		this.flusher.setDaemon(true);
+		this.flusher.start();
+	}
+
+	/**
+	 * Creates a builder of writers for the specified collection.
+	 * @param collection - collection where the maps are written
+	 * @return A new builder.
+	 */
+	public static Builder builder(final MongoCollection<?> collection) {
+		return new Builder(collection);
+	}
+
+	/**
+	 * Adds the specified map to the queue of maps to be written, waiting if necessary for space to become available.
+	 * @param map - map to be written
+	 * @throws InterruptedException When the current thread is interrupted while waiting.
+	 * @throws IllegalStateException When the writer is closed or the flusher thread failed.
+	 */
+	public void write(final MongoDBSafeMap map) throws InterruptedException {
+		checkNotNull(map, "Uninitialized map");
+		enter();
+		boolean added = false;
+		try {
+			// wait in short steps, so that the producer doesn't block forever when the flusher fails
+			while (!(added = queue.offer(map, maxDelayNanos, NANOSECONDS))) {
+				checkFailure();
+			}
+		} finally {
+			exit(added);
+		}
+	}
+
+	/**
+	 * Adds the specified map to the queue of maps to be written, waiting up to the specified time for space to become available.
+	 * @param map - map to be written
+	 * @param timeout - how long to wait before giving up
+	 * @param unit - unit of the timeout
+	 * @return <code>true</code> if the map was added to the queue, otherwise <code>false</code>.
+	 * @throws InterruptedException When the current thread is interrupted while waiting.
+	 * @throws IllegalStateException When the writer is closed or the flusher thread failed.
+	 */
+	public boolean offer(final MongoDBSafeMap map, final long timeout, final TimeUnit unit) throws InterruptedException {
+		checkNotNull(map, "Uninitialized map");
+		enter();
+		boolean added = false;
+		try {
+			added = queue.offer(map, timeout, unit);
+			return added;
+		} finally {
+			exit(added);
+		}
+	}
+
+	/**
+	 * Waits until all the maps added to the writer before this method was called are written (or failed), as well as the maps that 
+	 * other threads were adding at that moment. The maps waiting in the queue are sent immediately, without waiting for the batches to 
+	 * fill or for the maximum delay.
+	 * @throws InterruptedException When the current thread is interrupted while waiting.
+	 * @throws IllegalStateException When the flusher thread failed before writing the maps.
+	 */
+	public void flush() throws InterruptedException {
+		final long target = submitted.get();
+		synchronized (lock) {
+			if (completed >= Math.min(target, submitted.get())) {
+				return;
+			}
+		}
+		flushing.incrementAndGet();
+		flusher.interrupt();
+		try {
+			synchronized (lock) {
+				// the maps queued before this method was called are among the first 'target' maps taken from the queue, unless some of 
+				// the counted maps were not added to the queue
+				while (completed < Math.min(target, submitted.get())) {
+					checkFailure();
+					lock.wait();
+				}
+			}
+		} finally {
+			flushing.decrementAndGet();
+		}
+	}
+
+	/**
+	 * Gets the number of maps written to the collection.
+	 * @return The number of maps written.
+	 */
+	public long getWritten() {
+		return written.get();
+	}
+
+	/**
+	 * Gets the number of maps that could not be written to the collection.
+	 * @return The number of maps that failed.
+	 */
+	public long getFailed() {
+		return failed.get();
+	}
+
+	/**
+	 * Gets the number of batches sent to the collection.
+	 * @return The number of batches.
+	 */
+	public long getBatches() {
+		return batches.get();
+	}
+
+	/**
+	 * Gets the number of maps waiting in the queue.
+	 * @return The number of queued maps.
+	 */
+	public int getQueued() {
+		return queue.size();
+	}
+
+	/**
+	 * Stops accepting new maps, writes the maps remaining in the queue and waits for all the batches to complete. When the current
+	 * thread is interrupted while waiting, this method restores the interrupt status and returns, leaving the remaining maps to be 
+	 * written in the background.
+	 */
+	@Override
+	public synchronized void close() {
+		if (closed) {
+			return;
+		}
+		closed = true;
+		flusher.interrupt();
+		try {
+			flusher.join();
+			executor.shutdown();
+			while (!executor.awaitTermination(1L, TimeUnit.MINUTES)) {
+				LOGGER.warn("Waiting for the in-flight batches to complete");
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private void enter() {
+		// the producer is counted before checking the flag, so the flusher doesn't exit while a map is being added to the queue
+		producers.incrementAndGet();
+		if (closed || failure != null) {
+			producers.decrementAndGet();
+			checkState(!closed, "Writer is closed");
+			checkFailure();
+		}
+		// the map is counted before it's added to the queue, so that flush() waits for the maps queued before it's called
+		submitted.incrementAndGet();
+	}
+
+	private void exit(final boolean added) {
+		if (!added) {
+			// the map was counted, but it will never be completed by the flusher
+			synchronized (lock) {
+				submitted.decrementAndGet();
+				lock.notifyAll();
+			}
+		}
+		producers.decrementAndGet();
+	}
+
+	private void checkFailure() {
+		final Throwable failure2 = failure;
+		if (failure2 != null) {
+			throw new IllegalStateException("Flusher failed, the queued maps will not be written", failure2);
+		}
+	}
+
+	private void fail(final Throwable cause) {
+		failure = cause;
+		synchronized (lock) {
+			lock.notifyAll();
+		}
+	}
+
+	private void submit(final List<MongoDBSafeMap> batch, final long position) {
+		// the flusher is only interrupted to wake it up, which must not prevent the batch from being sent
+		inFlight.acquireUninterruptibly();
+		try {
+			executor.execute(new Runnable() {
+				@Override
+				public void run() {
+					try {
+						insert(batch, position);
+					} finally {
+						inFlight.release();
+					}
+				}
+			});
+		} catch (RuntimeException e) {
+			inFlight.release();
+			throw e;
+		}
+	}
+
+	private void insert(final List<MongoDBSafeMap> batch, final long position) {
+		final int size = batch.size();
+		try {
+			collection.insertMany(batch, options);
+			written.addAndGet(size);
+		} catch (MongoBulkWriteException e) {
+			final int inserted = e.getWriteResult().getInsertedCount();
+			written.addAndGet(inserted);
+			failed.addAndGet(size - inserted);
+			LOGGER.error("Failed to write " + (size - inserted) + " of " + size + " maps", e);
+		} catch (RuntimeException e) {
+			failed.addAndGet(size);
+			LOGGER.error("Failed to write batch of " + size + " maps", e);
+		} finally {
+			batches.incrementAndGet();
+			synchronized (lock) {
+				// batches may complete out of order, only the batches without earlier batches in flight are added to the count
+				if (position == completed) {
+					completed += size;
+					Integer next;
+					while ((next = completedAhead.remove(completed)) != null) {
+						completed += next;
+					}
+					lock.notifyAll();
+				} else {
+					completedAhead.put(position, size);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Groups the queued maps into batches. {@link #close()} and {@link #flush()} interrupt this thread to stop it from waiting for more 
+	 * maps, so the partial batches are sent without waiting for the maximum delay.
+	 */
+	private class Flusher implements Runnable {
+		@Override
+		public void run() {
+			long taken = 0L;
+			try {
+				// the order of the checks matters: producers that enter after the writer is closed are rejected
+				while (!closed || producers.get() > 0 || !queue.isEmpty()) {
+					final MongoDBSafeMap first = closed ? queue.poll() : poll(maxDelayNanos);
+					if (first == null) {
+						if (closed) {
+							// a producer that entered before the writer was closed is still adding its map
+							Thread.yield();
+						}
+						continue;
+					}
+					final List<MongoDBSafeMap> batch = new ArrayList<>(batchSize);
+					batch.add(first);
+					final long deadline = System.nanoTime() + maxDelayNanos;
+					while (batch.size() < batchSize) {
+						if (queue.drainTo(batch, batchSize - batch.size()) > 0) {
+							continue;
+						}
+						final long remaining = deadline - System.nanoTime();
+						if (remaining <= 0L || closed || flushing.get() > 0) {
+							break;
+						}
+						final MongoDBSafeMap next = poll(remaining);
+						if (next == null) {
+							break;
+						}
+						batch.add(next);
+					}
+					submit(batch, taken);
+					taken += batch.size();
+				}
+			} catch (RuntimeException | Error e) {
+				fail(e);
+				LOGGER.error("Flusher failed, the maps remaining in the queue will not be written", e);
+			}
+		}
+
+		private MongoDBSafeMap poll(final long timeoutNanos) {
+			try {
+				return queue.poll(timeoutNanos, NANOSECONDS);
+			} catch (InterruptedException e) {
+				// woken up by close() or flush()
+				return queue.poll();
+			}
+		}
+	}
+
+	/**
+	 * Builds {@link MongoDBSafeMapBulkWriter} writers.
+	 * @author Erik Torres <etserrano@gmail.com>
+	 */
+	public static class Builder {
+
+		private final MongoCollection<?> collection;
+		private int batchSize = DEFAULT_BATCH_SIZE;
+		private long maxDelayNanos = MILLISECONDS.toNanos(DEFAULT_MAX_DELAY_MILLIS);
+		private int maxInFlightBatches = DEFAULT_MAX_IN_FLIGHT_BATCHES;
+		private int queueCapacity = 0;
+		private boolean ordered = false;
+
+		private Builder(final MongoCollection<?> collection) {
+			this.collection = checkNotNull(collection, "Uninitialized collection");
+		}
+
+		/**
+		 * Sets the maximum number of maps written in a single batch.
+		 * @param batchSize - maximum size of the batches
+		 * @return This builder.
+		 */
+		public Builder batchSize(final int batchSize) {
+			checkArgument(batchSize > 0, "Invalid batch size: %s", batchSize);
+			this.batchSize = batchSize;
+			return this;
+		}
+
+		/**
+		 * Sets the maximum time that a map waits for the batch to be completed before the batch is written.
+		 * @param maxDelay - maximum delay
+		 * @param unit - unit of the delay
+		 * @return This builder.
+		 */
+		public Builder maxDelay(final long maxDelay, final TimeUnit unit) {
+			checkArgument(maxDelay > 0L, "Invalid delay: %s", maxDelay);
+			this.maxDelayNanos = checkNotNull(unit, "Uninitialized unit").toNanos(maxDelay);
+			return this;
+		}
+
+		/**
+		 * Sets the maximum number of batches that are written concurrently.
+		 * @param maxInFlightBatches - maximum number of in-flight batches
+		 * @return This builder.
+		 */
+		public Builder maxInFlightBatches(final int maxInFlightBatches) {
+			checkArgument(maxInFlightBatches > 0, "Invalid number of in-flight batches: %s", maxInFlightBatches);
+			this.maxInFlightBatches = maxInFlightBatches;
+			return this;
+		}
+
+		/**
+		 * Sets the maximum number of maps waiting in the queue. When not set, the capacity of the queue is the batch size multiplied by
+		 * the maximum number of in-flight batches.
+		 * @param queueCapacity - capacity of the queue
+		 * @return This builder.
+		 */
+		public Builder queueCapacity(final int queueCapacity) {
+			checkArgument(queueCapacity > 0, "Invalid queue capacity: %s", queueCapacity);
+			this.queueCapacity = queueCapacity;
+			return this;
+		}
+
+		/**
+		 * Sets whether the maps of a batch are inserted in order, stopping at the first error. Unordered batches are the default, since
+		 * they continue after an error and the server can apply them in parallel.
+		 * @param ordered - <code>true</code> to insert the maps in order
+		 * @return This builder.
+		 */
+		public Builder ordered(final boolean ordered) {
+			this.ordered = ordered;
+			return this;
+		}
+
+		/**
+		 * Creates a new writer and starts its flusher thread.
+		 * @return A new writer.
+		 */
+		public MongoDBSafeMapBulkWriter build() {
+			return new MongoDBSafeMapBulkWriter(this);
+		}
+
+	}
+
+}
\ No newline at end of file
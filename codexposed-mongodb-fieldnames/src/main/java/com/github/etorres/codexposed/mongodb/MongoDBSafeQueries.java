@@ -0,0 +1,295 @@
+/*
+ * Copyright (c) 2015 Erik Torres
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.etorres.codexposed.mongodb;
+
+import static com.github.etorres.codexposed.MongoDBSafeKey.escapeFieldName;
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Throwables.propagate;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+
+import org.bson.BsonDocument;
+import org.bson.BsonDocumentWriter;
+import org.bson.BsonInt32;
+import org.bson.BsonValue;
+import org.bson.BsonWriter;
+import org.bson.codecs.Codec;
+import org.bson.codecs.EncoderContext;
+import org.bson.codecs.configuration.CodecRegistry;
+import org.bson.conversions.Bson;
+
+import com.google.common.base.Splitter;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+
+/**
+ * Builds query filters, projections, sorts and index keys from the original (unescaped) field names. Paths are split on the dot, which 
+ * is kept as the path separator, and each segment is escaped with {@link com.github.etorres.codexposed.MongoDBFieldNameEscaper}. For
+ * example, the path <tt>"$user.e.mail"</tt> is converted to <tt>"＄user.e.mail"</tt> and refers to the field <tt>mail</tt> of the 
+ * embedded document <tt>e</tt>. Names that contain a literal dot must be escaped with 
+ * {@link com.github.etorres.codexposed.MongoDBSafeKey#escapeFieldName(String)} instead. Positional operators are not supported.
+ * Escaped paths are cached, so that hot queries escape each path only once. Filters write the escaped path and the value directly to the
+ * BSON document that is sent to the server, without creating intermediate {@link org.bson.Document documents}, while projections, sorts
+ * and index keys contain no values and are compiled once and shared between calls. The shared instances are immutable: each call to 
+ * {@link Bson#toBsonDocument(Class, CodecRegistry)} returns a new copy of the compiled document, so modifying the returned copy doesn't
+ * affect later queries.
+ * @author Erik Torres <etserrano@gmail.com>
+ */
+public final class MongoDBSafeQueries {
+
+	public static final long DEFAULT_MAXIMUM_SIZE = 10000L;
+
+	private static final Splitter PATH_SPLITTER = Splitter.on('.');
+
+	private static final BsonInt32 ASCENDING = new BsonInt32(1);
+	private static final BsonInt32 DESCENDING = new BsonInt32(-1);
+	private static final BsonInt32 INCLUDE = new BsonInt32(1);
+	private static final BsonInt32 EXCLUDE = new BsonInt32(0);
+
+	private static final LoadingCache<String, String> PATHS = CacheBuilder.newBuilder()
+			.maximumSize(DEFAULT_MAXIMUM_SIZE)
+			.build(new CacheLoader<String, String>() {
+				@Override
+				public String load(final String path) throws Exception {
+					final StringBuilder builder = new StringBuilder(path.length());
+					for (final String segment : PATH_SPLITTER.split(path)) {
+						if (builder.length() > 0) {
+							builder.append('.');
+						}
+						builder.append(escapeFieldName(segment));
+					}
+					return builder.toString();
+				}
+			});
+
+	private static final Cache<List<String>, CompiledDocument> DOCUMENTS = CacheBuilder.newBuilder()
+			.maximumSize(DEFAULT_MAXIMUM_SIZE)
+			.build();
+
+	private MongoDBSafeQueries() {
+	}
+
+	/**
+	 * Escapes each segment of the specified path, keeping the dots that separate the segments.
+	 * @param path - path to be escaped
+	 * @return The escaped path.
+	 * @throws IllegalArgumentException When the path is <code>null</code> or contains an empty or blank segment.
+	 */
+	public static String escapePath(final String path) {
+		checkArgument(path != null, "Uninitialized or invalid path");
+		try {
+			return PATHS.getUnchecked(path);
+		} catch (UncheckedExecutionException e) {
+			throw propagate(e.getCause());
+		}
+	}
+
+	/**
+	 * Creates a filter that matches the documents where the value of the field is equal to the specified value.
+	 * @param path - path of the field
+	 * @param value - value to be matched
+	 * @return The filter.
+	 */
+	public static Bson eq(final String path, final Object value) {
+		return new OperatorFilter(escapePath(path), null, value);
+	}
+
+	public static Bson ne(final String path, final Object value) {
+		return new OperatorFilter(escapePath(path), "$ne", value);
+	}
+
+	public static Bson gt(final String path, final Object value) {
+		return new OperatorFilter(escapePath(path), "$gt", value);
+	}
+
+	public static Bson gte(final String path, final Object value) {
+		return new OperatorFilter(escapePath(path), "$gte", value);
+	}
+
+	public static Bson lt(final String path, final Object value) {
+		return new OperatorFilter(escapePath(path), "$lt", value);
+	}
+
+	public static Bson lte(final String path, final Object value) {
+		return new OperatorFilter(escapePath(path), "$lte", value);
+	}
+
+	/**
+	 * Creates a filter that matches the documents where the value of the field is equal to any of the specified values.
+	 * @param path - path of the field
+	 * @param values - values to be matched
+	 * @return The filter.
+	 */
+	public static Bson in(final String path, final Iterable<?> values) {
+		return new OperatorFilter(escapePath(path), "$in", checkNotNull(values, "Uninitialized values"));
+	}
+
+	/**
+	 * Creates a filter that matches the documents that contain (or not) the field.
+	 * @param path - path of the field
+	 * @param exists - <code>true</code> to match the documents that contain the field
+	 * @return The filter.
+	 */
+	public static Bson exists(final String path, final boolean exists) {
+		return new OperatorFilter(escapePath(path), "$exists", exists);
+	}
+
+	/**
+	 * Creates a projection that includes the specified fields.
+	 * @param paths - paths of the fields
+	 * @return A shared, immutable document.
+	 */
+	public static Bson include(final String... paths) {
+		return document("include", INCLUDE, paths);
+	}
+
+	/**
+	 * Creates a projection that excludes the specified fields.
+	 * @param paths - paths of the fields
+	 * @return A shared, immutable document.
+	 */
+	public static Bson exclude(final String... paths) {
+		return document("exclude", EXCLUDE, paths);
+	}
+
+	/**
+	 * Creates a sort specification or index keys in ascending order of the specified fields.
+	 * @param paths - paths of the fields
+	 * @return A shared, immutable document.
+	 */
+	public static Bson ascending(final String... paths) {
+		return document("ascending", ASCENDING, paths);
+	}
+
+	/**
+	 * Creates a sort specification or index keys in descending order of the specified fields.
+	 * @param paths - paths of the fields
+	 * @return A shared, immutable document.
+	 */
+	public static Bson descending(final String... paths) {
+		return document("descending", DESCENDING, paths);
+	}
+
+	private static Bson document(final String kind, final BsonValue value, final String... paths) {
+		checkArgument(paths != null && paths.length > 0, "Uninitialized or invalid paths");
+		final String[] key = new String[paths.length + 1];
+		key[0] = kind;
+		System.arraycopy(paths, 0, key, 1, paths.length);
+		try {
+			return DOCUMENTS.get(Arrays.asList(key), new Callable<CompiledDocument>() {
+				@Override
+				public CompiledDocument call() throws Exception {
+					final BsonDocument document = new BsonDocument();
+					for (final String path : paths) {
+						document.append(escapePath(path), value);
+					}
+					return new CompiledDocument(document);
+				}
+			});
+		} catch (ExecutionException | UncheckedExecutionException e) {
+			throw propagate(e.getCause());
+		}
+	}
+
+	/**
+	 * Immutable projection, sort or index keys. The compiled document is never exposed, since it's shared between all the callers.
+	 */
+	private static final class CompiledDocument implements Bson {
+
+		private final BsonDocument document;
+
+		public CompiledDocument(final BsonDocument document) {
+			this.document = document;
+		}
+
+		@Override
+		public <TDocument> BsonDocument toBsonDocument(final Class<TDocument> documentClass, final CodecRegistry registry) {
+			// the values are immutable integers, therefore a shallow copy is enough to protect the compiled document
+			final BsonDocument copy = new BsonDocument();
+			copy.putAll(document);
+			return copy;
+		}
+
+		@Override
+		public String toString() {
+			return document.toString();
+		}
+
+	}
+
+	private static final class OperatorFilter implements Bson {
+
+		private final String fieldName;
+		private final String operator;
+		private final Object value;
+
+		public OperatorFilter(final String fieldName, final String operator, final Object value) {
+			this.fieldName = fieldName;
+			this.operator = operator;
+			this.value = value;
+		}
+
+		@Override
+		public <TDocument> BsonDocument toBsonDocument(final Class<TDocument> documentClass, final CodecRegistry registry) {
+			final BsonDocumentWriter writer = new BsonDocumentWriter(new BsonDocument());
+			writer.writeStartDocument();
+			writer.writeName(fieldName);
+			if (operator != null) {
+				writer.writeStartDocument();
+				writer.writeName(operator);
+			}
+			if (value instanceof Iterable) {
+				writer.writeStartArray();
+				for (final Object item : (Iterable<?>)value) {
+					writeValue(writer, item, registry);
+				}
+				writer.writeEndArray();
+			} else {
+				writeValue(writer, value, registry);
+			}
+			if (operator != null) {
+				writer.writeEndDocument();
+			}
+			writer.writeEndDocument();
+			return writer.getDocument();
+		}
+
+		@SuppressWarnings({ "rawtypes", "unchecked" })
+		private static void writeValue(final BsonWriter writer, final Object value, final CodecRegistry registry) {
+			if (value == null) {
+				writer.writeNull();
+			} else {
+				final Codec codec = registry.get(value.getClass());
+				codec.encode(writer, value, EncoderContext.builder().build());
+			}
+		}
+
+		@Override
+		public String toString() {
+			return "Filter{" + fieldName + (operator != null ? " " + operator + " " : " = ") + value + "}";
+		}
+
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,171 @@
+/*
+ * Copyright (c) 2015 Erik Torres
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.etorres.codexposed.mongodb;
+
+import static com.github.etorres.codexposed.bson.MongoDBSafeMapCodecProvider.SAFE_MAP_CODEC_REGISTRY;
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static org.bson.codecs.configuration.CodecRegistries.fromCodecs;
+import static org.bson.codecs.configuration.CodecRegistries.fromRegistries;
+
+import java.io.Closeable;
+import java.util.Iterator;
+import java.util.Map;
+
+import org.bson.BsonDocument;
+import org.bson.codecs.configuration.CodecRegistry;
+import org.bson.conversions.Bson;
+
+import com.github.etorres.codexposed.bson.UnescapingMapCodec;
+import com.mongodb.client.FindIterable;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+
+/**
+ * Lazily reads the documents found in a mongoDB collection as maps where the keys are the original (unescaped) field names. Documents
+ * are decoded by the {@link UnescapingMapCodec} straight from the BSON returned by the server, and only the current batch of documents
+ * is kept in memory, so scanning a large collection uses a constant amount of heap. The fields returned by the server can be restricted
+ * with a projection, which accepts unescaped paths. For example:
+ * <pre>
+ * try (final MongoDBUnescapingCursor cursor = MongoDBUnescapingCursor.builder(db.getCollection("mycollection"))
+ *     .filter(MongoDBSafeQueries.eq("$user.name", "John")).projection("$user.name", "$user.email").batchSize(1000).open()) {
+ *   while (cursor.hasNext()) {
+ *     final Map&lt;String, Object&gt; map = cursor.next();
+ *   }
+ * }
+ * </pre>
+ * @author Erik Torres <etserrano@gmail.com>
+ */
+public class MongoDBUnescapingCursor implements Iterator<Map<String, Object>>, Closeable {
+
+	public static final int DEFAULT_BATCH_SIZE = 1000;
+
+	@SuppressWarnings("rawtypes")
+	private final MongoCursor<Map> cursor;
+
+	@SuppressWarnings("rawtypes")
+	private MongoDBUnescapingCursor(final Builder builder) {
+		final CodecRegistry registry = fromRegistries(fromCodecs(new UnescapingMapCodec(SAFE_MAP_CODEC_REGISTRY)), SAFE_MAP_CODEC_REGISTRY);
+		FindIterable<Map> iterable = builder.collection.withCodecRegistry(registry).find(builder.filter, Map.class)
+				.batchSize(builder.batchSize);
+		if (builder.projection != null) {
+			iterable = iterable.projection(builder.projection);
+		}
+		this.cursor = iterable.iterator();
+	}
+
+	/**
+	 * Creates a builder of cursors over the specified collection.
+	 * @param collection - collection where the documents are read
+	 * @return A new builder.
+	 */
+	public static Builder builder(final MongoCollection<?> collection) {
+		return new Builder(collection);
+	}
+
+	@Override
+	public boolean hasNext() {
+		return cursor.hasNext();
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public Map<String, Object> next() {
+		return cursor.next();
+	}
+
+	@Override
+	public void remove() {
+		throw new UnsupportedOperationException("Cursors are read-only");
+	}
+
+	/**
+	 * Closes the server cursor. Cursors are closed automatically when all the documents are read.
+	 */
+	@Override
+	public void close() {
+		cursor.close();
+	}
+
+	/**
+	 * Builds {@link MongoDBUnescapingCursor} cursors.
+	 * @author Erik Torres <etserrano@gmail.com>
+	 */
+	public static class Builder {
+
+		private final MongoCollection<?> collection;
+		private Bson filter = new BsonDocument();
+		private Bson projection = null;
+		private int batchSize = DEFAULT_BATCH_SIZE;
+
+		private Builder(final MongoCollection<?> collection) {
+			this.collection = checkNotNull(collection, "Uninitialized collection");
+		}
+
+		/**
+		 * Sets the query filter. Use {@link MongoDBSafeQueries} to create filters from unescaped paths.
+		 * @param filter - query filter
+		 * @return This builder.
+		 */
+		public Builder filter(final Bson filter) {
+			this.filter = checkNotNull(filter, "Uninitialized filter");
+			return this;
+		}
+
+		/**
+		 * Restricts the fields returned by the server to the specified paths, which are escaped with 
+		 * {@link MongoDBSafeQueries#include(String...)}.
+		 * @param paths - unescaped paths of the fields to be returned
+		 * @return This builder.
+		 */
+		public Builder projection(final String... paths) {
+			this.projection = MongoDBSafeQueries.include(paths);
+			return this;
+		}
+
+		/**
+		 * Sets the projection document, which must use escaped field names.
+		 * @param projection - projection document
+		 * @return This builder.
+		 */
+		public Builder projection(final Bson projection) {
+			this.projection = checkNotNull(projection, "Uninitialized projection");
+			return this;
+		}
+
+		/**
+		 * Sets the number of documents returned by the server in each batch.
+		 * @param batchSize - size of the batches
+		 * @return This builder.
+		 */
+		public Builder batchSize(final int batchSize) {
+			checkArgument(batchSize > 0, "Invalid batch size: %s", batchSize);
+			this.batchSize = batchSize;
+			return this;
+		}
+
+		/**
+		 * Runs the query and opens a new cursor over the documents found.
+		 * @return A new cursor.
+		 */
+		public MongoDBUnescapingCursor open() {
+			return new MongoDBUnescapingCursor(this);
+		}
+
+	}
+
+}
\ No newline at end of file
@@ -27,7 +27,8 @@ import org.junit.runners.Suite.SuiteClasses;
  * @author Erik Torres <etserrano@gmail.com>
  */
 @RunWith(Suite.class)
-@SuiteClasses({ MongoDBSafeMapTest.class })
+@SuiteClasses({ MongoDBFieldNameEscaperTest.class, MongoDBDeepEscaperTest.class, MongoDBJsonStreamsTest.class, MongoDBSafeKeyCacheTest.class, MongoDBSafeMapTest.class, MongoDBSafeMapCodecTest.class, OpenAddressingMapTest.class, EscapingMetricsTest.class, LogManagerTest.class, MongoDBSafeMapBulkWriterTest.class, MongoDBSafeQueriesTest.class, UnescapingMapCodecTest.class,
+	MongoDBUnescapingCursorTest.class, CompactArrayMapTest.class, OffHeapDocumentStoreTest.class })
 public class AllUnitTests {
 
 	@BeforeClass
@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2015 Erik Torres
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.etorres.codexposed.test;
+
+import static com.google.common.collect.Maps.newHashMap;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.github.etorres.codexposed.collect.CompactArrayMap;
+
+/**
+ * Tests {@link CompactArrayMap} against the behavior of a standard {@link java.util.HashMap}.
+ * @author Erik Torres <etserrano@gmail.com>
+ */
+public class CompactArrayMapTest {
+
+	@BeforeClass
+	public static void setup() throws Exception {
+		System.out.println("    >> CompactArrayMapTest.setup()");
+	}
+
+	@AfterClass
+	public static void cleanup() {
+		System.out.println("    >> CompactArrayMapTest.cleanup()");
+	}
+
+	@Test
+	public void testRandomOperations() {
+		System.out.println("    >> CompactArrayMapTest.testRandomOperations()");
+		final Random random = new Random(42L);
+		final Map<Integer, String> expected = newHashMap();
+		final CompactArrayMap<Integer, String> map = new CompactArrayMap<>(8);
+		int promotions = 0;
+		for (int i = 0; i < 100000; i++) {
+			final Integer key = random.nextInt(24);
+			final int operation = random.nextInt(100);
+			if (operation < 55) {
+				final boolean promoted = map.isPromoted();
+				assertThat("previous value coincides with expected", map.put(key, "v" + i), equalTo(expected.put(key, "v" + i)));
+				if (!promoted && map.isPromoted()) {
+					promotions++;
+				}
+			} else if (operation < 85) {
+				assertThat("removed value coincides with expected", map.remove(key), equalTo(expected.remove(key)));
+			} else if (operation < 99) {
+				assertThat("value coincides with expected", map.get(key), equalTo(expected.get(key)));
+				assertThat("key is found", map.containsKey(key), equalTo(expected.containsKey(key)));
+			} else {
+				map.clear();
+				expected.clear();
+				assertThat("map is compact after clear", map.isPromoted(), equalTo(false));
+			}
+			assertThat("size coincides with expected", map.size(), equalTo(expected.size()));
+		}
+		assertThat("map was promoted", promotions > 0, equalTo(true));
+		assertThat("map coincides with expected", (Map<Integer, String>)map, equalTo(expected));
+		assertThat("expected coincides with map", expected, equalTo((Map<Integer, String>)map));
+		assertThat("hash code coincides with expected", map.hashCode(), equalTo(expected.hashCode()));
+	}
+
+	@Test
+	public void testInsertionOrder() {
+		System.out.println("    >> CompactArrayMapTest.testInsertionOrder()");
+		final CompactArrayMap<String, Integer> map = new CompactArrayMap<>();
+		for (int i = 9; i >= 0; i--) {
+			map.put("k" + i, i);
+		}
+		map.remove("k5");
+		map.put("k9", 90);
+		map.put("k5", 5);
+		map.put("null", null);
+		assertThat("null value is found", map.containsKey("null"), equalTo(true));
+		assertThat("map is not promoted", map.isPromoted(), equalTo(false));
+		assertThat("keys are in insertion order", map.toString(), 
+				equalTo("{k9=90, k8=8, k7=7, k6=6, k4=4, k3=3, k2=2, k1=1, k0=0, k5=5, null=null}"));
+		for (int i = 10; map.size() < CompactArrayMap.DEFAULT_PROMOTION_THRESHOLD; i++) {
+			map.put("k" + i, i);
+		}
+		assertThat("map is not promoted", map.isPromoted(), equalTo(false));
+		map.put("promoted", -1);
+		assertThat("map is promoted", map.isPromoted(), equalTo(true));
+		assertThat("size coincides with expected", map.size(), equalTo(CompactArrayMap.DEFAULT_PROMOTION_THRESHOLD + 1));
+		assertThat("value coincides with expected", map.get("k9"), equalTo(90));
+	}
+
+	@Test
+	public void testIteratorRemove() {
+		System.out.println("    >> CompactArrayMapTest.testIteratorRemove()");
+		final Map<Integer, String> expected = newHashMap();
+		final Map<Integer, String> map = new CompactArrayMap<>();
+		for (int i = 0; i < 12; i++) {
+			map.put(i, "v" + i);
+			expected.put(i, "v" + i);
+		}
+		for (final Iterator<Map.Entry<Integer, String>> it = map.entrySet().iterator(); it.hasNext();) {
+			final Map.Entry<Integer, String> entry = it.next();
+			if (entry.getKey() % 3 == 0) {
+				it.remove();
+				expected.remove(entry.getKey());
+			} else {
+				entry.setValue("w" + entry.getKey());
+				expected.put(entry.getKey(), "w" + entry.getKey());
+			}
+		}
+		assertThat("map coincides with expected", map, equalTo(expected));
+		map.clear();
+		assertThat("map is empty", map.isEmpty(), equalTo(true));
+	}
+
+}
\ No newline at end of file
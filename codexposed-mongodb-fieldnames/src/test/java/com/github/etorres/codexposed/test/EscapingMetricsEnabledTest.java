@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2015 Erik Torres
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.etorres.codexposed.test;
+
+import static com.github.etorres.codexposed.MongoDBSafeKey.escapeFieldName;
+import static com.github.etorres.codexposed.MongoDBSafeKey.escapeMapKey;
+import static com.github.etorres.codexposed.MongoDBSafeKey.unescapeFieldName;
+import static com.github.etorres.codexposed.MongoDBSafeKeyCache.KEY_CACHE;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.github.etorres.codexposed.EscapingMetrics;
+import com.github.etorres.codexposed.MongoDBSafeKey;
+import com.github.etorres.codexposed.metrics.Metrics;
+
+/**
+ * Tests that the escaper and the key cache record {@link EscapingMetrics} when the metrics are enabled. This test is not part of the unit
+ * test suite and runs in its own surefire execution with the system property <code>codexposed.metrics.enabled</code> set to 
+ * <code>true</code>.
+ * @author Erik Torres <etserrano@gmail.com>
+ */
+public class EscapingMetricsEnabledTest {
+
+	@BeforeClass
+	public static void setup() throws Exception {
+		System.out.println("    >> EscapingMetricsEnabledTest.setup()");
+		assertThat("metrics are enabled", Metrics.ENABLED, equalTo(true));
+	}
+
+	@AfterClass
+	public static void cleanup() {
+		System.out.println("    >> EscapingMetricsEnabledTest.cleanup()");
+		EscapingMetrics.INSTANCE.reset();
+		KEY_CACHE.invalidateAll();
+	}
+
+	@Test
+	public void testEscape() {
+		System.out.println("    >> EscapingMetricsEnabledTest.testEscape()");
+		final EscapingMetrics metrics = EscapingMetrics.INSTANCE;
+		KEY_CACHE.invalidateAll();
+		metrics.reset();
+		final String escaped = escapeFieldName("$a.b");
+		escapeFieldName("ab");
+		unescapeFieldName(escaped);
+		unescapeFieldName("ab");
+		assertThat("escaped coincides with expected", metrics.getEscaped(), equalTo(1L));
+		assertThat("escape pass through coincides with expected", metrics.getEscapePassThrough(), equalTo(1L));
+		assertThat("unescaped coincides with expected", metrics.getUnescaped(), equalTo(1L));
+		assertThat("unescape pass through coincides with expected", metrics.getUnescapePassThrough(), equalTo(1L));
+		assertThat("cache hits coincides with expected", metrics.getCacheHits(), equalTo(0L));
+		assertThat("latency count coincides with expected", metrics.getLatencyCount(), equalTo(4L));
+	}
+
+	@Test
+	public void testEscapeMapKey() {
+		System.out.println("    >> EscapingMetricsEnabledTest.testEscapeMapKey()");
+		final EscapingMetrics metrics = EscapingMetrics.INSTANCE;
+		KEY_CACHE.invalidateAll();
+		metrics.reset();
+		// the first lookup of each name is escaped by the escaper, the rest are served from the cache
+		final MongoDBSafeKey key = escapeMapKey("$a.b");
+		assertThat("cached key coincides with expected", escapeMapKey("$a.b"), sameInstance(key));
+		escapeMapKey("$a.b");
+		escapeMapKey("ab");
+		escapeMapKey(" ab ");
+		assertThat("escaped coincides with expected", metrics.getEscaped(), equalTo(3L));
+		assertThat("escape pass through coincides with expected", metrics.getEscapePassThrough(), equalTo(2L));
+		assertThat("cache hits coincides with expected", metrics.getCacheHits(), equalTo(2L));
+		assertThat("latency count coincides with expected", metrics.getLatencyCount(), equalTo(5L));
+	}
+
+}
\ No newline at end of file
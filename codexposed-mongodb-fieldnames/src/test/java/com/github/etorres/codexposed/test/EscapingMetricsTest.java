@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2015 Erik Torres
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.etorres.codexposed.test;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.github.etorres.codexposed.EscapingMetrics;
+
+/**
+ * Tests {@link EscapingMetrics}.
+ * @author Erik Torres <etserrano@gmail.com>
+ */
+public class EscapingMetricsTest {
+
+	@BeforeClass
+	public static void setup() throws Exception {
+		System.out.println("    >> EscapingMetricsTest.setup()");
+	}
+
+	@AfterClass
+	public static void cleanup() {
+		System.out.println("    >> EscapingMetricsTest.cleanup()");
+		EscapingMetrics.INSTANCE.reset();
+	}
+
+	@Test
+	public void testRecord() {
+		System.out.println("    >> EscapingMetricsTest.testRecord()");
+		final EscapingMetrics metrics = EscapingMetrics.INSTANCE;
+		metrics.reset();
+		final long start = System.nanoTime();
+		metrics.recordEscape(true, start);
+		metrics.recordEscape(false, start);
+		metrics.recordEscape(false, start);
+		metrics.recordUnescape(true, start);
+		metrics.recordCachedEscape(true, start);
+		assertThat("escaped coincides with expected", metrics.getEscaped(), equalTo(2L));
+		assertThat("escape pass through coincides with expected", metrics.getEscapePassThrough(), equalTo(2L));
+		assertThat("unescaped coincides with expected", metrics.getUnescaped(), equalTo(1L));
+		assertThat("unescape pass through coincides with expected", metrics.getUnescapePassThrough(), equalTo(0L));
+		assertThat("cache hits coincides with expected", metrics.getCacheHits(), equalTo(1L));
+		assertThat("latency count coincides with expected", metrics.getLatencyCount(), equalTo(5L));
+		metrics.reset();
+		assertThat("escaped is zero after reset", metrics.getEscaped(), equalTo(0L));
+		assertThat("cache hits is zero after reset", metrics.getCacheHits(), equalTo(0L));
+		assertThat("latency count is zero after reset", metrics.getLatencyCount(), equalTo(0L));
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2015 Erik Torres
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.etorres.codexposed.test;
+
+import static com.github.etorres.codexposed.logging.LogManager.LOG_MANAGER;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.util.List;
+import java.util.logging.Level;
+
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.github.etorres.codexposed.logging.LogManager;
+import com.google.common.collect.ImmutableList;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.jul.LevelChangePropagator;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggerContextListener;
+import ch.qos.logback.core.Appender;
+
+/**
+ * Tests {@link LogManager}.
+ * @author Erik Torres <etserrano@gmail.com>
+ */
+public class LogManagerTest {
+
+	@BeforeClass
+	public static void setup() throws Exception {
+		System.out.println("    >> LogManagerTest.setup()");
+		LOG_MANAGER.preload();
+	}
+
+	@AfterClass
+	public static void cleanup() {
+		System.out.println("    >> LogManagerTest.cleanup()");
+	}
+
+	private List<Appender<ILoggingEvent>> rootAppenders;
+
+	@Before
+	public void saveRootAppenders() {
+		rootAppenders = ImmutableList.copyOf(rootLogger().iteratorForAppenders());
+	}
+
+	@After
+	public void restoreRootAppenders() throws InterruptedException {
+		// the logger context is shared with the other tests, so the original appenders are attached again
+		final ch.qos.logback.classic.Logger root = rootLogger();
+		for (final Appender<ILoggingEvent> appender : ImmutableList.copyOf(root.iteratorForAppenders())) {
+			if (rootAppenders.contains(appender)) {
+				continue;
+			}
+			root.detachAppender(appender);
+			if (appender instanceof AsyncAppender) {
+				final AsyncAppender async = (AsyncAppender)appender;
+				for (int i = 0; i < 100 && async.getNumberOfElementsInQueue() > 0; i++) {
+					Thread.sleep(10L);
+				}
+				// detach the original appenders before stopping the asynchronous appender, which stops the appenders attached to it
+				for (final Appender<ILoggingEvent> original : rootAppenders) {
+					async.detachAppender(original);
+				}
+				async.stop();
+			}
+		}
+		for (final Appender<ILoggingEvent> appender : rootAppenders) {
+			if (!root.isAttached(appender)) {
+				root.addAppender(appender);
+			}
+		}
+	}
+
+	@Test
+	public void testLevelPropagation() {
+		System.out.println("    >> LogManagerTest.testLevelPropagation()");
+		// the test configuration declares a propagator, which is removed to test the propagator registered by the log manager
+		final LoggerContext context = (LoggerContext)LoggerFactory.getILoggerFactory();
+		final List<LevelChangePropagator> configured = propagators(context);
+		final ch.qos.logback.classic.Logger logger = context.getLogger("com.github.etorres.codexposed.test.propagation");
+		try {
+			for (final LevelChangePropagator propagator : configured) {
+				context.removeListener(propagator);
+			}
+			assertThat("propagators are removed", propagators(context).size(), equalTo(0));
+			assertThat("propagator is registered", LOG_MANAGER.propagateLevelsToJul(), equalTo(true));
+			assertThat("propagator is registered only once", LOG_MANAGER.propagateLevelsToJul(), equalTo(false));
+			assertThat("number of propagators coincides with expected", propagators(context).size(), equalTo(1));
+			assertThat("enabled level is loggable in j.u.l", java.util.logging.Logger.getLogger("com.github.etorres.codexposed")
+					.isLoggable(Level.FINEST), equalTo(true));
+			assertThat("disabled level is not loggable in j.u.l", java.util.logging.Logger.getLogger("org.mongodb.driver.cluster")
+					.isLoggable(Level.INFO), equalTo(false));
+			// levels changed after the propagator was registered are also propagated
+			logger.setLevel(ch.qos.logback.classic.Level.ERROR);
+			assertThat("changed level is propagated to j.u.l", java.util.logging.Logger.getLogger(logger.getName())
+					.isLoggable(Level.WARNING), equalTo(false));
+		} finally {
+			logger.setLevel(null);
+			for (final LevelChangePropagator propagator : propagators(context)) {
+				context.removeListener(propagator);
+			}
+			for (final LevelChangePropagator propagator : configured) {
+				context.addListener(propagator);
+			}
+		}
+	}
+
+	@Test
+	public void testAsyncLogging() {
+		System.out.println("    >> LogManagerTest.testAsyncLogging()");
+		assertThat("logging is synchronous", LOG_MANAGER.isAsyncLogging(), equalTo(false));
+		assertThat("async logging is enabled", LOG_MANAGER.enableAsyncLogging(), equalTo(true));
+		assertThat("logging is asynchronous", LOG_MANAGER.isAsyncLogging(), equalTo(true));
+		assertThat("async logging is enabled only once", LOG_MANAGER.enableAsyncLogging(), equalTo(false));
+		LoggerFactory.getLogger(LogManagerTest.class).info("Message logged asynchronously");
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testInvalidQueueSize() {
+		System.out.println("    >> LogManagerTest.testInvalidQueueSize()");
+		LOG_MANAGER.enableAsyncLogging(0, true);
+	}
+
+	private static List<LevelChangePropagator> propagators(final LoggerContext context) {
+		final ImmutableList.Builder<LevelChangePropagator> propagators = ImmutableList.builder();
+		for (final LoggerContextListener listener : context.getCopyOfListenerList()) {
+			if (listener instanceof LevelChangePropagator) {
+				propagators.add((LevelChangePropagator)listener);
+			}
+		}
+		return propagators.build();
+	}
+
+	private static ch.qos.logback.classic.Logger rootLogger() {
+		return ((LoggerContext)LoggerFactory.getILoggerFactory()).getLogger(Logger.ROOT_LOGGER_NAME);
+	}
+
+}
\ No newline at end of file
@@ -18,6 +18,7 @@ package com.github.etorres.codexposed.test;
 
 import static com.github.etorres.codexposed.MongoDBSafeKey.escapeFieldName;
 import static com.github.etorres.codexposed.MongoDBSafeKey.escapeMapKey;
+import static com.github.etorres.codexposed.bson.MongoDBSafeMapCodecProvider.SAFE_MAP_CODEC_REGISTRY;
 import static com.google.common.collect.Lists.newArrayList;
 import static com.mongodb.client.model.Filters.eq;
 import static org.apache.commons.lang3.StringUtils.isNotBlank;
@@ -36,6 +37,9 @@ import org.junit.Test;
 
 import com.github.etorres.codexposed.MongoDBSafeKey;
 import com.github.etorres.codexposed.MongoDBSafeMap;
+import com.github.etorres.codexposed.bson.MongoDBSafeMapCodec;
+import com.github.etorres.codexposed.mongodb.MongoDBSafeMapBulkWriter;
+import com.github.etorres.codexposed.mongodb.MongoDBUnescapingCursor;
 import com.mongodb.MongoClient;
 import com.mongodb.MongoClientOptions;
 import com.mongodb.MongoCredential;
@@ -50,10 +54,12 @@ import com.mongodb.client.model.IndexOptions;
  * Tests {@link MongoDBSafeMap} maps with a mongoDB collection.
  * @author Erik Torres <etserrano@gmail.com>
  */
+@SuppressWarnings("rawtypes")
 public class MongoDBCollectionTest {
 
 	public static final String DB_NAME = "codexposed";
 	public static final String DB_COLLECTION = "mycollection";
+	public static final String DB_BULK_COLLECTION = "mybulkcollection";
 
 	private static MongoClient mongoClient = null;
 
@@ -88,6 +94,7 @@ public class MongoDBCollectionTest {
 		final MongoDBSafeMap<MongoDBSafeKey, String> safeMap = new MongoDBSafeMap<>();
 		safeMap.put(escapeMapKey(unescapedKey), "Hello World!");
 		assertThat("map is not empty", safeMap.isEmpty(), equalTo(false));
+		assertThat("escaped view coincides with expected", safeMap.asMap(), equalTo(safeMap.toMap()));
 
 		// test create index
 		createIndex(escapedKey);
@@ -107,6 +114,73 @@ public class MongoDBCollectionTest {
 		System.out.println("        >> Found document: " + doc);
 	}
 
+	@Test
+	public void testCodec() {
+		System.out.println("    >> MongoDBCollectionTest.testCodec()");
+
+		// create dataset
+		final String unescapedKey = "$invalid.codec.key";
+		final MongoDBSafeMap<MongoDBSafeKey, String> safeMap = new MongoDBSafeMap<>();
+		safeMap.put(escapeMapKey(unescapedKey), "Hello World!");
+
+		// test insert record
+		final MongoCollection<MongoDBSafeMap> collection = mongoClient.getDatabase(DB_NAME)
+				.getCollection(DB_COLLECTION, MongoDBSafeMap.class)
+				.withCodecRegistry(SAFE_MAP_CODEC_REGISTRY);
+		collection.insertOne(safeMap);
+		final Object id = safeMap.get(MongoDBSafeMapCodec.ID_KEY);
+		assertThat("id is not null", id, notNullValue());
+		/* uncomment for additional output */
+		System.out.println("        >> Inserted document Id: " + id);
+
+		// test find record
+		final MongoDBSafeMap<?, ?> safeMap2 = collection.find(eq(escapeFieldName(unescapedKey), "Hello World!")).first();
+		assertThat("map is not null", safeMap2, notNullValue());
+		assertThat("value coincides with expected", safeMap2.getUnescaped(unescapedKey), equalTo((Object)"Hello World!"));
+		/* uncomment for additional output */
+		System.out.println("        >> Found map: " + safeMap2);
+	}
+
+	@Test
+	public void testBulkWriter() throws Exception {
+		System.out.println("    >> MongoDBCollectionTest.testBulkWriter()");
+
+		// create dataset
+		final String unescapedKey = "$invalid.bulk.key";
+		final int count = 2500;
+		final MongoCollection<Document> collection = mongoClient.getDatabase(DB_NAME).getCollection(DB_BULK_COLLECTION);
+		collection.drop();
+
+		// test insert records
+		try (final MongoDBSafeMapBulkWriter writer = MongoDBSafeMapBulkWriter.builder(collection).batchSize(1000).build()) {
+			for (int i = 0; i < count; i++) {
+				final MongoDBSafeMap<MongoDBSafeKey, Object> safeMap = new MongoDBSafeMap<>();
+				safeMap.put(escapeMapKey(unescapedKey), i);
+				writer.write(safeMap);
+			}
+			writer.flush();
+			assertThat("written maps coincides with expected", writer.getWritten(), equalTo((long)count));
+			assertThat("failed maps coincides with expected", writer.getFailed(), equalTo(0L));
+			/* uncomment for additional output */
+			System.out.println("        >> Batches: " + writer.getBatches());
+		}
+
+		// test find records
+		assertThat("count coincides with expected", collection.count(), equalTo((long)count));
+		final Document doc = collection.find(eq(escapeFieldName(unescapedKey), count - 1)).first();
+		assertThat("doc is not null", doc, notNullValue());
+
+		// test read unescaped records
+		int found = 0;
+		try (final MongoDBUnescapingCursor cursor = MongoDBUnescapingCursor.builder(collection).batchSize(100).open()) {
+			while (cursor.hasNext()) {
+				assertThat("unescaped key is found", cursor.next().containsKey(unescapedKey), equalTo(true));
+				found++;
+			}
+		}
+		assertThat("found records coincides with expected", found, equalTo(count));
+	}
+
 	private void createIndex(final String fieldName) {
 		final MongoDatabase db = mongoClient.getDatabase(DB_NAME);
 		final MongoCollection<Document> collection = db.getCollection(DB_COLLECTION);
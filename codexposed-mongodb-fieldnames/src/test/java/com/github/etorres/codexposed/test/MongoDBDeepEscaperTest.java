@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2015 Erik Torres
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.etorres.codexposed.test;
+
+import static com.github.etorres.codexposed.MongoDBDeepEscaper.escapeDeep;
+import static com.github.etorres.codexposed.MongoDBDeepEscaper.unescapeDeep;
+import static com.github.etorres.codexposed.MongoDBSafeKey.escapeMapKey;
+import static com.google.common.collect.ImmutableMap.of;
+import static com.google.common.collect.Lists.newArrayList;
+import static com.google.common.collect.Maps.newHashMap;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.github.etorres.codexposed.MongoDBDeepEscaper;
+import com.github.etorres.codexposed.MongoDBSafeKey;
+import com.github.etorres.codexposed.MongoDBSafeMap;
+import com.google.common.collect.Lists;
+
+/**
+ * Tests {@link MongoDBDeepEscaper}.
+ * @author Erik Torres <etserrano@gmail.com>
+ */
+public class MongoDBDeepEscaperTest {
+
+	@BeforeClass
+	public static void setup() throws Exception {
+		System.out.println("    >> MongoDBDeepEscaperTest.setup()");
+	}
+
+	@AfterClass
+	public static void cleanup() {
+		System.out.println("    >> MongoDBDeepEscaperTest.cleanup()");
+	}
+
+	@Test
+	public void testNestedDocuments() {
+		System.out.println("    >> MongoDBDeepEscaperTest.testNestedDocuments()");
+		final Map<String, Object> untouched = of("valid", (Object)newArrayList(1, 2, 3));
+		final Map<String, Object> document = of(
+				"$a.b", (Object)of("c.d", "$e.f"),
+				"list", newArrayList(of("$g", 1), "h.i", new Object[]{ of("j.k", 2) }),
+				"untouched", untouched);
+		final Map<String, Object> expected = of(
+				"\uff04a\uff0eb", (Object)of("c\uff0ed", "$e.f"),
+				"list", newArrayList(of("\uff04g", 1), "h.i", Lists.<Object>newArrayList(of("j\uff0ek", 2))),
+				"untouched", untouched);
+
+		final Map<String, Object> escaped = escapeDeep(document);
+		assertThat("escaped document is not null", escaped, notNullValue());
+		/* uncomment for additional output */
+		System.out.println("        >> Original: " + document + ", escaped=" + escaped);
+		assertThat("escaped document coincides with expected", escaped, equalTo(expected));
+		assertThat("untouched subtree is reused", escaped.get("untouched"), sameInstance((Object)untouched));
+
+		final Map<String, Object> unescaped = unescapeDeep(escaped);
+		assertThat("unescaped key coincides with expected", unescaped.containsKey("$a.b"), equalTo(true));
+		assertThat("unescaped nested key coincides with expected", ((Map<?, ?>)unescaped.get("$a.b")).containsKey("c.d"), equalTo(true));
+	}
+
+	@Test
+	public void testUntouchedDocument() {
+		System.out.println("    >> MongoDBDeepEscaperTest.testUntouchedDocument()");
+		final Map<String, Object> document = of("a", (Object)of("b", newArrayList("c", "d")), "e", 1);
+		assertThat("document is reused", escapeDeep(document), sameInstance(document));
+		assertThat("document is reused", unescapeDeep(document), sameInstance(document));
+		assertThat("leaf value is reused", escapeDeep((Object)"$a.b"), equalTo((Object)"$a.b"));
+	}
+
+	@Test
+	public void testSafeMap() {
+		System.out.println("    >> MongoDBDeepEscaperTest.testSafeMap()");
+		final MongoDBSafeMap<MongoDBSafeKey, Object> nestedMap = new MongoDBSafeMap<>();
+		nestedMap.put(escapeMapKey("$b"), of("c.d", 1));
+		final MongoDBSafeMap<MongoDBSafeKey, Object> safeMap = new MongoDBSafeMap<>();
+		safeMap.put(escapeMapKey("$a"), nestedMap);
+		final Map<String, Object> escaped = escapeDeep(safeMap);
+		assertThat("escaped document coincides with expected", escaped,
+				equalTo((Map<String, Object>)of("\uff04a", (Object)of("\uff04b", of("c\uff0ed", 1)))));
+		final Map<String, Object> unescaped = unescapeDeep(safeMap);
+		assertThat("unescaped document coincides with expected", unescaped,
+				equalTo((Map<String, Object>)of("$a", (Object)of("$b", of("c.d", 1)))));
+	}
+
+	@Test
+	public void testDeepDocument() {
+		System.out.println("    >> MongoDBDeepEscaperTest.testDeepDocument()");
+		final int depth = 100000;
+		Map<String, Object> document = of("$leaf", (Object)"value");
+		for (int i = 0; i < depth; i++) {
+			final Object level = i % 2 == 0 ? document : Lists.<Object>newArrayList(document);
+			document = of("$level." + i, level);
+		}
+		Object escaped = escapeDeep(document);
+		for (int i = depth - 1; i >= 0; i--) {
+			final Map<?, ?> map = (Map<?, ?>)escaped;
+			escaped = map.get("\uff04level\uff0e" + i);
+			if (i % 2 != 0) {
+				escaped = ((List<?>)escaped).get(0);
+			}
+		}
+		assertThat("leaf coincides with expected", escaped, equalTo((Object)of("\uff04leaf", "value")));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testCyclicDocument() {
+		System.out.println("    >> MongoDBDeepEscaperTest.testCyclicDocument()");
+		final Map<String, Object> document = newHashMap();
+		document.put("self", document);
+		escapeDeep(document);
+	}
+
+}
\ No newline at end of file
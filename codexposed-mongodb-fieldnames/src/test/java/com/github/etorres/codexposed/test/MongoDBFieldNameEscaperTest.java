@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2015 Erik Torres
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.etorres.codexposed.test;
+
+import static com.github.etorres.codexposed.MongoDBFieldNameEscaper.escape;
+import static com.github.etorres.codexposed.MongoDBFieldNameEscaper.needsEscaping;
+import static com.github.etorres.codexposed.MongoDBFieldNameEscaper.needsUnescaping;
+import static com.github.etorres.codexposed.MongoDBFieldNameEscaper.unescape;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.github.etorres.codexposed.MongoDBFieldNameEscaper;
+
+/**
+ * Tests {@link MongoDBFieldNameEscaper}.
+ * @author Erik Torres <etserrano@gmail.com>
+ */
+public class MongoDBFieldNameEscaperTest {
+
+	private final String[] names = { "$this.is.an.invalid...s$ring.", "$", "a.b", "valid_name", "" };
+	private final String[] escapedNames = { "\uff04this\uff0eis\uff0ean\uff0einvalid\uff0e\uff0e\uff0es\uff04ring\uff0e", "\uff04", "a\uff0eb", "valid_name", "" };
+
+	@BeforeClass
+	public static void setup() throws Exception {
+		System.out.println("    >> MongoDBFieldNameEscaperTest.setup()");
+	}
+
+	@AfterClass
+	public static void cleanup() {
+		System.out.println("    >> MongoDBFieldNameEscaperTest.cleanup()");
+	}
+
+	@Test
+	public void testEscape() {
+		System.out.println("    >> MongoDBFieldNameEscaperTest.testEscape()");
+		for (int i = 0; i < names.length; i++) {
+			final String escapedName = escape(names[i]);
+			assertThat("escaped name coincides with expected", escapedName, equalTo(escapedNames[i]));
+			assertThat("escaped name needs no further escaping", needsEscaping(escapedName), equalTo(false));
+			final String unescapedName = unescape(escapedName);
+			assertThat("unescaped name coincides with expected", unescapedName, equalTo(names[i]));
+			assertThat("unescaped name needs no further unescaping", needsUnescaping(unescapedName), equalTo(false));
+		}
+	}
+
+	@Test
+	public void testSameInstance() {
+		System.out.println("    >> MongoDBFieldNameEscaperTest.testSameInstance()");
+		final String name = "valid_name";
+		assertThat("escaped name is the same instance", escape(name), sameInstance(name));
+		assertThat("unescaped name is the same instance", unescape(name), sameInstance(name));
+	}
+
+	@Test
+	public void testAppend() {
+		System.out.println("    >> MongoDBFieldNameEscaperTest.testAppend()");
+		for (int i = 0; i < names.length; i++) {
+			final StringBuilder builder = new StringBuilder("prefix:");
+			assertThat("escaped name is appended", escape(new StringBuilder(names[i]), builder).toString(),
+					equalTo("prefix:" + escapedNames[i]));
+			builder.setLength(0);
+			assertThat("unescaped name is appended", unescape(escapedNames[i], builder).toString(), equalTo(names[i]));
+		}
+	}
+
+	@Test(expected = NullPointerException.class)
+	public void testNullValue() {
+		System.out.println("    >> MongoDBFieldNameEscaperTest.testNullValue()");
+		escape(null);
+	}
+
+}
\ No newline at end of file
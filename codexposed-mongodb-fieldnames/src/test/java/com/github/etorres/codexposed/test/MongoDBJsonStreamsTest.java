@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2015 Erik Torres
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.etorres.codexposed.test;
+
+import static com.github.etorres.codexposed.jackson.MongoDBJsonMapper.JSON_MAPPER;
+import static com.github.etorres.codexposed.jackson.MongoDBJsonStreams.escape;
+import static com.github.etorres.codexposed.jackson.MongoDBJsonStreams.escapingParser;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.Map;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.github.etorres.codexposed.jackson.MongoDBJsonStreams;
+
+/**
+ * Tests {@link MongoDBJsonStreams}.
+ * @author Erik Torres <etserrano@gmail.com>
+ */
+public class MongoDBJsonStreamsTest {
+
+	private final String[] payloads = {
+			"{\"$a.b\":1,\"c\":{\"d.e\":[{\"$f\":\"$g.h\"},2.5,null,true]}}",
+			"{\"a\":1} {\"$b\":2}",
+			"[{\"x.y\":\"z\"}]"
+	};
+	private final String[] escapedPayloads = {
+			"{\"\uff04a\uff0eb\":1,\"c\":{\"d\uff0ee\":[{\"\uff04f\":\"$g.h\"},2.5,null,true]}}",
+			"{\"a\":1} {\"\uff04b\":2}",
+			"[{\"x\uff0ey\":\"z\"}]"
+	};
+
+	@BeforeClass
+	public static void setup() throws Exception {
+		System.out.println("    >> MongoDBJsonStreamsTest.setup()");
+	}
+
+	@AfterClass
+	public static void cleanup() {
+		System.out.println("    >> MongoDBJsonStreamsTest.cleanup()");
+	}
+
+	@Test
+	public void testEscape() throws IOException {
+		System.out.println("    >> MongoDBJsonStreamsTest.testEscape()");
+		for (int i = 0; i < payloads.length; i++) {
+			final StringWriter writer = new StringWriter();
+			escape(new StringReader(payloads[i]), writer);
+			/* uncomment for additional output */
+			System.out.println("        >> Original: " + payloads[i] + ", escaped=" + writer);
+			assertThat("escaped payload coincides with expected", writer.toString(), equalTo(escapedPayloads[i]));
+		}
+	}
+
+	@Test
+	public void testEscapingParser() throws IOException {
+		System.out.println("    >> MongoDBJsonStreamsTest.testEscapingParser()");
+		final Map<?, ?> map = JSON_MAPPER.readValue(escapingParser(JSON_MAPPER.getFactory().createParser(payloads[0])), Map.class);
+		final Map<?, ?> expected = JSON_MAPPER.readValue(escapedPayloads[0], Map.class);
+		assertThat("parsed map coincides with expected", map, equalTo((Object)expected));
+	}
+
+}
\ No newline at end of file
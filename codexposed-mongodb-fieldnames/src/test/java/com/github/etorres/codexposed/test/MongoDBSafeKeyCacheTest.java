@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2015 Erik Torres
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.etorres.codexposed.test;
+
+import static com.github.etorres.codexposed.MongoDBSafeKey.escapeFieldName;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.github.etorres.codexposed.MongoDBSafeKey;
+import com.github.etorres.codexposed.MongoDBSafeKeyCache;
+import com.google.common.cache.CacheStats;
+
+/**
+ * Tests {@link MongoDBSafeKeyCache}.
+ * @author Erik Torres <etserrano@gmail.com>
+ */
+public class MongoDBSafeKeyCacheTest {
+
+	private final String[] names = { "$this.is.an.invalid...s$ring.", "$invalid.key", "valid_name" };
+
+	@BeforeClass
+	public static void setup() throws Exception {
+		System.out.println("    >> MongoDBSafeKeyCacheTest.setup()");
+	}
+
+	@AfterClass
+	public static void cleanup() {
+		System.out.println("    >> MongoDBSafeKeyCacheTest.cleanup()");
+	}
+
+	@Test
+	public void testCanonicalKeys() {
+		System.out.println("    >> MongoDBSafeKeyCacheTest.testCanonicalKeys()");
+		final MongoDBSafeKeyCache cache = new MongoDBSafeKeyCache(100L);
+		for (int i = 0; i < names.length; i++) {
+			final MongoDBSafeKey key = cache.getKey(names[i]);
+			assertThat("key is not null", key, notNullValue());
+			assertThat("key coincides with expected", key.getKey(), equalTo(escapeFieldName(names[i])));
+			assertThat("key is shared", cache.getKey(names[i]), sameInstance(key));
+		}
+		final CacheStats stats = cache.stats();
+		/* uncomment for additional output */
+		System.out.println("        >> Cache: " + cache);
+		assertThat("miss count coincides with expected", stats.missCount(), equalTo((long)names.length));
+		assertThat("hit count coincides with expected", stats.hitCount(), equalTo((long)names.length));
+	}
+
+	@Test
+	public void testEviction() {
+		System.out.println("    >> MongoDBSafeKeyCacheTest.testEviction()");
+		final MongoDBSafeKeyCache cache = new MongoDBSafeKeyCache(10L);
+		for (int i = 0; i < 100; i++) {
+			cache.getKey("$key." + i);
+		}
+		assertThat("cache size is bounded", cache.size(), lessThanOrEqualTo(10L));
+		assertThat("keys were evicted", cache.stats().evictionCount(), greaterThan(0L));
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void testImmutableKey() {
+		System.out.println("    >> MongoDBSafeKeyCacheTest.testImmutableKey()");
+		final MongoDBSafeKeyCache cache = new MongoDBSafeKeyCache(10L);
+		cache.getKey(names[0]).setKey("modified");
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testInvalidName() {
+		System.out.println("    >> MongoDBSafeKeyCacheTest.testInvalidName()");
+		final MongoDBSafeKeyCache cache = new MongoDBSafeKeyCache(10L);
+		cache.getKey("   ");
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,276 @@
+/*
+ * Copyright (c) 2015 Erik Torres
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.etorres.codexposed.test;
+
+import static com.github.etorres.codexposed.MongoDBSafeKey.escapeMapKey;
+import static java.util.Collections.newSetFromMap;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.github.etorres.codexposed.MongoDBSafeKey;
+import com.github.etorres.codexposed.MongoDBSafeMap;
+import com.github.etorres.codexposed.mongodb.MongoDBSafeMapBulkWriter;
+import com.mongodb.MongoException;
+import com.mongodb.client.MongoCollection;
+
+/**
+ * Tests {@link MongoDBSafeMapBulkWriter} with a fake collection that records the batches instead of writing them to a database.
+ * @author Erik Torres <etserrano@gmail.com>
+ */
+@SuppressWarnings("rawtypes")
+public class MongoDBSafeMapBulkWriterTest {
+
+	@BeforeClass
+	public static void setup() throws Exception {
+		System.out.println("    >> MongoDBSafeMapBulkWriterTest.setup()");
+	}
+
+	@AfterClass
+	public static void cleanup() {
+		System.out.println("    >> MongoDBSafeMapBulkWriterTest.cleanup()");
+	}
+
+	@Test
+	public void testBatchSize() throws Exception {
+		System.out.println("    >> MongoDBSafeMapBulkWriterTest.testBatchSize()");
+		final List<Integer> sizes = new CopyOnWriteArrayList<>();
+		final MongoCollection collection = fakeCollection(sizes, null, null);
+		final MongoDBSafeMapBulkWriter writer = MongoDBSafeMapBulkWriter.builder(collection)
+				.batchSize(1000).maxDelay(5L, TimeUnit.SECONDS).build();
+		for (int i = 0; i < 2500; i++) {
+			writer.write(newMap(i));
+		}
+		writer.close();
+		assertThat("written maps coincides with expected", writer.getWritten(), equalTo(2500L));
+		assertThat("failed maps coincides with expected", writer.getFailed(), equalTo(0L));
+		assertThat("batches coincides with expected", writer.getBatches(), equalTo(3L));
+		Collections.sort(sizes);
+		assertThat("batch sizes coincides with expected", sizes.toString(), equalTo("[500, 1000, 1000]"));
+	}
+
+	@Test
+	public void testMaxDelay() throws Exception {
+		System.out.println("    >> MongoDBSafeMapBulkWriterTest.testMaxDelay()");
+		final List<Integer> sizes = new CopyOnWriteArrayList<>();
+		final MongoCollection collection = fakeCollection(sizes, null, null);
+		try (final MongoDBSafeMapBulkWriter writer = MongoDBSafeMapBulkWriter.builder(collection)
+				.batchSize(1000).maxDelay(20L, TimeUnit.MILLISECONDS).build()) {
+			for (int i = 0; i < 10; i++) {
+				writer.write(newMap(i));
+			}
+			writer.flush();
+			assertThat("written maps coincides with expected", writer.getWritten(), equalTo(10L));
+			assertThat("written maps reached the collection", sum(sizes), equalTo(10));
+		}
+	}
+
+	@Test
+	public void testPartialBatches() throws Exception {
+		System.out.println("    >> MongoDBSafeMapBulkWriterTest.testPartialBatches()");
+		final List<Integer> sizes = new CopyOnWriteArrayList<>();
+		final MongoDBSafeMapBulkWriter writer = MongoDBSafeMapBulkWriter.builder(fakeCollection(sizes, null, null))
+				.batchSize(1000).maxDelay(1L, TimeUnit.MINUTES).build();
+		// flush and close send the partial batches without waiting for the maximum delay
+		final long start = System.nanoTime();
+		for (int i = 0; i < 5; i++) {
+			writer.write(newMap(i));
+		}
+		writer.flush();
+		assertThat("flushed maps coincides with expected", writer.getWritten(), equalTo(5L));
+		for (int i = 0; i < 3; i++) {
+			writer.write(newMap(i));
+		}
+		writer.close();
+		final long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+		/* uncomment for additional output */
+		System.out.println("        >> Elapsed time: " + elapsed + " ms, batch sizes: " + sizes);
+		assertThat("written maps coincides with expected", writer.getWritten(), equalTo(8L));
+		assertThat("partial batches are not delayed", elapsed < TimeUnit.SECONDS.toMillis(30L), equalTo(true));
+	}
+
+	@Test
+	public void testBackpressure() throws Exception {
+		System.out.println("    >> MongoDBSafeMapBulkWriterTest.testBackpressure()");
+		final CountDownLatch latch = new CountDownLatch(1);
+		final MongoCollection collection = fakeCollection(new CopyOnWriteArrayList<Integer>(), latch, null);
+		try (final MongoDBSafeMapBulkWriter writer = MongoDBSafeMapBulkWriter.builder(collection)
+				.batchSize(10).maxInFlightBatches(1).queueCapacity(10).build()) {
+			// one batch in flight, one batch waiting for the in-flight batch to complete and a full queue
+			for (int i = 0; i < 30; i++) {
+				assertThat("map is accepted", writer.offer(newMap(i), 10L, TimeUnit.SECONDS), equalTo(true));
+			}
+			assertThat("map is rejected when the queue is full", writer.offer(newMap(30), 100L, TimeUnit.MILLISECONDS), equalTo(false));
+			assertThat("queued maps coincides with expected", writer.getQueued(), equalTo(10));
+			latch.countDown();
+			writer.flush();
+			assertThat("written maps coincides with expected", writer.getWritten(), equalTo(30L));
+		}
+	}
+
+	@Test
+	public void testConcurrentClose() throws Exception {
+		System.out.println("    >> MongoDBSafeMapBulkWriterTest.testConcurrentClose()");
+		final List<Integer> sizes = new CopyOnWriteArrayList<>();
+		final MongoDBSafeMapBulkWriter writer = MongoDBSafeMapBulkWriter.builder(fakeCollection(sizes, null, null))
+				.batchSize(10).maxDelay(1L, TimeUnit.MILLISECONDS).build();
+		final AtomicInteger accepted = new AtomicInteger();
+		final Thread[] producers = new Thread[4];
+		for (int i = 0; i < producers.length; i++) {
+			producers[i] = new Thread(new Runnable() {
+				@Override
+				public void run() {
+					try {
+						for (int j = 0; j < 100000; j++) {
+							writer.write(newMap(j));
+							accepted.incrementAndGet();
+						}
+					} catch (IllegalStateException | InterruptedException ignore) { }
+				}
+			});
+			producers[i].start();
+		}
+		Thread.sleep(50L);
+		writer.close();
+		for (final Thread producer : producers) {
+			producer.join();
+		}
+		// every map accepted before the writer was closed must be written
+		assertThat("written maps coincides with accepted", writer.getWritten(), equalTo((long)accepted.get()));
+		assertThat("written maps reached the collection", sum(sizes), equalTo(accepted.get()));
+		writer.flush();
+	}
+
+	@Test
+	public void testConcurrentFlush() throws Exception {
+		System.out.println("    >> MongoDBSafeMapBulkWriterTest.testConcurrentFlush()");
+		final Set<Object> maps = newSetFromMap(new ConcurrentHashMap<Object, Boolean>());
+		final MongoDBSafeMapBulkWriter writer = MongoDBSafeMapBulkWriter.builder(fakeCollection(new CopyOnWriteArrayList<Integer>(), null, 
+				null, maps)).batchSize(7).maxDelay(1L, TimeUnit.MINUTES).build();
+		final AtomicInteger missing = new AtomicInteger();
+		final Thread[] producers = new Thread[4];
+		for (int i = 0; i < producers.length; i++) {
+			producers[i] = new Thread(new Runnable() {
+				@Override
+				public void run() {
+					try {
+						for (int j = 0; j < 1000; j++) {
+							final MongoDBSafeMap<MongoDBSafeKey, Object> map = newMap(j);
+							writer.write(map);
+							writer.flush();
+							// the map of this producer was added before flushing, whatever the other producers are doing
+							if (!maps.contains(map)) {
+								missing.incrementAndGet();
+							}
+						}
+					} catch (InterruptedException ignore) { }
+				}
+			});
+			producers[i].start();
+		}
+		for (final Thread producer : producers) {
+			producer.join();
+		}
+		writer.close();
+		assertThat("flushed maps were written", missing.get(), equalTo(0));
+		assertThat("written maps coincides with expected", writer.getWritten(), equalTo(4000L));
+	}
+
+	@Test
+	public void testFailure() throws Exception {
+		System.out.println("    >> MongoDBSafeMapBulkWriterTest.testFailure()");
+		final MongoCollection collection = fakeCollection(new CopyOnWriteArrayList<Integer>(), null, new MongoException("Write failed"));
+		final MongoDBSafeMapBulkWriter writer = MongoDBSafeMapBulkWriter.builder(collection).batchSize(5).build();
+		for (int i = 0; i < 12; i++) {
+			writer.write(newMap(i));
+		}
+		writer.close();
+		assertThat("written maps coincides with expected", writer.getWritten(), equalTo(0L));
+		assertThat("failed maps coincides with expected", writer.getFailed(), equalTo(12L));
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testClosed() throws Exception {
+		System.out.println("    >> MongoDBSafeMapBulkWriterTest.testClosed()");
+		final MongoDBSafeMapBulkWriter writer = MongoDBSafeMapBulkWriter.builder(fakeCollection(new CopyOnWriteArrayList<Integer>(), null, null)).build();
+		writer.close();
+		writer.write(newMap(0));
+	}
+
+	private static MongoCollection fakeCollection(final List<Integer> sizes, final CountDownLatch latch, final RuntimeException error) {
+		return fakeCollection(sizes, latch, error, null);
+	}
+
+	private static MongoCollection fakeCollection(final List<Integer> sizes, final CountDownLatch latch, final RuntimeException error, 
+			final Set<Object> maps) {
+		return (MongoCollection)Proxy.newProxyInstance(MongoCollection.class.getClassLoader(), new Class<?>[]{ MongoCollection.class },
+				new InvocationHandler() {
+			@Override
+			public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+				switch (method.getName()) {
+				case "withDocumentClass":
+				case "withCodecRegistry":
+					return proxy;
+				case "insertMany":
+					if (latch != null) {
+						latch.await();
+					}
+					if (error != null) {
+						throw error;
+					}
+					sizes.add(((List<?>)args[0]).size());
+					if (maps != null) {
+						maps.addAll((List<?>)args[0]);
+					}
+					return null;
+				default:
+					throw new UnsupportedOperationException(method.getName());
+				}
+			}
+		});
+	}
+
+	private static int sum(final List<Integer> sizes) {
+		int sum = 0;
+		for (final int size : sizes) {
+			sum += size;
+		}
+		return sum;
+	}
+
+	private static MongoDBSafeMap<MongoDBSafeKey, Object> newMap(final int i) {
+		final MongoDBSafeMap<MongoDBSafeKey, Object> map = new MongoDBSafeMap<>();
+		map.put(escapeMapKey("$key.number"), i);
+		return map;
+	}
+
+}
\ No newline at end of file
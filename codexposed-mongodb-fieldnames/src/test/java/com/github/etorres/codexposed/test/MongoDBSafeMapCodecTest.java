@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2015 Erik Torres
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.etorres.codexposed.test;
+
+import static com.github.etorres.codexposed.MongoDBSafeKey.escapeMapKey;
+import static com.github.etorres.codexposed.bson.MongoDBSafeMapCodecProvider.SAFE_MAP_CODEC_REGISTRY;
+import static com.google.common.collect.ImmutableMap.of;
+import static com.google.common.collect.Lists.newArrayList;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import org.bson.BsonDocument;
+import org.bson.BsonDocumentReader;
+import org.bson.BsonDocumentWriter;
+import org.bson.BsonString;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.bson.types.ObjectId;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.github.etorres.codexposed.MongoDBSafeKey;
+import com.github.etorres.codexposed.MongoDBSafeMap;
+import com.github.etorres.codexposed.bson.MongoDBSafeMapCodec;
+
+/**
+ * Tests {@link MongoDBSafeMapCodec}.
+ * @author Erik Torres <etserrano@gmail.com>
+ */
+public class MongoDBSafeMapCodecTest {
+
+	private final String[] names = { "$this.is.an.invalid...s$ring." };
+	private final String[] escapedNames = { "\uff04this\uff0eis\uff0ean\uff0einvalid\uff0e\uff0e\uff0es\uff04ring\uff0e" };
+
+	@BeforeClass
+	public static void setup() throws Exception {
+		System.out.println("    >> MongoDBSafeMapCodecTest.setup()");
+	}
+
+	@AfterClass
+	public static void cleanup() {
+		System.out.println("    >> MongoDBSafeMapCodecTest.cleanup()");
+	}
+
+	@SuppressWarnings("unchecked")
+	@Test
+	public void testCodec() {
+		System.out.println("    >> MongoDBSafeMapCodecTest.testCodec()");
+		final MongoDBSafeMapCodec codec = new MongoDBSafeMapCodec(SAFE_MAP_CODEC_REGISTRY);
+		for (int i = 0; i < names.length; i++) {
+			final MongoDBSafeMap<MongoDBSafeKey, Object> safeMap = new MongoDBSafeMap<>();
+			safeMap.put(escapeMapKey(names[i]), "Hello World!");
+			safeMap.put(escapeMapKey("list"), newArrayList(1, 2, 3));
+			final MongoDBSafeMap<MongoDBSafeKey, Object> nestedMap = new MongoDBSafeMap<>();
+			nestedMap.put(escapeMapKey(names[i]), 1L);
+			safeMap.put(escapeMapKey("nested"), nestedMap);
+
+			// test encoding
+			final BsonDocument doc = new BsonDocument();
+			codec.encode(new BsonDocumentWriter(doc), safeMap, EncoderContext.builder().build());
+			/* uncomment for additional output */
+			System.out.println("        >> Encoded document: " + doc);
+			assertThat("document contains escaped field", doc.get(escapedNames[i]), equalTo((Object)new BsonString("Hello World!")));
+			assertThat("nested document contains escaped field", doc.getDocument("nested").containsKey(escapedNames[i]), equalTo(true));
+
+			// test decoding
+			final MongoDBSafeMap<MongoDBSafeKey, Object> safeMap2 = codec.decode(new BsonDocumentReader(doc), DecoderContext.builder().build());
+			assertThat("decoded map is not null", safeMap2, notNullValue());
+			assertThat("decoded value coincides with expected", safeMap2.getUnescaped(names[i]), equalTo((Object)"Hello World!"));
+			assertThat("decoded list coincides with expected", safeMap2.getUnescaped("list"), equalTo((Object)newArrayList(1, 2, 3)));
+		}
+	}
+
+	@Test
+	public void testNestedMapsAreEscaped() {
+		System.out.println("    >> MongoDBSafeMapCodecTest.testNestedMapsAreEscaped()");
+		final MongoDBSafeMapCodec codec = new MongoDBSafeMapCodec(SAFE_MAP_CODEC_REGISTRY);
+		final MongoDBSafeMap<MongoDBSafeKey, Object> safeMap = new MongoDBSafeMap<>();
+		safeMap.put(escapeMapKey("nested"), of(names[0], "Hello World!"));
+		final BsonDocument doc = new BsonDocument();
+		codec.encode(new BsonDocumentWriter(doc), safeMap, EncoderContext.builder().build());
+		assertThat("nested document contains escaped field", doc.getDocument("nested").containsKey(escapedNames[0]), equalTo(true));
+	}
+
+	@Test
+	public void testDocumentId() {
+		System.out.println("    >> MongoDBSafeMapCodecTest.testDocumentId()");
+		final MongoDBSafeMapCodec codec = new MongoDBSafeMapCodec(SAFE_MAP_CODEC_REGISTRY);
+		final MongoDBSafeMap<MongoDBSafeKey, Object> safeMap = new MongoDBSafeMap<>();
+		safeMap.put(escapeMapKey(names[0]), "Hello World!");
+		assertThat("map has no id", codec.documentHasId(safeMap), equalTo(false));
+		codec.generateIdIfAbsentFromDocument(safeMap);
+		assertThat("map has id", codec.documentHasId(safeMap), equalTo(true));
+		assertThat("id is an object id", safeMap.get(MongoDBSafeMapCodec.ID_KEY), instanceOf(ObjectId.class));
+		assertThat("document id coincides with expected", codec.getDocumentId(safeMap).asObjectId().getValue(),
+				equalTo(safeMap.get(MongoDBSafeMapCodec.ID_KEY)));
+
+		// test that the identifier is written first
+		final BsonDocument doc = new BsonDocument();
+		codec.encode(new BsonDocumentWriter(doc), safeMap, EncoderContext.builder().isEncodingCollectibleDocument(true).build());
+		assertThat("id is the first field", doc.keySet().iterator().next(), equalTo(MongoDBSafeMapCodec.ID_FIELD_NAME));
+	}
+
+}
\ No newline at end of file
@@ -23,9 +23,11 @@ import static com.github.etorres.codexposed.jackson.MongoDBJsonMapper.JSON_MAPPE
 import static org.apache.commons.lang3.StringUtils.isNotBlank;
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
 import static org.hamcrest.MatcherAssert.assertThat;
 
 import java.io.IOException;
+import java.util.Map;
 import java.util.Map.Entry;
 
 import org.bson.Document;
@@ -33,8 +35,10 @@ import org.junit.AfterClass;
 import org.junit.BeforeClass;
 import org.junit.Test;
 
+import com.github.etorres.codexposed.ImmutableMongoDBSafeKey;
 import com.github.etorres.codexposed.MongoDBSafeKey;
 import com.github.etorres.codexposed.MongoDBSafeMap;
+import com.github.etorres.codexposed.MongoDBSafeMap.Backing;
 
 /**
  * Tests {@link MongoDBSafeMap} maps.
@@ -76,28 +80,33 @@ public class MongoDBSafeMapTest {
 	@Test
 	public void testMapOperations() {
 		System.out.println("    >> MongoDBSafeMapTest.testMapOperations()");
-		for (int i = 0; i < names.length; i++) {		
-			final MongoDBSafeMap<MongoDBSafeKey, String> safeMap = new MongoDBSafeMap<>();
-			safeMap.put(escapeMapKey(names[i]), "Hello World!");
-			assertThat("map is not empty", safeMap.isEmpty(), equalTo(false));
-			// uncomment for additional output
-			for (final Entry<MongoDBSafeKey, String> entry : safeMap.entrySet()) {
-				System.out.println("        >> Map entry: [" + entry.getKey().getKey() + ", " + entry.getValue() + "]");
+		for (int i = 0; i < names.length; i++) {
+			for (final Backing backing : Backing.values()) {
+				testMapOperations(new MongoDBSafeMap<MongoDBSafeKey, String>(backing), i);
 			}
+		}
+	}
 
-			final MongoDBSafeKey key = new MongoDBSafeKey();
-			key.setKey(escapedNames[i]);
+	private void testMapOperations(final MongoDBSafeMap<MongoDBSafeKey, String> safeMap, final int i) {
+		safeMap.put(escapeMapKey(names[i]), "Hello World!");
+		assertThat("map is not empty", safeMap.isEmpty(), equalTo(false));
+		// uncomment for additional output
+		for (final Entry<MongoDBSafeKey, String> entry : safeMap.entrySet()) {
+			System.out.println("        >> Map entry: [" + entry.getKey().getKey() + ", " + entry.getValue() + "]");
+		}
 
-			String value = safeMap.get(key);
-			assertThat("value is not null", value, notNullValue());
-			assertThat("value is not empty", isNotBlank(value), equalTo(true));
-			assertThat("value coincides with expected", value, equalTo("Hello World!"));
+		final MongoDBSafeKey key = new MongoDBSafeKey();
+		key.setKey(escapedNames[i]);
 
-			value = safeMap.getUnescaped(names[i]);
-			assertThat("value is not null", value, notNullValue());
-			assertThat("value is not empty", isNotBlank(value), equalTo(true));
-			assertThat("value coincides with expected", value, equalTo("Hello World!"));
-		}
+		String value = safeMap.get(key);
+		assertThat("value is not null", value, notNullValue());
+		assertThat("value is not empty", isNotBlank(value), equalTo(true));
+		assertThat("value coincides with expected", value, equalTo("Hello World!"));
+
+		value = safeMap.getUnescaped(names[i]);
+		assertThat("value is not null", value, notNullValue());
+		assertThat("value is not empty", isNotBlank(value), equalTo(true));
+		assertThat("value coincides with expected", value, equalTo("Hello World!"));
 	}
 
 	@Test
@@ -127,6 +136,62 @@ public class MongoDBSafeMapTest {
 		}
 	}
 
+	@Test
+	public void testImmutableKey() throws IOException {
+		System.out.println("    >> MongoDBSafeMapTest.testImmutableKey()");
+		for (int i = 0; i < names.length; i++) {
+			final ImmutableMongoDBSafeKey immutableKey = new ImmutableMongoDBSafeKey(escapedNames[i]);
+			final MongoDBSafeKey key = new MongoDBSafeKey();
+			key.setKey(escapedNames[i]);
+			assertThat("immutable key coincides with mutable key", immutableKey, equalTo(key));
+			assertThat("mutable key coincides with immutable key", key, equalTo((MongoDBSafeKey)immutableKey));
+			assertThat("hash code coincides with mutable key", immutableKey.hashCode(), equalTo(key.hashCode()));
+			assertThat("unescaped key coincides with expected", immutableKey.getUnescapedKey(), equalTo(names[i]));
+			assertThat("unescaped key is cached", immutableKey.getUnescapedKey(), sameInstance(immutableKey.getUnescapedKey()));
+
+			// test JSON serialization
+			final String payload = JSON_MAPPER.writeValueAsString(immutableKey);
+			assertThat("serialized key is not null", payload, notNullValue());
+			/* uncomment for additional output */
+			System.out.println("        >> Serialized key (JSON): " + payload);
+
+			// test JSON deserialization
+			final ImmutableMongoDBSafeKey immutableKey2 = JSON_MAPPER.readValue(payload, ImmutableMongoDBSafeKey.class);
+			assertThat("deserialized key coincides with expected", immutableKey2, equalTo(immutableKey));
+		}
+	}
+
+	@Test
+	public void testMapView() {
+		System.out.println("    >> MongoDBSafeMapTest.testMapView()");
+		for (int i = 0; i < names.length; i++) {
+			final MongoDBSafeMap<MongoDBSafeKey, String> safeMap = new MongoDBSafeMap<>();
+			final Map<String, Object> view = safeMap.asMap();
+			assertThat("view is empty", view.isEmpty(), equalTo(true));
+
+			// test that the view reflects the changes in the map
+			safeMap.put(escapeMapKey(names[i]), "Hello World!");
+			safeMap.put(escapeMapKey("other"), "Bye!");
+			assertThat("view size coincides with expected", view.size(), equalTo(2));
+			assertThat("view contains escaped key", view.containsKey(escapedNames[i]), equalTo(true));
+			assertThat("view does not contain unescaped key", view.containsKey(names[i]), equalTo(false));
+			assertThat("value coincides with expected", view.get(escapedNames[i]), equalTo((Object)"Hello World!"));
+			assertThat("view coincides with snapshot", view, equalTo(safeMap.toMap()));
+			/* uncomment for additional output */
+			System.out.println("        >> Map view: " + view);
+
+			safeMap.remove(escapeMapKey("other"));
+			assertThat("view size coincides with expected", view.size(), equalTo(1));
+		}
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void testMapViewIsReadOnly() {
+		System.out.println("    >> MongoDBSafeMapTest.testMapViewIsReadOnly()");
+		final MongoDBSafeMap<MongoDBSafeKey, String> safeMap = new MongoDBSafeMap<>();
+		safeMap.asMap().put(escapedNames[0], "Hello World!");
+	}
+
 	@Test
 	public void testMongoDBDocument() {
 		System.out.println("    >> MongoDBSafeMapTest.testMongoDBDocument()");
@@ -138,6 +203,9 @@ public class MongoDBSafeMapTest {
 			final Document doc = new Document(safeMap.toMap());			
 			assertThat("document is not null", doc, notNullValue());
 			assertThat("document is not empty", doc.isEmpty(), equalTo(false));
+
+			final Document doc2 = new Document(safeMap.asMap());
+			assertThat("document coincides with expected", doc2, equalTo(doc));
 		}
 	}
 
@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2015 Erik Torres
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.etorres.codexposed.test;
+
+import static com.github.etorres.codexposed.mongodb.MongoDBSafeQueries.ascending;
+import static com.github.etorres.codexposed.mongodb.MongoDBSafeQueries.descending;
+import static com.github.etorres.codexposed.mongodb.MongoDBSafeQueries.eq;
+import static com.github.etorres.codexposed.mongodb.MongoDBSafeQueries.escapePath;
+import static com.github.etorres.codexposed.mongodb.MongoDBSafeQueries.exclude;
+import static com.github.etorres.codexposed.mongodb.MongoDBSafeQueries.gt;
+import static com.github.etorres.codexposed.mongodb.MongoDBSafeQueries.in;
+import static com.github.etorres.codexposed.mongodb.MongoDBSafeQueries.include;
+import static java.util.Arrays.asList;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import org.bson.BsonDocument;
+import org.bson.BsonInt32;
+import org.bson.Document;
+import org.bson.codecs.configuration.CodecRegistry;
+import org.bson.conversions.Bson;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.github.etorres.codexposed.mongodb.MongoDBSafeQueries;
+import com.mongodb.MongoClient;
+
+/**
+ * Tests {@link MongoDBSafeQueries}.
+ * @author Erik Torres <etserrano@gmail.com>
+ */
+public class MongoDBSafeQueriesTest {
+
+	private static final CodecRegistry REGISTRY = MongoClient.getDefaultCodecRegistry();
+
+	@BeforeClass
+	public static void setup() throws Exception {
+		System.out.println("    >> MongoDBSafeQueriesTest.setup()");
+	}
+
+	@AfterClass
+	public static void cleanup() {
+		System.out.println("    >> MongoDBSafeQueriesTest.cleanup()");
+	}
+
+	@Test
+	public void testEscapePath() {
+		System.out.println("    >> MongoDBSafeQueriesTest.testEscapePath()");
+		assertThat("escaped path coincides with expected", escapePath("$user.e.mail"), equalTo("\uff04user.e.mail"));
+		assertThat("escaped path coincides with expected", escapePath("a$b"), equalTo("a\uff04b"));
+		assertThat("escaped path is cached", escapePath("$user.e.mail"), sameInstance(escapePath("$user.e.mail")));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testEmptySegment() {
+		System.out.println("    >> MongoDBSafeQueriesTest.testEmptySegment()");
+		escapePath("user..mail");
+	}
+
+	@Test
+	public void testFilters() {
+		System.out.println("    >> MongoDBSafeQueriesTest.testFilters()");
+		assertThat("eq filter coincides with expected", toBson(eq("$user.name", "John")), 
+				equalTo(toBson(new Document("\uff04user.name", "John"))));
+		assertThat("gt filter coincides with expected", toBson(gt("$user.age", 18)), 
+				equalTo(toBson(new Document("\uff04user.age", new Document("$gt", 18)))));
+		assertThat("in filter coincides with expected", toBson(in("tags.$t", asList("a", "b"))), 
+				equalTo(toBson(new Document("tags.\uff04t", new Document("$in", asList("a", "b"))))));
+		assertThat("null filter coincides with expected", toBson(eq("$user", null)), 
+				equalTo(toBson(new Document("\uff04user", null))));
+		/* uncomment for additional output */
+		System.out.println("        >> Filter: " + toBson(gt("$user.age", 18)));
+	}
+
+	@Test
+	public void testDocuments() {
+		System.out.println("    >> MongoDBSafeQueriesTest.testDocuments()");
+		assertThat("projection coincides with expected", toBson(include("$a.b", "c")), 
+				equalTo(toBson(new Document("\uff04a.b", 1).append("c", 1))));
+		assertThat("projection coincides with expected", toBson(exclude("$a")), equalTo(toBson(new Document("\uff04a", 0))));
+		assertThat("sort coincides with expected", toBson(descending("$a")), equalTo(toBson(new Document("\uff04a", -1))));
+		assertThat("index keys coincides with expected", toBson(ascending("$a", "b.$c")), 
+				equalTo(toBson(new Document("\uff04a", 1).append("b.\uff04c", 1))));
+		assertThat("documents are cached", include("$a.b", "c"), sameInstance(include("$a.b", "c")));
+		assertThat("different kinds are not shared", toBson(ascending("$a")), equalTo(toBson(new Document("\uff04a", 1))));
+		// modifying the returned document doesn't affect the shared document
+		final BsonDocument projection = toBson(include("$a.b", "c"));
+		projection.put("c", new BsonInt32(0));
+		projection.put("d", new BsonInt32(1));
+		assertThat("shared document is not modified", toBson(include("$a.b", "c")), 
+				equalTo(toBson(new Document("\uff04a.b", 1).append("c", 1))));
+	}
+
+	private static BsonDocument toBson(final Bson bson) {
+		return bson.toBsonDocument(BsonDocument.class, REGISTRY);
+	}
+
+}
\ No newline at end of file
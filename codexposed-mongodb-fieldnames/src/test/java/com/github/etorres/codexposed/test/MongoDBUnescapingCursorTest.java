@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2015 Erik Torres
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.etorres.codexposed.test;
+
+import static com.github.etorres.codexposed.mongodb.MongoDBSafeQueries.eq;
+import static com.github.etorres.codexposed.mongodb.MongoDBSafeQueries.include;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import org.bson.BsonDocument;
+import org.bson.BsonDocumentReader;
+import org.bson.BsonInt32;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.configuration.CodecRegistry;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.github.etorres.codexposed.mongodb.MongoDBUnescapingCursor;
+import com.google.common.collect.ImmutableList;
+import com.mongodb.client.FindIterable;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+
+/**
+ * Tests {@link MongoDBUnescapingCursor} with a fake collection that returns the documents from memory.
+ * @author Erik Torres <etserrano@gmail.com>
+ */
+public class MongoDBUnescapingCursorTest {
+
+	@BeforeClass
+	public static void setup() throws Exception {
+		System.out.println("    >> MongoDBUnescapingCursorTest.setup()");
+	}
+
+	@AfterClass
+	public static void cleanup() {
+		System.out.println("    >> MongoDBUnescapingCursorTest.cleanup()");
+	}
+
+	@Test
+	public void testCursor() {
+		System.out.println("    >> MongoDBUnescapingCursorTest.testCursor()");
+		final List<BsonDocument> documents = ImmutableList.of(
+				new BsonDocument("\uff04a", new BsonDocument("b\uff0ec", new BsonInt32(1))),
+				new BsonDocument("\uff04a", new BsonDocument("b\uff0ec", new BsonInt32(2))));
+		final FakeCollection fake = new FakeCollection(documents);
+		int count = 0;
+		try (final MongoDBUnescapingCursor cursor = MongoDBUnescapingCursor.builder(fake.collection())
+				.filter(eq("$a.b", 1)).projection("$a").batchSize(1).open()) {
+			while (cursor.hasNext()) {
+				final Map<String, Object> map = cursor.next();
+				@SuppressWarnings("unchecked")
+				final Map<String, Object> nested = (Map<String, Object>)map.get("$a");
+				assertThat("nested value coincides with expected", nested.get("b.c"), equalTo((Object)(++count)));
+			}
+			assertThat("projection coincides with expected", fake.projection, sameInstance((Object)include("$a")));
+			assertThat("batch size coincides with expected", fake.batchSize, equalTo((Object)1));
+		}
+		assertThat("count coincides with expected", count, equalTo(2));
+		assertThat("cursor is closed", fake.closed, equalTo(true));
+	}
+
+	private static class FakeCollection implements InvocationHandler {
+
+		private final List<BsonDocument> documents;
+		private CodecRegistry registry = null;
+		private Object projection = null;
+		private Object batchSize = null;
+		private boolean closed = false;
+
+		public FakeCollection(final List<BsonDocument> documents) {
+			this.documents = documents;
+		}
+
+		public MongoCollection<?> collection() {
+			return (MongoCollection<?>)Proxy.newProxyInstance(getClass().getClassLoader(), 
+					new Class<?>[]{ MongoCollection.class, FindIterable.class }, this);
+		}
+
+		@Override
+		public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+			switch (method.getName()) {
+			case "withCodecRegistry":
+				registry = (CodecRegistry)args[0];
+				return proxy;
+			case "find":
+				return proxy;
+			case "projection":
+				projection = args[0];
+				return proxy;
+			case "batchSize":
+				batchSize = args[0];
+				return proxy;
+			case "iterator":
+				return Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{ MongoCursor.class }, new InvocationHandler() {
+					private final Iterator<BsonDocument> iterator = documents.iterator();
+					@Override
+					public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+						switch (method.getName()) {
+						case "hasNext":
+							return iterator.hasNext();
+						case "next":
+							return registry.get(Map.class).decode(new BsonDocumentReader(iterator.next()), DecoderContext.builder().build());
+						case "close":
+							closed = true;
+							return null;
+						default:
+							throw new UnsupportedOperationException(method.getName());
+						}
+					}
+				});
+			default:
+				throw new UnsupportedOperationException(method.getName());
+			}
+		}
+
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,175 @@
+/*
+ * Copyright (c) 2015 Erik Torres
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.etorres.codexposed.test;
+
+import static com.github.etorres.codexposed.MongoDBSafeKey.escapeMapKey;
+import static java.util.Arrays.asList;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.fail;
+
+import org.bson.Document;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.github.etorres.codexposed.MongoDBSafeKey;
+import com.github.etorres.codexposed.MongoDBSafeMap;
+import com.github.etorres.codexposed.MongoDBSafeMap.Backing;
+import com.github.etorres.codexposed.bson.OffHeapDocumentStore;
+
+/**
+ * Tests {@link OffHeapDocumentStore}.
+ * @author Erik Torres <etserrano@gmail.com>
+ */
+public class OffHeapDocumentStoreTest {
+
+	@BeforeClass
+	public static void setup() throws Exception {
+		System.out.println("    >> OffHeapDocumentStoreTest.setup()");
+	}
+
+	@AfterClass
+	public static void cleanup() {
+		System.out.println("    >> OffHeapDocumentStoreTest.cleanup()");
+	}
+
+	@Test
+	public void testStore() {
+		System.out.println("    >> OffHeapDocumentStoreTest.testStore()");
+		try (final OffHeapDocumentStore store = new OffHeapDocumentStore()) {
+			// create dataset
+			final MongoDBSafeMap<MongoDBSafeKey, Object> safeMap = new MongoDBSafeMap<>();
+			safeMap.put(escapeMapKey("$invalid.key"), "Hello World!");
+			safeMap.put(escapeMapKey("number"), 42);
+			safeMap.put(escapeMapKey("nested"), new Document("a", 1L));
+			safeMap.put(escapeMapKey("list"), asList(1, 2, 3));
+
+			// test put
+			final long handle = store.put(safeMap);
+			assertThat("count coincides with expected", store.count(), equalTo(1L));
+			assertThat("used bytes coincides with expected", store.usedBytes(), equalTo((long)store.sizeOf(handle)));
+			/* uncomment for additional output */
+			System.out.println("        >> Document size: " + store.sizeOf(handle) + " bytes");
+
+			// test get
+			final MongoDBSafeMap<?, ?> safeMap2 = store.get(handle);
+			assertThat("map coincides with expected", safeMap2, equalTo((Object)safeMap));
+
+			// test read single fields
+			assertThat("field coincides with expected", store.getField(handle, "$invalid.key"), equalTo((Object)"Hello World!"));
+			assertThat("field coincides with expected", store.getField(handle, "number"), equalTo((Object)42));
+			assertThat("field coincides with expected", store.getField(handle, "list"), equalTo((Object)asList(1, 2, 3)));
+			assertThat("nested field coincides with expected", store.getField(handle, "nested"), equalTo((Object)new Document("a", 1L)));
+			assertThat("missing field is null", store.getField(handle, "missing"), nullValue());
+			assertThat("field is found", store.containsField(handle, "$invalid.key"), equalTo(true));
+			assertThat("missing field is not found", store.containsField(handle, "missing"), equalTo(false));
+		}
+	}
+
+	@Test
+	public void testSegments() {
+		System.out.println("    >> OffHeapDocumentStoreTest.testSegments()");
+		try (final OffHeapDocumentStore store = new OffHeapDocumentStore(256, 1024, Backing.COMPACT)) {
+			final long[] handles = new long[500];
+			for (int i = 0; i < handles.length; i++) {
+				final MongoDBSafeMap<MongoDBSafeKey, Object> safeMap = new MongoDBSafeMap<>(Backing.COMPACT);
+				safeMap.put(escapeMapKey("$id"), i);
+				safeMap.put(escapeMapKey("name.first"), "name" + i);
+				handles[i] = store.put(safeMap);
+			}
+			assertThat("count coincides with expected", store.count(), equalTo(500L));
+			assertThat("capacity is bounded", store.capacityBytes() < 1024L * 256L, equalTo(true));
+			for (int i = 0; i < handles.length; i++) {
+				assertThat("field coincides with expected", store.getField(handles[i], "name.first"), equalTo((Object)("name" + i)));
+				assertThat("map coincides with expected", store.get(handles[i]).getUnescaped("$id"), equalTo((Object)i));
+			}
+			final long capacity = store.capacityBytes();
+			store.clear();
+			assertThat("count is zero after clear", store.count(), equalTo(0L));
+			assertThat("segments are kept after clear", store.capacityBytes(), equalTo(capacity));
+			final MongoDBSafeMap<MongoDBSafeKey, Object> safeMap = new MongoDBSafeMap<>();
+			safeMap.put(escapeMapKey("reused"), true);
+			assertThat("field coincides with expected", store.getField(store.put(safeMap), "reused"), equalTo((Object)true));
+		}
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testFull() {
+		System.out.println("    >> OffHeapDocumentStoreTest.testFull()");
+		try (final OffHeapDocumentStore store = new OffHeapDocumentStore(64, 2, Backing.HASH_MAP)) {
+			for (int i = 0; i < 100; i++) {
+				final MongoDBSafeMap<MongoDBSafeKey, Object> safeMap = new MongoDBSafeMap<>();
+				safeMap.put(escapeMapKey("value"), "value" + i);
+				store.put(safeMap);
+			}
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testDocumentTooLarge() {
+		System.out.println("    >> OffHeapDocumentStoreTest.testDocumentTooLarge()");
+		try (final OffHeapDocumentStore store = new OffHeapDocumentStore(64, 2, Backing.HASH_MAP)) {
+			final MongoDBSafeMap<MongoDBSafeKey, Object> safeMap = new MongoDBSafeMap<>();
+			safeMap.put(escapeMapKey("value"), new String(new char[100]));
+			store.put(safeMap);
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testInvalidHandle() {
+		System.out.println("    >> OffHeapDocumentStoreTest.testInvalidHandle()");
+		try (final OffHeapDocumentStore store = new OffHeapDocumentStore()) {
+			store.get(1L << 32);
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testNegativeHandle() {
+		System.out.println("    >> OffHeapDocumentStoreTest.testNegativeHandle()");
+		try (final OffHeapDocumentStore store = new OffHeapDocumentStore()) {
+			final MongoDBSafeMap<MongoDBSafeKey, Object> safeMap = new MongoDBSafeMap<>();
+			safeMap.put(escapeMapKey("value"), 1);
+			store.put(safeMap);
+			store.get(-1L);
+		}
+	}
+
+	@Test
+	public void testClosed() {
+		System.out.println("    >> OffHeapDocumentStoreTest.testClosed()");
+		final OffHeapDocumentStore store = new OffHeapDocumentStore();
+		final MongoDBSafeMap<MongoDBSafeKey, Object> safeMap = new MongoDBSafeMap<>();
+		safeMap.put(escapeMapKey("value"), 1);
+		final long handle = store.put(safeMap);
+		store.close();
+		try {
+			store.get(handle);
+			fail("IllegalStateException expected");
+		} catch (IllegalStateException expected) { }
+		try {
+			store.getField(handle, "value");
+			fail("IllegalStateException expected");
+		} catch (IllegalStateException expected) { }
+		try {
+			store.put(safeMap);
+			fail("IllegalStateException expected");
+		} catch (IllegalStateException expected) { }
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2015 Erik Torres
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.etorres.codexposed.test;
+
+import static com.google.common.collect.Maps.newHashMap;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.github.etorres.codexposed.collect.OpenAddressingMap;
+
+/**
+ * Tests {@link OpenAddressingMap} against the behavior of a standard {@link java.util.HashMap}.
+ * @author Erik Torres <etserrano@gmail.com>
+ */
+public class OpenAddressingMapTest {
+
+	@BeforeClass
+	public static void setup() throws Exception {
+		System.out.println("    >> OpenAddressingMapTest.setup()");
+	}
+
+	@AfterClass
+	public static void cleanup() {
+		System.out.println("    >> OpenAddressingMapTest.cleanup()");
+	}
+
+	@Test
+	public void testRandomOperations() {
+		System.out.println("    >> OpenAddressingMapTest.testRandomOperations()");
+		final Random random = new Random(42L);
+		final Map<Integer, String> expected = newHashMap();
+		final Map<Integer, String> map = new OpenAddressingMap<>();
+		for (int i = 0; i < 100000; i++) {
+			final Integer key = random.nextInt(2000);
+			final int operation = random.nextInt(10);
+			if (operation < 6) {
+				assertThat("previous value coincides with expected", map.put(key, "v" + i), equalTo(expected.put(key, "v" + i)));
+			} else if (operation < 9) {
+				assertThat("removed value coincides with expected", map.remove(key), equalTo(expected.remove(key)));
+			} else {
+				assertThat("value coincides with expected", map.get(key), equalTo(expected.get(key)));
+			}
+			assertThat("size coincides with expected", map.size(), equalTo(expected.size()));
+		}
+		assertThat("map coincides with expected", map, equalTo(expected));
+		assertThat("expected coincides with map", expected, equalTo(map));
+		assertThat("hash code coincides with expected", map.hashCode(), equalTo(expected.hashCode()));
+	}
+
+	@Test
+	public void testIteratorRemove() {
+		System.out.println("    >> OpenAddressingMapTest.testIteratorRemove()");
+		final Map<Integer, String> expected = newHashMap();
+		final Map<Integer, String> map = new OpenAddressingMap<>();
+		for (int i = 0; i < 1000; i++) {
+			map.put(i, "v" + i);
+			expected.put(i, "v" + i);
+		}
+		for (final Iterator<Map.Entry<Integer, String>> it = map.entrySet().iterator(); it.hasNext();) {
+			final Map.Entry<Integer, String> entry = it.next();
+			if (entry.getKey() % 3 == 0) {
+				it.remove();
+				expected.remove(entry.getKey());
+			} else {
+				entry.setValue("w" + entry.getKey());
+				expected.put(entry.getKey(), "w" + entry.getKey());
+			}
+		}
+		assertThat("map coincides with expected", map, equalTo(expected));
+		map.clear();
+		assertThat("map is empty", map.isEmpty(), equalTo(true));
+	}
+
+}
\ No newline at end of file
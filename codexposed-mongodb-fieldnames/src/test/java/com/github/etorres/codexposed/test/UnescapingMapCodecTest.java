@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2015 Erik Torres
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.etorres.codexposed.test;
+
+import static com.github.etorres.codexposed.MongoDBSafeKey.escapeMapKey;
+import static com.google.common.collect.Sets.newHashSet;
+import static java.util.Arrays.asList;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.util.Map;
+import java.util.Set;
+
+import org.bson.BsonDocument;
+import org.bson.BsonDocumentReader;
+import org.bson.BsonDocumentWriter;
+import org.bson.Document;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.github.etorres.codexposed.MongoDBSafeKey;
+import com.github.etorres.codexposed.MongoDBSafeMap;
+import com.github.etorres.codexposed.bson.UnescapingMapCodec;
+import com.mongodb.MongoClient;
+
+/**
+ * Tests {@link UnescapingMapCodec}.
+ * @author Erik Torres <etserrano@gmail.com>
+ */
+public class UnescapingMapCodecTest {
+
+	@BeforeClass
+	public static void setup() throws Exception {
+		System.out.println("    >> UnescapingMapCodecTest.setup()");
+	}
+
+	@AfterClass
+	public static void cleanup() {
+		System.out.println("    >> UnescapingMapCodecTest.cleanup()");
+	}
+
+	@SuppressWarnings("rawtypes")
+	@Test
+	public void testCodec() {
+		System.out.println("    >> UnescapingMapCodecTest.testCodec()");
+		final UnescapingMapCodec codec = new UnescapingMapCodec(MongoClient.getDefaultCodecRegistry());
+
+		// create dataset
+		final Document original = new Document("$a.b", 1)
+				.append("nested", new Document("$c", "d.e").append("f.g", null))
+				.append("list", asList(new Document("$x", 2), "y"));
+
+		// test encode
+		final BsonDocument bson = new BsonDocument();
+		codec.encode(new BsonDocumentWriter(bson), original, EncoderContext.builder().build());
+		assertThat("escaped key coincides with expected", bson.containsKey("\uff04a\uff0eb"), equalTo(true));
+		assertThat("nested escaped key coincides with expected", bson.getDocument("nested").containsKey("f\uff0eg"), equalTo(true));
+		assertThat("value is not escaped", bson.getDocument("nested").getString("\uff04c").getValue(), equalTo("d.e"));
+		/* uncomment for additional output */
+		System.out.println("        >> Encoded document: " + bson);
+
+		// test decode
+		final Map decoded = codec.decode(new BsonDocumentReader(bson), DecoderContext.builder().build());
+		assertThat("decoded map coincides with expected", decoded, equalTo((Map)original));
+	}
+
+	@SuppressWarnings("rawtypes")
+	@Test
+	public void testNestedSafeMap() {
+		System.out.println("    >> UnescapingMapCodecTest.testNestedSafeMap()");
+		final UnescapingMapCodec codec = new UnescapingMapCodec(MongoClient.getDefaultCodecRegistry());
+
+		// create dataset
+		final MongoDBSafeMap<MongoDBSafeKey, Object> safeMap = new MongoDBSafeMap<>();
+		safeMap.put(escapeMapKey("$x.y"), "z");
+		final Map<String, Object> original = new Document("$a", safeMap);
+
+		// test encode
+		final BsonDocument bson = new BsonDocument();
+		codec.encode(new BsonDocumentWriter(bson), original, EncoderContext.builder().build());
+		assertThat("nested safe key coincides with expected", bson.getDocument("\uff04a").keySet(), equalTo((Set<String>)newHashSet("\uff04x\uff0ey")));
+		/* uncomment for additional output */
+		System.out.println("        >> Encoded document: " + bson);
+
+		// test decode
+		final Map decoded = codec.decode(new BsonDocumentReader(bson), DecoderContext.builder().build());
+		assertThat("decoded map coincides with expected", decoded, equalTo((Map)new Document("$a", new Document("$x.y", "z"))));
+	}
+
+}
\ No newline at end of file